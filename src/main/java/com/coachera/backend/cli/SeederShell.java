@@ -6,6 +6,10 @@ import org.springframework.shell.standard.ShellMethod;
 import com.coachera.backend.seeder.AdminSeeder;
 import com.coachera.backend.seeder.CoacheraOrgSeeder;
 import com.coachera.backend.seeder.DatabaseSeeder;
+import com.coachera.backend.service.AutocompleteService;
+import com.coachera.backend.service.CourseFeatureIndex;
+import com.coachera.backend.service.EnrollmentCounterService;
+import com.coachera.backend.service.SimilarCourseIndex;
 
 import lombok.AllArgsConstructor;
 
@@ -16,12 +20,20 @@ public class SeederShell {
     private final DatabaseSeeder seeder;
     private final AdminSeeder adminSeeder;
     private final CoacheraOrgSeeder coacheraOrgSeeder;
+    private final EnrollmentCounterService enrollmentCounterService;
+    private final CourseFeatureIndex courseFeatureIndex;
+    private final SimilarCourseIndex similarCourseIndex;
+    private final AutocompleteService autocompleteService;
 
     @ShellMethod(key = "seed-db", value = "Seed the database with initial data.")
     public String seedDatabase() throws Exception {
         adminSeeder.run();
         coacheraOrgSeeder.run();
         seeder.run();
+        enrollmentCounterService.reconcile();
+        courseFeatureIndex.rebuild();
+        similarCourseIndex.rebuild();
+        autocompleteService.rebuild();
         return "Database seeded successfully.";
     }
 
@@ -34,6 +46,10 @@ public class SeederShell {
     @ShellMethod(key = "clear-db", value = "Clear the database of all seeded data.")
     public String cleanDatabase() {
         seeder.clean();
+        enrollmentCounterService.reconcile();
+        courseFeatureIndex.rebuild();
+        similarCourseIndex.rebuild();
+        autocompleteService.rebuild();
         return "Database cleared successfully.";
     }
 
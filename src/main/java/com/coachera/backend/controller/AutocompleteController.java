@@ -0,0 +1,42 @@
+package com.coachera.backend.controller;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import com.coachera.backend.dto.ApiResponse;
+import com.coachera.backend.dto.AutocompleteSuggestionDTO;
+import com.coachera.backend.service.AutocompleteService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@RequiredArgsConstructor
+@Tag(name = "Autocomplete", description = "Type-ahead suggestions for the catalog")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    @GetMapping
+    @Operation(summary = "Suggest completions", description = "Returns the most popular matches of each requested type whose words start with the query")
+    public ApiResponse<?> suggest(
+            @Parameter(description = "Text typed so far", example = "jav") @RequestParam String q,
+            @Parameter(description = "Entity types to suggest", example = "courses,skills") @RequestParam(required = false) Set<String> types,
+            @Parameter(description = "Maximum suggestions per type", example = "5") @RequestParam(defaultValue = "5") int limit) {
+
+        Set<String> requestedTypes = types == null || types.isEmpty() ? AutocompleteService.TYPES : types;
+        if (!AutocompleteService.TYPES.containsAll(requestedTypes)) {
+            return ApiResponse.error(HttpStatus.BAD_REQUEST,
+                    "Invalid type. Available types: " + AutocompleteService.TYPES);
+        }
+
+        List<AutocompleteSuggestionDTO> suggestions = autocompleteService.suggest(q, requestedTypes, limit);
+        return ApiResponse.success(suggestions);
+    }
+}
@@ -1,11 +1,15 @@
 package com.coachera.backend.controller;
 
 import com.coachera.backend.dto.ApiResponse;
+import com.coachera.backend.dto.CompletionBatchRequest;
 import com.coachera.backend.dto.MaterialCompletionDTO;
+import com.coachera.backend.entity.User;
 import com.coachera.backend.service.CompletionService;
+import com.coachera.backend.service.CourseAnalyticsService;
 
 import jakarta.validation.Valid;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -14,9 +18,11 @@ import org.springframework.web.bind.annotation.*;
 public class CompletionController {
 
     private final CompletionService completionService;
+    private final CourseAnalyticsService courseAnalyticsService;
 
-    public CompletionController(CompletionService completionService) {
+    public CompletionController(CompletionService completionService, CourseAnalyticsService courseAnalyticsService) {
         this.completionService = completionService;
+        this.courseAnalyticsService = courseAnalyticsService;
     }
 
     @GetMapping("/enrollment/{enrollmentId}")
@@ -51,11 +57,29 @@ public class CompletionController {
                         request.getMaterialId()));
     }
 
+    @PostMapping("/materials/batch")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ApiResponse<?> ingestCompletionEvents(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody CompletionBatchRequest request) {
+        return ApiResponse.success(
+                completionService.ingestCompletionEvents(request.getEvents(), user.getStudent().getId()));
+    }
+
     @GetMapping("/course/{courseId}")
     @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
-    public ApiResponse<?> getCompletionsByCourse(@PathVariable Integer courseId) {
-        return ApiResponse.success(
-                completionService.getCompletionsByCourse(courseId));
+    public ApiResponse<?> getCompletionsByCourse(
+            @PathVariable Integer courseId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ApiResponse.paginated(
+                completionService.getCompletionsByCourse(courseId, page, Math.min(size, 500)));
+    }
+
+    @GetMapping("/course/{courseId}/analytics")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ApiResponse<?> getCourseAnalytics(@PathVariable Integer courseId) {
+        return ApiResponse.success(courseAnalyticsService.getCourseAnalytics(courseId));
     }
 
     @GetMapping("/student/{studentId}")
@@ -1,6 +1,7 @@
 package com.coachera.backend.controller;
 
 import com.coachera.backend.dto.ApiResponse;
+import com.coachera.backend.dto.DashboardCourseDTO;
 import com.coachera.backend.dto.EnrolledCourseDTO;
 import com.coachera.backend.dto.EnrollmentDTO;
 import com.coachera.backend.entity.User;
@@ -33,6 +34,13 @@ public class EnrollmentController {
 
     }
 
+    @GetMapping("/student/dashboard")
+    @Operation(summary = "Get progress of all enrolled courses for the student dashboard")
+    public ApiResponse<?> getDashboard(@AuthenticationPrincipal User user) {
+        List<DashboardCourseDTO> dashboard = enrollmentService.getDashboard(user);
+        return ApiResponse.success(dashboard);
+    }
+
     @PostMapping("student/{courseId}")
     @Operation(summary = "Enroll a student in a course")
     public ApiResponse<?> enrollStudent(
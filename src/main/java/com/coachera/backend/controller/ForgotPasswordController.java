@@ -1,6 +1,9 @@
 package com.coachera.backend.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.coyote.BadRequestException;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -23,14 +26,16 @@ public class ForgotPasswordController {
     private final EmailService emailService;
 
     @PostMapping("/forgot-password")
-    public ApiResponse<?> forgotPassword(@RequestParam String email) throws BadRequestException {
+    public CompletableFuture<ApiResponse<Void>> forgotPassword(@RequestParam String email) throws BadRequestException {
         if (!userService.userExists(email)) {
             throw new BadRequestException("Email not registered");
         }
 
         String otp = otpService.generateOtp(email);
-        emailService.sendOtpEmail(email, otp);
-        return ApiResponse.success("OTP sent for password reset", null);
+        // The service logs the failure; the client is told to ask for a new code
+        return emailService.sendOtpEmail(email, otp)
+            .thenApply(v -> ApiResponse.<Void>success("OTP sent for password reset", null))
+            .exceptionally(throwable -> ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE, "Failed to send OTP email"));
     }
 
     @PostMapping("/reset-password")
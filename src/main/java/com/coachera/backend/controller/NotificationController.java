@@ -5,11 +5,14 @@ import java.util.concurrent.CompletableFuture;
 
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.coachera.backend.dto.ApiResponse;
+import com.coachera.backend.dto.BulkNotificationResultDTO;
 import com.coachera.backend.dto.NotificationDTO;
 import com.coachera.backend.dto.SendNotificationRequest;
 import com.coachera.backend.dto.DeviceTokenRequest;
@@ -51,16 +54,20 @@ public class NotificationController {
 
 
     /**
-     * Send notification to multiple users
+     * Send notification to multiple users. Accepted once the notifications are
+     * stored and queued, so a retry after this would send them twice; unknown
+     * users are skipped and listed in the result.
      */
     @PostMapping("/send/bulk")
     @Operation(summary = "Send notification to multiple users")
-    public CompletableFuture<ApiResponse<List<Notification>>> sendBulkNotification(
+    public CompletableFuture<ApiResponse<BulkNotificationResultDTO>> sendBulkNotification(
             @Valid @RequestBody SendNotificationRequest request,
             @RequestParam List<Integer> userIds) {
         
         return notificationService.sendBulkNotification(request, userIds)
-            .thenApply(notifications -> ApiResponse.success("Bulk Notifications sent successfully", notifications))
+            .thenApply(result -> new ApiResponse<>(HttpStatus.ACCEPTED, result.getSkipped() == 0
+                    ? "Bulk Notifications queued successfully"
+                    : "Bulk Notifications queued, skipped unknown users: " + result.getSkippedUserIds(), result))
             .exceptionally(throwable -> {
                 log.error("Error sending bulk notifications", throwable);
                 return ApiResponse.error(HttpStatus.BAD_REQUEST, "Failed to send bulk notifications: " + throwable.getMessage());
@@ -156,6 +163,19 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Stream new notifications as Server-Sent Events instead of polling.
+     * The stream starts with an "unread-count" event and then sends a
+     * "notification" event for each new notification.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream new notifications (Server-Sent Events)")
+    public SseEmitter streamNotifications(
+            @AuthenticationPrincipal User user) {
+
+        return notificationService.streamNotifications(user.getId());
+    }
+
     /**
      * Register device token for push notifications (mobile)
      */
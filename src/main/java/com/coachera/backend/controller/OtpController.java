@@ -1,5 +1,8 @@
 package com.coachera.backend.controller;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -27,11 +30,13 @@ public class OtpController {
     }
 
     @PostMapping("/send-otp")
-    public ApiResponse<?> sendOtp(@RequestParam String email) {
+    public CompletableFuture<ApiResponse<Void>> sendOtp(@RequestParam String email) {
 
         String otp = otpService.generateOtp(email);
-        emailService.sendOtpEmail(email, otp);
-        return ApiResponse.success("OTP sent successfully", null);
+        // The service logs the failure; the client is told to ask for a new code
+        return emailService.sendOtpEmail(email, otp)
+            .thenApply(v -> ApiResponse.<Void>success("OTP sent successfully", null))
+            .exceptionally(throwable -> ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE, "Failed to send OTP email"));
     }
 
     @PostMapping("/validate-otp")
@@ -0,0 +1,90 @@
+package com.coachera.backend.controller;
+
+import org.apache.coyote.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.coachera.backend.entity.User;
+import com.coachera.backend.service.ProgressExportService;
+import com.coachera.backend.service.ProgressExportService.Format;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/exports/progress")
+@PreAuthorize("hasRole('ORGANIZATION')")
+@Tag(name = "Progress exports", description = "Streaming CSV / NDJSON exports of enrollment progress")
+public class ProgressExportController {
+
+    private final ProgressExportService progressExportService;
+    private final long timeoutMs;
+
+    public ProgressExportController(ProgressExportService progressExportService,
+            @Value("${app.exports.timeout-ms:1800000}") long timeoutMs) {
+        this.progressExportService = progressExportService;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @GetMapping("/course/{courseId}")
+    @Operation(summary = "Export progress of every enrollment in a course")
+    public ResponseEntity<StreamingResponseBody> exportCourse(
+            @AuthenticationPrincipal User user,
+            @PathVariable Integer courseId,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws BadRequestException {
+        Format exportFormat = Format.from(format);
+        return attachment(request, "course-" + courseId, exportFormat,
+                progressExportService.exportCourse(user, courseId, exportFormat));
+    }
+
+    @GetMapping("/organization")
+    @Operation(summary = "Export progress of every enrollment in the organization's courses")
+    public ResponseEntity<StreamingResponseBody> exportOrganization(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws BadRequestException {
+        Format exportFormat = Format.from(format);
+        return attachment(request, "organization", exportFormat,
+                progressExportService.exportOrganization(user, exportFormat));
+    }
+
+    @GetMapping("/learning-path/{learningPathId}")
+    @Operation(summary = "Export progress of every enrollment in the courses of a learning path")
+    public ResponseEntity<StreamingResponseBody> exportLearningPath(
+            @AuthenticationPrincipal User user,
+            @PathVariable Integer learningPathId,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) throws BadRequestException {
+        Format exportFormat = Format.from(format);
+        return attachment(request, "learning-path-" + learningPathId, exportFormat,
+                progressExportService.exportLearningPath(user, learningPathId, exportFormat));
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(HttpServletRequest request, String name, Format format,
+            StreamingResponseBody body) {
+        // Large exports outlast the default async timeout; extend it for this response only
+        AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncRequest != null) {
+            asyncRequest.setTimeout(timeoutMs);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"progress-" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
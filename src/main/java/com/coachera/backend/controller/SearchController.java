@@ -1,6 +1,6 @@
 package com.coachera.backend.controller;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
 
 import com.coachera.backend.dto.ApiResponse;
@@ -47,7 +47,8 @@ public class SearchController {
     }
 
     @PostMapping("/{entityType}")
-    @Operation(summary = "Search entities", description = "Search and filter entities of the specified type with pagination support")
+    @Operation(summary = "Search entities", description = "Search and filter entities of the specified type with pagination support. "
+            + "In fulltext mode results are ordered by relevance and include highlighted matches")
     public ApiResponse<?> search(
             @Parameter(description = "Type of entity to search for", example = "courses") @PathVariable String entityType,
             @RequestBody SearchRequest searchRequest) {
@@ -59,7 +60,15 @@ public class SearchController {
                     "Invalid entity type. Available types: " + entityRegistry.keySet());
         }
 
-        Page<?> results = searchService.search(entityClass, searchRequest);
+        if (searchRequest.usesFullText() && !searchService.supportsFullText(entityClass)) {
+            return ApiResponse.error(
+                    org.springframework.http.HttpStatus.BAD_REQUEST,
+                    "Full-text search is not available for " + entityType);
+        }
+
+        Slice<?> results = searchRequest.usesFullText()
+                ? searchService.searchFullText(entityClass, searchRequest)
+                : searchService.search(entityClass, searchRequest);
         return ApiResponse.paginated(results);
     }
 
@@ -5,6 +5,7 @@ import lombok.EqualsAndHashCode;
 
 import java.time.Instant;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -53,6 +54,14 @@ public class ApiResponse<T> extends ResponseEntity<Object> {
         );
     }
 
+    public static <T> ApiResponse<PaginatedResponse<T>> paginated(Slice<T> slice) {
+        return new ApiResponse<>(
+            HttpStatus.OK,
+            "Successfully retrieved paginated data",
+            PaginatedResponse.of(slice)
+        );
+    }
+
     public static ApiResponse<Void> noContentResponse() {
         return new ApiResponse<>(HttpStatus.OK, "No Content", null);
     }
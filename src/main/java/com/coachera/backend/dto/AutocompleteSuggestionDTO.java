@@ -0,0 +1,22 @@
+package com.coachera.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Type-ahead suggestion")
+public class AutocompleteSuggestionDTO {
+
+    @Schema(example = "courses", allowableValues = { "courses", "categories", "skills", "learning-paths" })
+    private String type;
+
+    @Schema(example = "3")
+    private Integer id;
+
+    @Schema(example = "Java tutorial")
+    private String label;
+}
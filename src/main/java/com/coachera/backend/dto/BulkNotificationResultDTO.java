@@ -0,0 +1,24 @@
+package com.coachera.backend.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk notification; deliveries continue in the background")
+public class BulkNotificationResultDTO {
+
+    @Schema(example = "250", description = "Notifications stored and queued for delivery")
+    private int queued;
+
+    @Schema(example = "2", description = "Unknown users that were skipped")
+    private int skipped;
+
+    @Schema(example = "[998, 999]", description = "Ids of the skipped users")
+    private List<Integer> skippedUserIds;
+}
@@ -0,0 +1,23 @@
+package com.coachera.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch of buffered material progress events to sync")
+public class CompletionBatchRequest {
+
+    @NotEmpty(message = "At least one event is required")
+    @Size(max = 5000, message = "At most 5000 events per batch")
+    @Schema(required = true, description = "Events in any order; the latest one per material wins")
+    private List<@Valid CompletionEventDTO> events;
+}
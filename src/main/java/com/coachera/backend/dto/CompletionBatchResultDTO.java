@@ -0,0 +1,28 @@
+package com.coachera.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a completion sync")
+public class CompletionBatchResultDTO {
+
+    @Schema(example = "120", description = "Events received")
+    private int received;
+
+    @Schema(example = "35", description = "Completions recorded or updated")
+    private int applied;
+
+    @Schema(example = "80", description = "Events that changed nothing: already recorded or superseded in the batch")
+    private int duplicates;
+
+    @Schema(example = "5", description = "Events for unknown enrollments or materials, or for another student's enrollment")
+    private int rejected;
+
+    @Schema(example = "4", description = "Enrollments whose course progress was recomputed")
+    private int enrollmentsUpdated;
+}
@@ -0,0 +1,34 @@
+package com.coachera.backend.dto;
+
+import com.coachera.backend.entity.enums.CompletionState;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Material progress recorded by a client, possibly while offline")
+public class CompletionEventDTO {
+
+    @NotNull(message = "Enrollment ID is required")
+    @Schema(required = true, example = "1", description = "Enrollment the progress belongs to")
+    private Integer enrollmentId;
+
+    @NotNull(message = "Material ID is required")
+    @Schema(required = true, example = "5", description = "Material the progress is about")
+    private Integer materialId;
+
+    @NotNull(message = "State is required")
+    @Schema(required = true, example = "COMPLETE", description = "Completion state reached")
+    private CompletionState state;
+
+    @Schema(example = "2024-05-08T14:30:00", description = "When it happened on the device; defaults to the time of sync")
+    private LocalDateTime timestamp;
+}
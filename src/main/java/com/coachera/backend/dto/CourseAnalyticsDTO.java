@@ -0,0 +1,83 @@
+package com.coachera.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress analytics of a course's cohort")
+public class CourseAnalyticsDTO {
+
+    @Schema(example = "3", description = "Course the analytics are for")
+    private Integer courseId;
+
+    @Schema(example = "1200", description = "Enrolled students")
+    private long enrollments;
+
+    @Schema(example = "340", description = "Students who completed the course")
+    private long completedEnrollments;
+
+    @Schema(example = "864000", description = "Median seconds from enrollment to course completion, null if nobody completed it")
+    private Long medianSecondsToComplete;
+
+    @Schema(description = "Enrollments per 10% progress bucket, from 0-10% to 90-100%")
+    private List<ProgressBucket> progressHistogram;
+
+    @Schema(description = "Completion funnel per module, in course order")
+    private List<ModuleFunnel> modules;
+
+    @Schema(example = "2024-05-08T14:30:00", description = "When the analytics were computed; they are cached briefly")
+    private LocalDateTime generatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProgressBucket {
+        @Schema(example = "40", description = "Lower bound of the bucket, inclusive")
+        private int fromPercent;
+
+        @Schema(example = "50", description = "Upper bound of the bucket, exclusive except for 100")
+        private int toPercent;
+
+        @Schema(example = "87", description = "Enrollments in the bucket")
+        private long enrollments;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ModuleFunnel {
+        private Integer moduleId;
+        private String title;
+        private Integer orderIndex;
+
+        @Schema(example = "12", description = "Materials in the module")
+        private long materials;
+
+        @Schema(example = "800", description = "Enrollments that completed at least one material")
+        private long started;
+
+        @Schema(example = "450", description = "Enrollments that completed every material")
+        private long completed;
+
+        private List<SectionFunnel> sections;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SectionFunnel {
+        private Integer sectionId;
+        private String title;
+        private Integer orderIndex;
+        private long materials;
+        private long started;
+        private long completed;
+    }
+}
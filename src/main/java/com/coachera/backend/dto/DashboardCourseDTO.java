@@ -0,0 +1,49 @@
+package com.coachera.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.coachera.backend.entity.enums.CompletionState;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress summary of an enrolled course for the student dashboard")
+public class DashboardCourseDTO {
+
+    @Schema(example = "1", description = "Unique identifier of the enrollment")
+    private Integer enrollmentId;
+
+    @Schema(example = "3", description = "Enrolled course")
+    private Integer courseId;
+
+    @Schema(example = "Intro to Java", description = "Course title")
+    private String title;
+
+    @Schema(description = "Course image URL")
+    private String image;
+
+    @Schema(example = "2024-05-08T14:30:00", description = "When the student enrolled")
+    private LocalDateTime enrolledAt;
+
+    @Schema(example = "12", description = "Materials in the course")
+    private long totalMaterials;
+
+    @Schema(example = "9", description = "Materials the student completed")
+    private long completedMaterials;
+
+    @Schema(example = "75.00", description = "Completion progress percentage (0-100)")
+    private BigDecimal progress;
+
+    @Schema(example = "false", description = "Whether the course is fully completed")
+    private boolean completed;
+
+    @Schema(description = "Completion state by material id, for materials the student has started")
+    private Map<Integer, CompletionState> materialStates;
+}
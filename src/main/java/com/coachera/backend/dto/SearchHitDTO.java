@@ -0,0 +1,22 @@
+package com.coachera.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Full-text search result with its relevance")
+public class SearchHitDTO<T> {
+
+    @Schema(description = "Matched entity")
+    private T item;
+
+    @Schema(description = "Relevance score, higher is better", example = "0.6079")
+    private double rank;
+
+    @Schema(description = "HTML-escaped matched text with the search terms wrapped in <mark> tags", example = "Intro to <mark>Java</mark> programming")
+    private String highlight;
+}
@@ -12,10 +12,27 @@ import lombok.EqualsAndHashCode;
 @EqualsAndHashCode(callSuper = true)
 @Schema(description = "Search request parameters")
 public class SearchRequest extends PaginationRequest {
+
+    public static final String COUNT_EXACT = "exact";
+    public static final String COUNT_ESTIMATED = "estimated";
+    public static final String COUNT_NONE = "none";
     
     @Schema(description = "Search term to look for in string fields", example = "java programming")
     private String searchTerm;
 
     @Schema(description = "Map of field names to filter values", example = "{\"orgId\": 1, \"isPublished\": true}")
     private Map<String, Object> filters = new HashMap<>();
+
+    @Schema(description = "Search mode: substring match on every text field, or ranked full-text search with highlights",
+            example = "fulltext", defaultValue = "contains", allowableValues = { "contains", "fulltext" })
+    private String mode = "contains";
+
+    @Schema(description = "How the total is computed: exact count, planner estimate for large results, "
+            + "or none (no total, only whether a next page exists)",
+            example = "none", defaultValue = COUNT_EXACT, allowableValues = { COUNT_EXACT, COUNT_ESTIMATED, COUNT_NONE })
+    private String countMode = COUNT_EXACT;
+
+    public boolean usesFullText() {
+        return "fulltext".equalsIgnoreCase(mode) && searchTerm != null && !searchTerm.isBlank();
+    }
 } 
\ No newline at end of file
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -21,10 +22,10 @@ public class PaginatedResponse<T> {
     @Schema(description = "Number of items per page")
     private int size;
 
-    @Schema(description = "Total number of items")
+    @Schema(description = "Total number of items, -1 when the count was skipped")
     private long totalElements;
 
-    @Schema(description = "Total number of pages")
+    @Schema(description = "Total number of pages, -1 when the count was skipped")
     private int totalPages;
 
     @Schema(description = "Whether this is the first page")
@@ -48,4 +49,20 @@ public class PaginatedResponse<T> {
             page.isEmpty()
         );
     }
+
+    public static <T> PaginatedResponse<T> of(Slice<T> slice) {
+        if (slice instanceof Page<T> page) {
+            return of(page);
+        }
+        return new PaginatedResponse<>(
+            slice.getContent(),
+            slice.getNumber(),
+            slice.getSize(),
+            -1,
+            -1,
+            slice.isFirst(),
+            slice.isLast(),
+            slice.isEmpty()
+        );
+    }
 } 
\ No newline at end of file
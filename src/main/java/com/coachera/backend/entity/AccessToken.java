@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "access_tokens")
+@Table(name = "access_tokens", indexes = {
+	@Index(name = "idx_access_tokens_expires_at", columnList = "expiresAt"),
+	@Index(name = "idx_access_tokens_user_expires_at", columnList = "user_id, expiresAt")
+})
 @Getter
 @Setter
 @NoArgsConstructor
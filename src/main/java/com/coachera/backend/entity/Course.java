@@ -57,6 +57,11 @@ public class Course extends Auditable {
     @Builder.Default
     private boolean isPublished = false;
 
+    // Denormalized enrollment count, maintained by EnrollmentCounterService
+    @Column(name = "enrollment_count", nullable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private long enrollmentCount = 0L;
+
     @OneToOne
     @JoinColumn
     private Image image;
@@ -10,13 +10,16 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "course_completion")
+@Table(name = "course_completion", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_course_completion_enrollment", columnNames = {"enrollment_id"})
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -27,9 +30,11 @@ public class CourseCompletion extends Auditable {
     private Integer id;
 
     @ManyToOne
-    @JoinColumn(name = "enrollment_id", insertable = false, updatable = false)
+    @JoinColumn(name = "enrollment_id", nullable = false)
     private Enrollment enrollment;
 
+    // Completed materials of the enrollment, maintained by delta; null until first counted
+    private Integer completedMaterials;
 
     private BigDecimal progress;
     private boolean completed;
@@ -13,13 +13,16 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "material_completion")
+@Table(name = "material_completion", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_material_completion_enrollment_material", columnNames = {"enrollment_id", "material_id"})
+})
 @AllArgsConstructor @NoArgsConstructor @Getter @Setter
 public class MaterialCompletion extends Auditable {
     @Id
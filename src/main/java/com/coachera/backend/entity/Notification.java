@@ -4,6 +4,9 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import com.coachera.backend.entity.enums.NotificationStatus;
 import com.coachera.backend.entity.enums.NotificationType;
 
@@ -11,7 +14,12 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_read", columnList = "user_id, read"),
+    // Serves the paged listing, which filters by user and sorts by creation time
+    @Index(name = "idx_notifications_user_created", columnList = "user_id, createdAt"),
+    @Index(name = "idx_notifications_created", columnList = "createdAt")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -40,10 +48,9 @@ public class Notification extends Auditable {
 
     private String actionUrl; // Deep link URL
 
-    @ElementCollection
-    @CollectionTable(name = "notification_metadata", joinColumns = @JoinColumn(name = "notification_id"))
-    @MapKeyColumn(name = "meta_key")
-    @Column(name = "meta_value")
+    // Stored inline as JSONB, so a notification is a single row
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
     @Builder.Default
     private Map<String, String> metadata = new HashMap<>();
 
@@ -56,4 +63,9 @@ public class Notification extends Auditable {
 
     // For email
     private String emailAddress;
+
+    // Rows written before the JSONB column existed are NULL until backfilled
+    public Map<String, String> getMetadata() {
+        return metadata != null ? metadata : Map.of();
+    }
 }
@@ -0,0 +1,51 @@
+package com.coachera.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Compact copy of a notification that aged out of the notifications table.
+ * Metadata is kept as one JSON text column instead of a collection table.
+ */
+@Entity
+@Table(name = "notification_archive", indexes = {
+    @Index(name = "idx_notification_archive_user_created", columnList = "userId, createdAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationArchive {
+
+    @Id
+    private Long id; // id of the original notification
+
+    private Integer userId;
+
+    private String type;
+
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    private String status;
+
+    private String actionUrl;
+
+    @Column(columnDefinition = "TEXT")
+    private String metadata;
+
+    private boolean read;
+
+    private LocalDateTime sentAt;
+
+    private LocalDateTime readAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,51 @@
+package com.coachera.backend.entity;
+
+import java.time.LocalDateTime;
+
+import com.coachera.backend.entity.enums.NotificationStatus;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Outbox row: one delivery channel of a notification and its attempts.
+ * PENDING rows are due at {@code nextAttemptAt}, SENT and FAILED are final.
+ */
+@Entity
+@Table(name = "notification_deliveries", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"notification_id", "channel"})
+}, indexes = {
+    @Index(name = "idx_notification_deliveries_due", columnList = "status, nextAttemptAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationDelivery extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "notification_id", nullable = false)
+    private Notification notification;
+
+    @Column(nullable = false)
+    private String channel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationStatus status;
+
+    @Builder.Default
+    private int attempts = 0;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime deliveredAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+}
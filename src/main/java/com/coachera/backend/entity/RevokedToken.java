@@ -0,0 +1,22 @@
+package com.coachera.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+	@Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+	@Id
+	private String tokenId; // id claim of a signed token, or an opaque token
+
+	@Column(nullable = false)
+	private LocalDateTime expiresAt; // the row is useless once the token has expired anyway
+}
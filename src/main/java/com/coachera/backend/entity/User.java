@@ -1,5 +1,6 @@
 package com.coachera.backend.entity;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -43,6 +44,9 @@ public class User extends Auditable {
 
     private Boolean isVerified;
 
+    // Signed access tokens issued before this instant are revoked
+    private LocalDateTime tokensValidAfter;
+
     // Bidirectional relationship with Organization
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Organization organization;
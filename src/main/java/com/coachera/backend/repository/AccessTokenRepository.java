@@ -2,6 +2,12 @@ package com.coachera.backend.repository;
 
 import com.coachera.backend.entity.AccessToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,4 +15,17 @@ public interface AccessTokenRepository extends JpaRepository<AccessToken, String
     Optional<AccessToken> findByToken(String token);
     void deleteByUserId(Integer userId);
     List<AccessToken> findByUserId(Integer userId);
+
+    // Validity checks served by the (user_id, expires_at) index
+    boolean existsByUserIdAndExpiresAtAfter(Integer userId, LocalDateTime now);
+
+    @Query("SELECT a.token FROM AccessToken a WHERE a.user.id = :userId AND a.expiresAt > :now ORDER BY a.expiresAt DESC")
+    List<String> findLiveTokens(@Param("userId") Integer userId, @Param("now") LocalDateTime now);
+
+    // Delete up to :batchSize expired tokens, each call commits on its own
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM access_tokens WHERE token IN "
+            + "(SELECT token FROM access_tokens WHERE expires_at <= :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
@@ -1,8 +1,10 @@
 package com.coachera.backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.coachera.backend.entity.Category;
 
@@ -11,4 +13,8 @@ public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
     Optional<Category> findByName(String name);
 
+    // (id, name, number of courses in the category)
+    @Query("SELECT cat.id, cat.name, COUNT(cc.id) FROM Category cat LEFT JOIN cat.courses cc GROUP BY cat.id, cat.name")
+    List<Object[]> findSuggestionRows();
+
 }
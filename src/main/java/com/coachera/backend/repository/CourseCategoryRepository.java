@@ -3,10 +3,14 @@ package com.coachera.backend.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.coachera.backend.entity.CourseCategory;
 
 public interface CourseCategoryRepository extends JpaRepository<CourseCategory, Integer>{
     List<CourseCategory> findByCourseId(Integer courseId);
     List<CourseCategory> findByCategoryId(Integer categoryId);   
+
+    @Query("SELECT cc.course.id, cc.category.id FROM CourseCategory cc WHERE cc.course.isPublished = true")
+    List<Object[]> findPublishedCourseCategoryPairs();
 }
@@ -3,12 +3,52 @@ package com.coachera.backend.repository;
 import com.coachera.backend.entity.CourseCompletion;
 import com.coachera.backend.entity.Enrollment;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CourseCompletionRepository extends JpaRepository<CourseCompletion, Integer> {
 
     // You can keep your custom methods
     Optional<CourseCompletion> findByEnrollment(Enrollment enrollment);
+
+    // Create the enrollment's course completion unless it exists; concurrent callers insert one row
+    @Modifying
+    @Query(value = "INSERT INTO course_completion (enrollment_id, completed, created_at, updated_at) "
+            + "VALUES (:enrollmentId, false, :now, :now) ON CONFLICT (enrollment_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("enrollmentId") Integer enrollmentId, @Param("now") LocalDateTime now);
+
+    // [id, enrollmentId, progress, completed, completionDate, createdAt, updatedAt] rows
+    @Query(value = "SELECT cc.id, e.id, cc.progress, cc.completed, cc.completionDate, cc.createdAt, cc.updatedAt "
+            + "FROM CourseCompletion cc JOIN cc.enrollment e WHERE e.course.id = :courseId",
+            countQuery = "SELECT COUNT(cc) FROM CourseCompletion cc WHERE cc.enrollment.course.id = :courseId")
+    Page<Object[]> findRowsByCourseId(@Param("courseId") Integer courseId, Pageable pageable);
+
+    // [bucket, enrollments] rows; bucket i holds progress in [10i, 10i + 10), 100% falls in bucket 9.
+    // Enrollments without a course completion count as 0%
+    @Query(value = "SELECT LEAST(CAST(FLOOR(COALESCE(cc.progress, 0) / 10) AS int), 9) AS bucket, COUNT(*) "
+            + "FROM enrollments e LEFT JOIN course_completion cc ON cc.enrollment_id = e.id "
+            + "WHERE e.course_id = :courseId GROUP BY bucket", nativeQuery = true)
+    List<Object[]> countProgressBucketRows(@Param("courseId") Integer courseId);
+
+    @Query(value = "SELECT COUNT(*) FROM course_completion cc JOIN enrollments e ON e.id = cc.enrollment_id "
+            + "WHERE e.course_id = :courseId AND cc.completed", nativeQuery = true)
+    long countCompletedByCourseId(@Param("courseId") Integer courseId);
+
+    // Median time from enrollment to course completion, in seconds; null if nobody completed the course
+    @Query(value = "SELECT percentile_cont(0.5) WITHIN GROUP (ORDER BY EXTRACT(EPOCH FROM (cc.completion_date - e.created_at))) "
+            + "FROM course_completion cc JOIN enrollments e ON e.id = cc.enrollment_id "
+            + "WHERE e.course_id = :courseId AND cc.completed AND cc.completion_date IS NOT NULL", nativeQuery = true)
+    Double findMedianSecondsToComplete(@Param("courseId") Integer courseId);
+
+    @Query("SELECT cc.enrollment.course.id, cc.completionDate FROM CourseCompletion cc "
+            + "WHERE cc.completed = true AND cc.completionDate >= :since")
+    List<Object[]> findCourseActivitySince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.coachera.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -25,4 +27,57 @@ public interface CourseRepository extends JpaRepository<Course, Integer> {
     List<Course> findByIsPublishedTrue();
     Page<Course> findByIsPublishedTrue(Pageable pageable);
 
+    @Query("SELECT c.id, c.rating, c.price, c.enrollmentCount FROM Course c WHERE c.isPublished = true")
+    List<Object[]> findPublishedCourseFeatures();
+
+    // (id, title, enrollment count) of published courses
+    @Query("SELECT c.id, c.title, c.enrollmentCount FROM Course c WHERE c.isPublished = true")
+    List<Object[]> findPublishedSuggestionRows();
+
+    @Query("SELECT c.id FROM Course c WHERE c.isPublished = true ORDER BY c.rating DESC, c.enrollmentCount DESC, c.id ASC")
+    List<Integer> findPublishedIdsOrderByRating();
+
+    // Ids among the given ones of courses that are not (or no longer) published
+    @Query("SELECT c.id FROM Course c WHERE c.id IN :courseIds AND c.isPublished = false")
+    List<Integer> findUnpublishedIds(@Param("courseIds") Collection<Integer> courseIds);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.enrollmentCount = c.enrollmentCount + :delta WHERE c.id = :courseId")
+    int incrementEnrollmentCount(@Param("courseId") Integer courseId, @Param("delta") long delta);
+
+    @Query(value = "SELECT c.id FROM Course c WHERE c.isPublished = true ORDER BY c.rating DESC, c.price ASC, c.id ASC",
+            countQuery = "SELECT COUNT(c) FROM Course c WHERE c.isPublished = true")
+    Page<Integer> findPopularCourseIds(Pageable pageable);
+
+    @Query(value = "SELECT c.id FROM Course c JOIN c.categories cc WHERE cc.category.id = :categoryId "
+            + "AND c.isPublished = true ORDER BY c.rating DESC, c.price ASC, c.id ASC",
+            countQuery = "SELECT COUNT(c) FROM Course c JOIN c.categories cc WHERE cc.category.id = :categoryId "
+            + "AND c.isPublished = true")
+    Page<Integer> findPublishedIdsByCategoryId(@Param("categoryId") Integer categoryId, Pageable pageable);
+
+    // Scalar projections used to build CourseDTO pages without loading entity graphs
+    @Query("SELECT c.id, c.title, c.description, c.durationHours, c.price, c.rating, c.isPublished, "
+            + "o.id, o.orgName, i.uuidName, c.createdAt, c.updatedAt "
+            + "FROM Course c JOIN c.org o LEFT JOIN c.image i WHERE c.id IN :courseIds")
+    List<Object[]> findCourseSummaries(@Param("courseIds") Collection<Integer> courseIds);
+
+    @Query("SELECT cc.course.id, cat.id, cat.name, cat.icon FROM CourseCategory cc JOIN cc.category cat "
+            + "WHERE cc.course.id IN :courseIds")
+    List<Object[]> findCategoryRowsByCourseIds(@Param("courseIds") Collection<Integer> courseIds);
+
+    @Query("SELECT lpc.course.id, lpc.learningPath.id FROM LearningPathCourse lpc WHERE lpc.course.id IN :courseIds")
+    List<Object[]> findLearningPathRowsByCourseIds(@Param("courseIds") Collection<Integer> courseIds);
+
+    @Query("SELECT ci.course.id, ci.instructor.id FROM CourseInstructor ci WHERE ci.course.id IN :courseIds")
+    List<Object[]> findInstructorRowsByCourseIds(@Param("courseIds") Collection<Integer> courseIds);
+
+    @Query("SELECT m.course.id, m.id FROM Module m WHERE m.course.id IN :courseIds")
+    List<Object[]> findModuleRowsByCourseIds(@Param("courseIds") Collection<Integer> courseIds);
+
+    // Recompute the denormalized counters from the enrollments table
+    @Modifying
+    @Query(value = "UPDATE courses c SET enrollment_count = "
+            + "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.id)", nativeQuery = true)
+    int reconcileEnrollmentCounts();
+
 }
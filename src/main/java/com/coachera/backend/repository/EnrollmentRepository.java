@@ -1,9 +1,12 @@
 package com.coachera.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.coachera.backend.entity.Course;
 import com.coachera.backend.entity.Enrollment;
@@ -15,6 +18,8 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer>
 
     List<Enrollment> findByCourseId(Integer courseId);
 
+    long countByCourseId(Integer courseId);
+
     Optional<Enrollment> findByStudentIdAndCourseId(Integer studentId, Integer courseId);
 
     boolean existsByStudentIdAndCourseId(Integer studentId, Integer courseId);
@@ -24,4 +29,15 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer>
     void deleteByStudentIdAndCourseId(Integer studentId, Integer courseId);
 
     Page<Enrollment> findByStudentId(Integer studentId, Pageable pageable);
+
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId")
+    List<Integer> findCourseIdsByStudentId(@Param("studentId") Integer studentId);
+
+    // [enrollmentId, courseId, title, imageUuid, enrolledAt] rows, newest enrollment first
+    @Query("SELECT e.id, c.id, c.title, i.uuidName, e.createdAt FROM Enrollment e JOIN e.course c "
+            + "LEFT JOIN c.image i WHERE e.student.id = :studentId ORDER BY e.createdAt DESC, e.id DESC")
+    List<Object[]> findDashboardRowsByStudentId(@Param("studentId") Integer studentId);
+
+    @Query("SELECT e.course.id, e.createdAt FROM Enrollment e WHERE e.createdAt >= :since")
+    List<Object[]> findCourseActivitySince(@Param("since") LocalDateTime since);
 }
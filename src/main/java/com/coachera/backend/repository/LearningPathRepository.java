@@ -20,4 +20,8 @@ public interface LearningPathRepository extends JpaRepository<LearningPath, Inte
         @Param("id") Integer id, 
         @Param("orgId") Integer orgId
     );
+
+    // (id, title, number of courses in the path)
+    @Query("SELECT lp.id, lp.title, COUNT(lpc.id) FROM LearningPath lp LEFT JOIN lp.courses lpc GROUP BY lp.id, lp.title")
+    List<Object[]> findSuggestionRows();
 }
\ No newline at end of file
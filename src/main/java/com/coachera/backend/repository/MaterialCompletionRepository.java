@@ -4,13 +4,75 @@ import com.coachera.backend.entity.Enrollment;
 import com.coachera.backend.entity.Material;
 import com.coachera.backend.entity.MaterialCompletion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MaterialCompletionRepository extends JpaRepository<MaterialCompletion, Long> {
     Optional<MaterialCompletion> findByEnrollmentAndMaterial(Enrollment enrollment, Material material);
+    Optional<MaterialCompletion> findByEnrollmentIdAndMaterialId(Integer enrollmentId, Integer materialId);
     List<MaterialCompletion> findByEnrollment(Enrollment enrollment);
     long countByEnrollmentAndCompleted(Enrollment enrollment, boolean completed);
     void deleteByEnrollment(Enrollment enrollment);
+
+    // Insert a completed row or complete the existing one, in one statement. Returns the row id
+    // if it was newly completed, nothing if it already was
+    @Query(value = "INSERT INTO material_completion (enrollment_id, material_id, completed, completion_date, "
+            + "completion_state, trigger_type, created_at, updated_at) "
+            + "VALUES (:enrollmentId, :materialId, true, :now, :state, :triggerType, :now, :now) "
+            + "ON CONFLICT (enrollment_id, material_id) DO UPDATE SET completed = true, "
+            + "completion_date = EXCLUDED.completion_date, completion_state = EXCLUDED.completion_state, "
+            + "trigger_type = EXCLUDED.trigger_type, updated_at = EXCLUDED.updated_at "
+            + "WHERE NOT material_completion.completed RETURNING id", nativeQuery = true)
+    List<Long> upsertCompleted(@Param("enrollmentId") Integer enrollmentId, @Param("materialId") Integer materialId,
+            @Param("state") int state, @Param("triggerType") String triggerType, @Param("now") LocalDateTime now);
+
+    // Record a graded attempt that did not complete the material. Never touches a completed row,
+    // so failing a retake does not undo an earlier pass
+    @Modifying
+    @Query(value = "INSERT INTO material_completion (enrollment_id, material_id, completed, completion_date, "
+            + "completion_state, trigger_type, created_at, updated_at) "
+            + "VALUES (:enrollmentId, :materialId, false, :now, :state, :triggerType, :now, :now) "
+            + "ON CONFLICT (enrollment_id, material_id) DO UPDATE SET "
+            + "completion_date = EXCLUDED.completion_date, completion_state = EXCLUDED.completion_state, "
+            + "trigger_type = EXCLUDED.trigger_type, updated_at = EXCLUDED.updated_at "
+            + "WHERE NOT material_completion.completed", nativeQuery = true)
+    int upsertAttempt(@Param("enrollmentId") Integer enrollmentId, @Param("materialId") Integer materialId,
+            @Param("state") int state, @Param("triggerType") String triggerType, @Param("now") LocalDateTime now);
+
+    // [enrollmentId, materialId, completionState, completed] rows
+    @Query("SELECT mc.enrollment.id, mc.material.id, mc.completionState, mc.completed FROM MaterialCompletion mc "
+            + "WHERE mc.enrollment.id IN :enrollmentIds")
+    List<Object[]> findDashboardRowsByEnrollmentIds(@Param("enrollmentIds") Collection<Integer> enrollmentIds);
+
+    // [sectionId, started, completed] rows: enrollments that completed at least one / all materials of each section
+    @Query(value = "SELECT t.section_id, COUNT(d.enrollment_id), COUNT(d.enrollment_id) FILTER (WHERE d.done >= t.total) "
+            + "FROM (SELECT m.section_id AS section_id, COUNT(*) AS total FROM materials m JOIN sections s ON s.id = m.section_id "
+            + "JOIN modules mo ON mo.id = s.module_id WHERE mo.course_id = :courseId GROUP BY m.section_id) t "
+            + "LEFT JOIN (SELECT m.section_id AS section_id, mc.enrollment_id, COUNT(*) AS done FROM material_completion mc "
+            + "JOIN materials m ON m.id = mc.material_id JOIN sections s ON s.id = m.section_id "
+            + "JOIN enrollments e ON e.id = mc.enrollment_id WHERE e.course_id = :courseId AND mc.completed "
+            + "GROUP BY m.section_id, mc.enrollment_id) d ON d.section_id = t.section_id GROUP BY t.section_id", nativeQuery = true)
+    List<Object[]> findSectionFunnelRows(@Param("courseId") Integer courseId);
+
+    // [moduleId, started, completed] rows: enrollments that completed at least one / all materials of each module
+    @Query(value = "SELECT t.module_id, COUNT(d.enrollment_id), COUNT(d.enrollment_id) FILTER (WHERE d.done >= t.total) "
+            + "FROM (SELECT s.module_id AS module_id, COUNT(*) AS total FROM materials m JOIN sections s ON s.id = m.section_id "
+            + "JOIN modules mo ON mo.id = s.module_id WHERE mo.course_id = :courseId GROUP BY s.module_id) t "
+            + "LEFT JOIN (SELECT s.module_id AS module_id, mc.enrollment_id, COUNT(*) AS done FROM material_completion mc "
+            + "JOIN materials m ON m.id = mc.material_id JOIN sections s ON s.id = m.section_id "
+            + "JOIN enrollments e ON e.id = mc.enrollment_id WHERE e.course_id = :courseId AND mc.completed "
+            + "GROUP BY s.module_id, mc.enrollment_id) d ON d.module_id = t.module_id GROUP BY t.module_id", nativeQuery = true)
+    List<Object[]> findModuleFunnelRows(@Param("courseId") Integer courseId);
+
+    // [id, enrollmentId, materialId, completed] rows of existing completions for a sync batch
+    @Query("SELECT mc.id, mc.enrollment.id, mc.material.id, mc.completed FROM MaterialCompletion mc "
+            + "WHERE mc.enrollment.id IN :enrollmentIds AND mc.material.id IN :materialIds")
+    List<Object[]> findStateRows(@Param("enrollmentIds") Collection<Integer> enrollmentIds,
+            @Param("materialIds") Collection<Integer> materialIds);
 }
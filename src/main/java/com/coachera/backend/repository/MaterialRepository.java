@@ -1,5 +1,6 @@
 package com.coachera.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -25,6 +26,18 @@ public interface MaterialRepository extends JpaRepository<Material, Integer> {
     @Query("SELECT COUNT(m) FROM Material m WHERE m.section.module.course = :course")
     long countByCourse(@Param("course") Course course);
 
+    @Query("SELECT COUNT(m) FROM Material m WHERE m.section.module.course.id = :courseId")
+    long countByCourseId(@Param("courseId") Integer courseId);
+
+    // [materialId, courseId] rows
+    @Query("SELECT m.id, m.section.module.course.id FROM Material m WHERE m.id IN :ids")
+    List<Object[]> findCourseIdRowsByIds(@Param("ids") Collection<Integer> ids);
+
+    // [courseId, materialCount] rows; courses without materials are missing
+    @Query("SELECT m.section.module.course.id, COUNT(m) FROM Material m "
+            + "WHERE m.section.module.course.id IN :courseIds GROUP BY m.section.module.course.id")
+    List<Object[]> countRowsByCourseIds(@Param("courseIds") Collection<Integer> courseIds);
+
     @Query("SELECT m FROM Material m WHERE m.section.module.course.id = :courseId")
     Set<Material> findByCourseId(@Param("courseId") Integer courseId);
 }
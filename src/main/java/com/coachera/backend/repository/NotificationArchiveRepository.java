@@ -0,0 +1,24 @@
+package com.coachera.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.coachera.backend.entity.NotificationArchive;
+
+public interface NotificationArchiveRepository extends JpaRepository<NotificationArchive, Long> {
+
+    // Copy notifications, keeping the metadata as JSON text
+    @Modifying
+    @Query(value = "INSERT INTO notification_archive (id, user_id, type, title, content, status, action_url, metadata, "
+            + "read, sent_at, read_at, created_at, archived_at) "
+            + "SELECT n.id, n.user_id, n.type, n.title, n.content, n.status, n.action_url, "
+            + "n.metadata::text, "
+            + "n.read, n.sent_at, n.read_at, n.created_at, :now FROM notifications n WHERE n.id IN :ids "
+            + "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    int copyFromNotifications(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,49 @@
+package com.coachera.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.coachera.backend.entity.NotificationDelivery;
+
+public interface NotificationDeliveryRepository extends JpaRepository<NotificationDelivery, Long> {
+
+    // Lock due rows; rows locked by another worker are skipped instead of waited for
+    @Query(value = "SELECT id FROM notification_deliveries WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Lock rows still reserved for the dispatcher; a worker that took a row over leased it past the reservation
+    @Query(value = "SELECT id FROM notification_deliveries WHERE id IN :ids AND status = 'PENDING' "
+            + "AND next_attempt_at <= :reservedUntil FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockReservedIds(@Param("ids") Collection<Long> ids, @Param("reservedUntil") LocalDateTime reservedUntil);
+
+    // Lease claimed rows, so they are not claimed again while being delivered
+    @Modifying
+    @Query("UPDATE NotificationDelivery d SET d.nextAttemptAt = :leaseUntil WHERE d.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Claimed rows with their notification and recipient, ready to deliver outside the session
+    @Query("SELECT d FROM NotificationDelivery d JOIN FETCH d.notification n JOIN FETCH n.recipient WHERE d.id IN :ids")
+    List<NotificationDelivery> findWithNotificationByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE NotificationDelivery d SET d.status = 'SENT', d.attempts = d.attempts + 1, d.deliveredAt = :now, "
+            + "d.lastError = null, d.nextAttemptAt = null WHERE d.id IN :ids AND d.status = 'PENDING'")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM NotificationDelivery d WHERE d.notification.id IN :ids")
+    int deleteByNotificationIds(@Param("ids") Collection<Long> notificationIds);
+
+    // Give dead-lettered deliveries a new round of attempts
+    @Modifying
+    @Query("UPDATE NotificationDelivery d SET d.status = 'PENDING', d.attempts = 0, d.nextAttemptAt = :now "
+            + "WHERE d.status = 'FAILED' AND d.createdAt > :since")
+    int rescheduleFailed(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+}
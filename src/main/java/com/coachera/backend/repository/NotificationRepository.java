@@ -1,6 +1,7 @@
 package com.coachera.backend.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -22,18 +23,37 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // Count unread notifications for a user
     long countByRecipientAndReadFalse(User recipient);
 
+    long countByRecipientIdAndReadFalse(Integer recipientId);
+
+    // Unread counts as [userId, count] rows; users without unread notifications are left out
+    @Query("SELECT n.recipient.id, COUNT(n) FROM Notification n WHERE n.recipient.id IN :userIds AND n.read = false "
+            + "GROUP BY n.recipient.id")
+    List<Object[]> countUnreadRowsByRecipientIds(@Param("userIds") Collection<Integer> userIds);
+
+    // Unread notifications among the given ones as [userId, count] rows
+    @Query("SELECT n.recipient.id, COUNT(n) FROM Notification n WHERE n.id IN :ids AND n.read = false "
+            + "GROUP BY n.recipient.id")
+    List<Object[]> countUnreadRowsByIds(@Param("ids") Collection<Long> notificationIds);
+
     // Find notifications by status
     List<Notification> findByStatus(NotificationStatus status);
 
-    // Find notifications that need retry (failed and not too old)
-    @Query("SELECT n FROM Notification n WHERE n.status = 'FAILED' AND n.sentAt > :cutoff")
-    List<Notification> findFailedNotificationsForRetry(@Param("cutoff") LocalDateTime cutoff);
-
-    // Mark notifications as read
+    // Mark unread notifications as read; the count only includes notifications that were unread
     @Modifying
-    @Query("UPDATE Notification n SET n.read = true, n.readAt = CURRENT_TIMESTAMP WHERE n.id IN :ids AND n.recipient = :user")
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = CURRENT_TIMESTAMP WHERE n.id IN :ids AND n.recipient = :user AND n.read = false")
     int markAsRead(@Param("ids") List<Long> notificationIds, @Param("user") User user);
 
+    // Derive the status from the outbox: sent once every channel delivery succeeded, failed otherwise
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = 'SENT' WHERE n.id IN :ids AND NOT EXISTS "
+            + "(SELECT d.id FROM NotificationDelivery d WHERE d.notification = n AND d.status <> 'SENT')")
+    int markSentIfDelivered(@Param("ids") Collection<Long> notificationIds);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = 'FAILED' WHERE n.id IN :ids AND EXISTS "
+            + "(SELECT d.id FROM NotificationDelivery d WHERE d.notification = n AND d.status <> 'SENT')")
+    int markFailedIfUndelivered(@Param("ids") Collection<Long> notificationIds);
+
     // Find notifications by recipient and type
     Page<Notification> findByRecipientAndTypeOrderByCreatedAtDesc(User recipient, com.coachera.backend.entity.enums.NotificationType type, Pageable pageable);
 
@@ -48,8 +68,13 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // Find notifications by recipient and read status
     Page<Notification> findByRecipientAndReadOrderByCreatedAtDesc(User recipient, boolean read, Pageable pageable);
 
-    // Delete old notifications (for cleanup job)
+    // Oldest notifications created before the cutoff, one retention batch at a time
+    @Query(value = "SELECT id FROM notifications WHERE created_at < :cutoff ORDER BY created_at LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Delivery rows must be deleted first
     @Modifying
-    @Query("DELETE FROM Notification n WHERE n.createdAt < :cutoff")
-    int deleteOldNotifications(@Param("cutoff") LocalDateTime cutoff);
+    @Query(value = "DELETE FROM notifications WHERE id IN :ids", nativeQuery = true)
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.coachera.backend.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.coachera.backend.entity.Question;
@@ -11,4 +13,8 @@ import com.coachera.backend.entity.Question;
 public interface QuestionRepository extends JpaRepository<Question, Integer> {
     List<Question> findByQuizIdOrderByIdAsc(Integer quizId);
     long countByQuizId(Integer quizId);
+
+    // [id, correctAnswerIndex] rows ordered by id
+    @Query("SELECT q.id, q.correctAnswerIndex FROM Question q WHERE q.quiz.id = :quizId ORDER BY q.id")
+    List<Object[]> findAnswerRowsByQuizId(@Param("quizId") Integer quizId);
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.coachera.backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.coachera.backend.entity.Quiz;
@@ -11,4 +14,8 @@ import com.coachera.backend.entity.Quiz;
 public interface QuizRepository extends JpaRepository<Quiz, Integer> {
     Optional<Quiz> findByMaterialId(Integer materialId);
     boolean existsByMaterialId(Integer materialId);
+
+    // [materialId, courseId] row, empty if the quiz does not exist
+    @Query("SELECT q.material.id, q.material.section.module.course.id FROM Quiz q WHERE q.id = :id")
+    List<Object[]> findMaterialAndCourseRowById(@Param("id") Integer id);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.coachera.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -18,4 +19,7 @@ public interface ReviewRepository extends JpaRepository<Review, Integer> {
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.course.id = :courseId")
     Double calculateAverageRatingByCourseId(@Param("courseId") Integer courseId);
     boolean existsByIdAndStudentUserId(Integer reviewId, Integer id);
+
+    @Query("SELECT r.course.id, r.createdAt FROM Review r WHERE r.createdAt >= :since")
+    List<Object[]> findCourseActivitySince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.coachera.backend.entity.Section;
@@ -14,4 +16,10 @@ public interface SectionRepository extends JpaRepository<Section, Integer> {
     Optional<Section> findByModuleIdAndOrderIndex(Integer moduleId, Integer orderIndex);
     boolean existsByModuleIdAndOrderIndexAndIdNot(Integer moduleId, Integer orderIndex, Integer excludeSectionId);
     boolean existsByModuleIdAndOrderIndex(Integer moduleId, Integer orderIndex);
+
+    // [moduleId, moduleTitle, moduleOrder, sectionId, sectionTitle, sectionOrder, materialCount] rows in course order
+    @Query("SELECT mo.id, mo.title, mo.orderIndex, s.id, s.title, s.orderIndex, COUNT(m) FROM Section s "
+            + "JOIN s.module mo LEFT JOIN s.materials m WHERE mo.course.id = :courseId "
+            + "GROUP BY mo.id, mo.title, mo.orderIndex, s.id, s.title, s.orderIndex ORDER BY mo.orderIndex, s.orderIndex")
+    List<Object[]> findOutlineRowsByCourseId(@Param("courseId") Integer courseId);
 }
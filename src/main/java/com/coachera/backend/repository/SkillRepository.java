@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.coachera.backend.entity.Skill;
@@ -13,4 +14,8 @@ public interface SkillRepository extends JpaRepository<Skill, Integer> {
     Optional<Skill> findByName(String name);
     Boolean existsByName(String name);
     List<Skill> findByNameContainingIgnoreCase(String keyword);
+
+    // (id, name, number of students with the skill)
+    @Query("SELECT s.id, s.name, COUNT(ss.id) FROM Skill s LEFT JOIN s.studentSkills ss GROUP BY s.id, s.name")
+    List<Object[]> findSuggestionRows();
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package com.coachera.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.coachera.backend.entity.User;
 
@@ -12,4 +18,14 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByEmail(String email);
 
     Optional<User> findById(Integer id);
+
+    @Query("SELECT u.id, u.email FROM User u WHERE u.id IN :ids")
+    List<Object[]> findEmailRowsByIds(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokensValidAfter = :time WHERE u.id = :userId")
+    int updateTokensValidAfter(@Param("userId") Integer userId, @Param("time") LocalDateTime time);
+
+    @Query("SELECT u.id, u.tokensValidAfter FROM User u WHERE u.tokensValidAfter > :since")
+    List<Object[]> findTokenEpochRowsSince(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,124 @@
+package com.coachera.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.coachera.backend.entity.User;
+import com.coachera.backend.entity.enums.RoleType;
+
+/**
+ * Issues and verifies self-contained access tokens signed with HMAC-SHA256.
+ *
+ * A signed token is {@code v1.<payload>.<signature>}, both parts base64url
+ * encoded. The payload carries the token id, user id, role, issue and expiry
+ * times, so a request can be authenticated without looking the token up.
+ */
+@Component
+public class SignedTokenCodec {
+
+    static final String PREFIX = "v1.";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Verified token contents. Times are epoch milliseconds.
+     */
+    public record Claims(String tokenId, Integer userId, RoleType role, long issuedAtMillis, long expiresAtMillis) {
+
+        public boolean isExpired(long nowMillis) {
+            return expiresAtMillis <= nowMillis;
+        }
+    }
+
+    private final SecretKeySpec key;
+
+    public SignedTokenCodec(@Value("${app.auth.signing-secret:}") String secret,
+            @Value("${app.auth.token-mode:opaque}") String tokenMode) {
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            if (TokenService.MODE_SIGNED.equalsIgnoreCase(tokenMode)) {
+                throw new IllegalStateException("app.auth.signing-secret must be at least 32 bytes for signed tokens");
+            }
+            this.key = null;
+        } else {
+            this.key = new SecretKeySpec(bytes, ALGORITHM);
+        }
+    }
+
+    public boolean isEnabled() {
+        return key != null;
+    }
+
+    /**
+     * Whether the token has the signed format, regardless of its validity
+     */
+    public boolean isSigned(String token) {
+        return token.startsWith(PREFIX);
+    }
+
+    public String issue(User user, long expiresAtMillis) {
+        if (key == null) {
+            throw new IllegalStateException("Signed tokens are not configured");
+        }
+        String payload = String.join(":",
+                UUID.randomUUID().toString(),
+                user.getId().toString(),
+                user.getRole().name(),
+                Long.toString(System.currentTimeMillis()),
+                Long.toString(expiresAtMillis));
+        String signed = PREFIX + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return signed + "." + ENCODER.encodeToString(sign(signed));
+    }
+
+    /**
+     * Claims of a well-formed token with a valid signature, or null. Expiry and
+     * revocation are left to the caller.
+     */
+    public Claims verify(String token) {
+        if (key == null || !isSigned(token)) {
+            return null;
+        }
+        int dot = token.lastIndexOf('.');
+        if (dot <= PREFIX.length()) {
+            return null;
+        }
+        try {
+            String signed = token.substring(0, dot);
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(signed), signature)) {
+                return null;
+            }
+            String payload = new String(DECODER.decode(signed.substring(PREFIX.length())), StandardCharsets.UTF_8);
+            String[] parts = payload.split(":");
+            if (parts.length != 5) {
+                return null;
+            }
+            return new Claims(parts[0], Integer.valueOf(parts[1]), RoleType.valueOf(parts[2]),
+                    Long.parseLong(parts[3]), Long.parseLong(parts[4]));
+        } catch (IllegalArgumentException e) {
+            // Bad base64, number or role
+            return null;
+        }
+    }
+
+    private byte[] sign(String value) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign token", e);
+        }
+    }
+}
@@ -3,8 +3,10 @@ package com.coachera.backend.security;
 import com.coachera.backend.entity.AccessToken;
 import com.coachera.backend.entity.User;
 import com.coachera.backend.repository.AccessTokenRepository;
+import com.coachera.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,12 +18,18 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class TokenAuthenticationFilter extends OncePerRequestFilter {
     private final AccessTokenRepository tokenRepo;
     private final UserDetailsService userDetailsService;
+    private final TokenCache tokenCache;
+    private final TokenService tokenService;
+    private final UserRepository userRepo;
+    private final TokenRevocationList revocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,19 +38,63 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            AccessToken at = tokenRepo.findByToken(token).orElse(null);
-            
-            // Check if token exists and is not expired before accessing its properties
-            if (at != null && at.getExpiresAt().isAfter(LocalDateTime.now())) {
-                User userEntity = at.getUser();
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEntity.getUsername());
+            TokenCache.Entry cached;
+            if (tokenService.isSignedToken(token)) {
+                // Signature, expiry and revocation are checked in memory on every request
+                SignedTokenCodec.Claims claims = tokenService.verifySigned(token);
+                cached = claims == null ? null : tokenCache.get(token);
+                if (claims != null && cached == null) {
+                    cached = loadPrincipal(token, claims);
+                }
+            } else {
+                cached = tokenCache.get(token);
+                // Logouts on other instances only reach this cache through the revocation list
+                if (cached != null && cached.isAuthenticated()
+                        && revocationList.isRevoked(token, cached.user().id(), cached.loadedAtMillis())) {
+                    tokenCache.evict(token);
+                    cached = null;
+                }
+                if (cached == null) {
+                    cached = loadToken(token);
+                }
+            }
+
+            if (cached != null && cached.isAuthenticated()) {
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        userEntity,
+                        cached.principal(),
                         null,
-                        userDetails.getAuthorities());
+                        cached.authorities());
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private TokenCache.Entry loadToken(String token) {
+        AccessToken at = tokenRepo.findByToken(token).orElse(null);
+
+        // Check if token exists and is not expired before accessing its properties
+        if (at == null || !at.getExpiresAt().isAfter(LocalDateTime.now())) {
+            tokenCache.putMiss(token);
+            return null;
+        }
+        User userEntity = at.getUser();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(userEntity.getUsername());
+        long expiresAtMillis = at.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return tokenCache.put(token, userEntity, userDetails.getAuthorities(), expiresAtMillis);
+    }
+
+    /**
+     * Controllers use the User entity as principal, so it is loaded once per
+     * token and then built from the snapshot in the token cache. Authorities come from the
+     * token's role claim.
+     */
+    private TokenCache.Entry loadPrincipal(String token, SignedTokenCodec.Claims claims) {
+        User userEntity = userRepo.findById(claims.userId()).orElse(null);
+        if (userEntity == null) {
+            return null;
+        }
+        return tokenCache.put(token, userEntity, List.of(new SimpleGrantedAuthority("ROLE_" + claims.role())),
+                claims.expiresAtMillis());
+    }
 }
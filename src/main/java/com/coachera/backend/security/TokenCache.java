@@ -0,0 +1,195 @@
+package com.coachera.backend.security;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.coachera.backend.entity.Image;
+import com.coachera.backend.entity.Instructor;
+import com.coachera.backend.entity.Organization;
+import com.coachera.backend.entity.Student;
+import com.coachera.backend.entity.User;
+import com.coachera.backend.entity.enums.RoleType;
+
+/**
+ * Bounded in-memory cache from access token to the authenticated principal,
+ * so authenticating a request does not need the database.
+ *
+ * Entries live until the token expires or for the configured TTL, whichever
+ * comes first. Unknown or expired tokens can be cached as misses for a short
+ * time so that replaying a bad token does not hit the database either.
+ * Logging out only evicts on this instance; other instances drop a cached
+ * opaque token once their {@link TokenRevocationList} has been refreshed.
+ *
+ * The principal is kept as an immutable snapshot of the user, and every
+ * request gets its own {@link User} built from it, so no entity instance is
+ * shared between request threads.
+ */
+@Component
+public class TokenCache {
+
+    /**
+     * Cached lookup result. A miss has no user. {@code loadedAtMillis} is when
+     * the token was last checked against the database.
+     */
+    public record Entry(UserSnapshot user, List<GrantedAuthority> authorities, long expiresAtMillis,
+            long loadedAtMillis) {
+
+        public boolean isAuthenticated() {
+            return user != null;
+        }
+
+        /**
+         * A new User for the request, see {@link UserSnapshot#toUser()}
+         */
+        public User principal() {
+            return user == null ? null : user.toUser();
+        }
+    }
+
+    /**
+     * Immutable copy of the fields controllers read from the principal. Related
+     * entities are kept by id, which is all the principal is used for.
+     */
+    public record UserSnapshot(Integer id, String username, String email, RoleType role, Boolean isVerified,
+            Long profileImageId, String profileImageName, Integer organizationId, Integer studentId,
+            Integer instructorId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        public static UserSnapshot of(User user) {
+            Image image = user.getProfileImage();
+            return new UserSnapshot(user.getId(), user.getUsername(), user.getEmail(), user.getRole(),
+                    user.getIsVerified(),
+                    image != null ? image.getId() : null,
+                    image != null ? image.getUuidName() : null,
+                    user.getOrganization() != null ? user.getOrganization().getId() : null,
+                    user.getStudent() != null ? user.getStudent().getId() : null,
+                    user.getInstructor() != null ? user.getInstructor().getId() : null,
+                    user.getCreatedAt(), user.getUpdatedAt());
+        }
+
+        public User toUser() {
+            User user = User.builder()
+                    .id(id)
+                    .username(username)
+                    .email(email)
+                    .role(role)
+                    .isVerified(isVerified)
+                    .build();
+            user.setCreatedAt(createdAt);
+            user.setUpdatedAt(updatedAt);
+            if (profileImageId != null) {
+                user.setProfileImage(Image.builder().id(profileImageId).uuidName(profileImageName).build());
+            }
+            if (organizationId != null) {
+                user.setOrganization(Organization.builder().id(organizationId).build());
+            }
+            if (studentId != null) {
+                user.setStudent(Student.builder().id(studentId).build());
+            }
+            if (instructorId != null) {
+                user.setInstructor(Instructor.builder().id(instructorId).build());
+            }
+            return user;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+
+    public TokenCache(@Value("${app.auth.token-cache.max-size:10000}") int maxSize,
+            @Value("${app.auth.token-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.auth.token-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.negativeTtlMillis = negativeTtlSeconds * 1000;
+    }
+
+    /**
+     * Cached result for the token, or null if it must be looked up
+     */
+    public Entry get(String token) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(token, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Cache a valid token until {@code tokenExpiresAtMillis} or the TTL
+     */
+    public Entry put(String token, User principal, Collection<? extends GrantedAuthority> authorities,
+            long tokenExpiresAtMillis) {
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(UserSnapshot.of(principal), List.copyOf(authorities),
+                Math.min(tokenExpiresAtMillis, now + ttlMillis), now);
+        store(token, entry);
+        return entry;
+    }
+
+    /**
+     * Remember that the token is unknown or expired, if negative caching is enabled
+     */
+    public void putMiss(String token) {
+        if (negativeTtlMillis > 0) {
+            long now = System.currentTimeMillis();
+            store(token, new Entry(null, null, now + negativeTtlMillis, now));
+        }
+    }
+
+    public void evict(String token) {
+        entries.remove(token);
+    }
+
+    /**
+     * Drop every cached token of a user
+     */
+    public void evictUser(Integer userId) {
+        entries.values().removeIf(entry -> entry.isAuthenticated() && userId.equals(entry.user().id()));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Helper methods
+
+    private void store(String token, Entry entry) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            shrink();
+        }
+        entries.put(token, entry);
+    }
+
+    private void shrink() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+
+        // Still full: drop arbitrary entries down to 90%, they are reloaded on the next request
+        Iterator<String> tokens = entries.keySet().iterator();
+        while (entries.size() >= maxSize - maxSize / 10 && tokens.hasNext()) {
+            tokens.next();
+            tokens.remove();
+        }
+    }
+}
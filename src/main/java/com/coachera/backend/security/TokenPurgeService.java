@@ -0,0 +1,53 @@
+package com.coachera.backend.security;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.coachera.backend.repository.AccessTokenRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes expired access tokens in small batches, so the table only holds
+ * live tokens and no single delete locks a large part of it.
+ */
+@Slf4j
+@Service
+public class TokenPurgeService {
+
+    private final AccessTokenRepository tokenRepo;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public TokenPurgeService(AccessTokenRepository tokenRepo,
+            @Value("${app.auth.token-purge.batch-size:1000}") int batchSize,
+            @Value("${app.auth.token-purge.max-batches:100}") int maxBatches) {
+        this.tokenRepo = tokenRepo;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Purge expired tokens, at most {@code max-batches} batches per run; the
+     * rest is left for the next run
+     */
+    @Scheduled(fixedDelayString = "${app.auth.token-purge.interval-ms:3600000}", initialDelayString = "${app.auth.token-purge.interval-ms:3600000}")
+    public int purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = tokenRepo.deleteExpiredBatch(now, batchSize);
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired access tokens", purged);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,141 @@
+package com.coachera.backend.security;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coachera.backend.entity.RevokedToken;
+import com.coachera.backend.repository.RevokedTokenRepository;
+import com.coachera.backend.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory revocation state for signed tokens, so checking it costs no I/O.
+ * Opaque tokens served from the token cache are checked against it too, so a
+ * logout on another instance also reaches cached opaque tokens.
+ *
+ * Single tokens are revoked through a denylist of token ids (the token itself
+ * for opaque tokens), kept only until the token would have expired anyway. Logging a user out everywhere sets a
+ * per-user "tokens valid after" epoch instead. Both are persisted and reloaded
+ * periodically, so revocations made on another instance are picked up within
+ * the refresh interval.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserRepository userRepository;
+
+    // token id -> expiry millis
+    private volatile Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // user id -> epoch millis
+    private volatile Map<Integer, Long> validAfter = new ConcurrentHashMap<>();
+
+    public boolean isRevoked(SignedTokenCodec.Claims claims) {
+        return isRevoked(claims.tokenId(), claims.userId(), claims.issuedAtMillis());
+    }
+
+    /**
+     * Whether the token was revoked, or its user logged out everywhere after
+     * {@code issuedAtMillis}
+     */
+    public boolean isRevoked(String tokenId, Integer userId, long issuedAtMillis) {
+        if (revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        Long epoch = validAfter.get(userId);
+        return epoch != null && issuedAtMillis < epoch;
+    }
+
+    @Transactional
+    public void revoke(SignedTokenCodec.Claims claims) {
+        revoke(claims.tokenId(), claims.expiresAtMillis());
+    }
+
+    @Transactional
+    public void revoke(String tokenId, long expiresAtMillis) {
+        revokedTokens.put(tokenId, expiresAtMillis);
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(tokenId)
+                .expiresAt(toDateTime(expiresAtMillis))
+                .build());
+    }
+
+    /**
+     * Revoke every signed token issued to the user so far
+     */
+    @Transactional
+    public void revokeUser(Integer userId) {
+        long now = System.currentTimeMillis();
+        // Tokens issued in the same millisecond are revoked too
+        validAfter.put(userId, now + 1);
+        userRepository.updateTokensValidAfter(userId, toDateTime(now + 1));
+    }
+
+    /**
+     * Reload the denylist and epochs, dropping entries of tokens that have
+     * expired since
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.auth.revocation-refresh-ms:30000}", initialDelayString = "${app.auth.revocation-refresh-ms:30000}")
+    @Transactional
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+
+        Map<String, Long> tokens = new ConcurrentHashMap<>();
+        for (Object[] row : revokedTokenRepository.findActiveRows(now)) {
+            tokens.put((String) row[0], toMillis((LocalDateTime) row[1]));
+        }
+
+        // Older epochs cannot revoke anything: every token issued before them has expired
+        Map<Integer, Long> epochs = new HashMap<>();
+        LocalDateTime since = now.minus(TokenService.TOKEN_LIFETIME);
+        List<Object[]> rows = userRepository.findTokenEpochRowsSince(since);
+        for (Object[] row : rows) {
+            epochs.put((Integer) row[0], toMillis((LocalDateTime) row[1]));
+        }
+
+        // Keep revocations made locally while the rows were being read
+        long nowMillis = toMillis(now);
+        revokedTokens.forEach((tokenId, expiresAt) -> {
+            if (expiresAt > nowMillis) {
+                tokens.putIfAbsent(tokenId, expiresAt);
+            }
+        });
+        long sinceMillis = toMillis(since);
+        validAfter.forEach((userId, epoch) -> {
+            if (epoch > sinceMillis) {
+                epochs.merge(userId, epoch, Math::max);
+            }
+        });
+
+        revokedTokens = tokens;
+        validAfter = new ConcurrentHashMap<>(epochs);
+        log.debug("Token revocation list refreshed: {} tokens, {} users", tokens.size(), epochs.size());
+    }
+
+    // Helper methods
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -4,36 +4,71 @@ import com.coachera.backend.entity.AccessToken;
 import com.coachera.backend.entity.User;
 import com.coachera.backend.repository.AccessTokenRepository;
 import com.coachera.backend.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.coachera.backend.service.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class TokenService {
+        /** Random tokens stored in the access_tokens table. */
+        public static final String MODE_OPAQUE = "opaque";
+        /** Self-contained HMAC-signed tokens, see {@link SignedTokenCodec}. */
+        public static final String MODE_SIGNED = "signed";
+
+        static final Duration TOKEN_LIFETIME = Duration.ofDays(8);
+
         private final AccessTokenRepository tokenRepo;
         private final UserRepository userRepo;
+        private final TokenCache tokenCache;
+        private final SignedTokenCodec signedTokenCodec;
+        private final TokenRevocationList revocationList;
+        private final boolean signedMode;
+        private final int maxTokensPerUser;
+
+        public TokenService(AccessTokenRepository tokenRepo, UserRepository userRepo, TokenCache tokenCache,
+                        SignedTokenCodec signedTokenCodec, TokenRevocationList revocationList,
+                        @Value("${app.auth.token-mode:opaque}") String tokenMode,
+                        @Value("${app.auth.max-tokens-per-user:10}") int maxTokensPerUser) {
+                this.tokenRepo = tokenRepo;
+                this.userRepo = userRepo;
+                this.tokenCache = tokenCache;
+                this.signedTokenCodec = signedTokenCodec;
+                this.revocationList = revocationList;
+                this.signedMode = MODE_SIGNED.equalsIgnoreCase(tokenMode);
+                this.maxTokensPerUser = maxTokensPerUser;
+        }
 
         /**
          * Generate a new token for given username.
-         * Multiple tokens per user are allowed.
+         * Multiple tokens per user are allowed, up to the configured cap; beyond it
+         * the oldest live tokens are revoked.
+         * In signed mode the token is not stored.
          */
         @Transactional
         public String generateToken(String username) {
                 User user = userRepo.findByUsername(username)
                                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
 
+                LocalDateTime expiresAt = LocalDateTime.now().plus(TOKEN_LIFETIME);
+                if (signedMode) {
+                        return signedTokenCodec.issue(user, toMillis(expiresAt));
+                }
+
                 String token = UUID.randomUUID().toString();
                 AccessToken at = AccessToken.builder()
                                 .token(token)
                                 .user(user)
-                                .expiresAt(LocalDateTime.now().plusDays(8))
+                                .expiresAt(expiresAt)
                                 .build();
                 tokenRepo.save(at);
+                enforceTokenCap(user.getId());
                 return token;
         }
 
@@ -41,43 +76,71 @@ public class TokenService {
          * Check if token exists and is not expired.
          */
         public boolean validateToken(String token) {
+                if (signedTokenCodec.isSigned(token)) {
+                        return verifySigned(token) != null;
+                }
                 return tokenRepo.findByToken(token)
                                 .map(at -> at.getExpiresAt().isAfter(LocalDateTime.now()))
                                 .orElse(false);
         }
 
         /**
-         * Invalidate (delete) a token.
+         * Invalidate (delete) a token. Signed tokens are added to the revocation list.
          */
         @Transactional
         public void invalidateToken(String token) {
-                tokenRepo.findByToken(token).ifPresent(at -> tokenRepo.delete(at));
+                if (signedTokenCodec.isSigned(token)) {
+                        SignedTokenCodec.Claims claims = verifySigned(token);
+                        if (claims != null) {
+                                revocationList.revoke(claims);
+                        }
+                } else {
+                        tokenRepo.findByToken(token).ifPresent(at -> {
+                                tokenRepo.delete(at);
+                                // Other instances may have the token cached
+                                revocationList.revoke(token, toMillis(at.getExpiresAt()));
+                        });
+                }
+                tokenCache.evict(token);
+                AfterCommit.run(() -> tokenCache.evict(token));
+        }
+
+        public boolean isSignedToken(String token) {
+                return signedTokenCodec.isSigned(token);
+        }
+
+        /**
+         * Claims of a signed token that is genuine, unexpired and not revoked, or null.
+         * Checked in memory only.
+         */
+        public SignedTokenCodec.Claims verifySigned(String token) {
+                SignedTokenCodec.Claims claims = signedTokenCodec.verify(token);
+                if (claims == null || claims.isExpired(System.currentTimeMillis()) || revocationList.isRevoked(claims)) {
+                        return null;
+                }
+                return claims;
         }
 
         /**
          * Check if user has any valid tokens.
+         * Only stored (opaque) tokens are known here.
          */
         public boolean hasValidToken(String username) {
                 User user = userRepo.findByUsername(username)
                                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
                 
-                List<AccessToken> tokens = tokenRepo.findByUserId(user.getId());
-                return tokens.stream()
-                                .anyMatch(token -> token.getExpiresAt().isAfter(LocalDateTime.now()));
+                return tokenRepo.existsByUserIdAndExpiresAtAfter(user.getId(), LocalDateTime.now());
         }
 
         /**
          * Get all valid tokens for a user.
+         * Only stored (opaque) tokens are known here.
          */
         public List<String> getValidTokens(String username) {
                 User user = userRepo.findByUsername(username)
                                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
                 
-                return tokenRepo.findByUserId(user.getId())
-                                .stream()
-                                .filter(token -> token.getExpiresAt().isAfter(LocalDateTime.now()))
-                                .map(AccessToken::getToken)
-                                .toList();
+                return tokenRepo.findLiveTokens(user.getId(), LocalDateTime.now());
         }
 
         /**
@@ -87,7 +150,41 @@ public class TokenService {
         public void forceLogoutAllDevices(String username) {
                 User user = userRepo.findByUsername(username)
                                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
-                
-                tokenRepo.deleteByUserId(user.getId());
+
+                revokeUserTokens(user.getId());
+        }
+
+        /**
+         * Delete every token of a user, revoke their signed tokens and drop them
+         * from the token cache. The cache is cleared again once the transaction
+         * commits, since a request may cache a token from the old rows meanwhile.
+         */
+        @Transactional
+        public void revokeUserTokens(Integer userId) {
+                tokenRepo.deleteByUserId(userId);
+                revocationList.revokeUser(userId);
+                tokenCache.evictUser(userId);
+                AfterCommit.run(() -> tokenCache.evictUser(userId));
+        }
+
+        private void enforceTokenCap(Integer userId) {
+                if (maxTokensPerUser <= 0) {
+                        return;
+                }
+                // Newest first, all tokens share the same lifetime
+                List<String> live = tokenRepo.findLiveTokens(userId, LocalDateTime.now());
+                if (live.size() > maxTokensPerUser) {
+                        List<String> oldest = live.subList(maxTokensPerUser, live.size());
+                        tokenRepo.deleteAllByIdInBatch(oldest);
+                        // Same lifetime for all tokens, so none of them outlives a token issued now
+                        long expiresAtMillis = toMillis(LocalDateTime.now().plus(TOKEN_LIFETIME));
+                        oldest.forEach(token -> revocationList.revoke(token, expiresAtMillis));
+                        oldest.forEach(tokenCache::evict);
+                        AfterCommit.run(() -> oldest.forEach(tokenCache::evict));
+                }
+        }
+
+        private static long toMillis(LocalDateTime time) {
+                return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
         }
 }
@@ -0,0 +1,183 @@
+package com.coachera.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coachera.backend.dto.AutocompleteSuggestionDTO;
+import com.coachera.backend.entity.Category;
+import com.coachera.backend.entity.Course;
+import com.coachera.backend.entity.LearningPath;
+import com.coachera.backend.entity.Skill;
+import com.coachera.backend.repository.CategoryRepository;
+import com.coachera.backend.repository.CourseRepository;
+import com.coachera.backend.repository.LearningPathRepository;
+import com.coachera.backend.repository.SkillRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Type-ahead suggestions for published courses, categories, skills and
+ * learning paths, served from in-memory prefix tries.
+ *
+ * Services update the tries once their changes commit. Popularity
+ * (enrollments, courses per category or path, students per skill) is
+ * refreshed by a periodic rebuild. Updates made while a rebuild loads are
+ * recorded and replayed onto the new tries before they are swapped in, so a
+ * rebuild never loses them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutocompleteService {
+
+    public static final String COURSES = "courses";
+    public static final String CATEGORIES = "categories";
+    public static final String SKILLS = "skills";
+    public static final String LEARNING_PATHS = "learning-paths";
+
+    public static final Set<String> TYPES = Set.of(COURSES, CATEGORIES, SKILLS, LEARNING_PATHS);
+
+    private final CourseRepository courseRepository;
+    private final CategoryRepository categoryRepository;
+    private final SkillRepository skillRepository;
+    private final LearningPathRepository learningPathRepository;
+    private final EnrollmentCounterService enrollmentCounterService;
+
+    private volatile Map<String, PrefixTrie> tries = emptyTries();
+
+    // Guards the swap; updates made while a rebuild loads are also recorded here
+    private final Object updateLock = new Object();
+    private List<Consumer<Map<String, PrefixTrie>>> updatesDuringRebuild;
+
+    /**
+     * Suggestions for each requested type, most popular first
+     */
+    public List<AutocompleteSuggestionDTO> suggest(String query, Collection<String> types, int limit) {
+        int perType = Math.max(1, Math.min(limit, PrefixTrie.TOP_K));
+        Map<String, PrefixTrie> current = tries;
+
+        List<AutocompleteSuggestionDTO> suggestions = new ArrayList<>();
+        for (Map.Entry<String, PrefixTrie> trie : current.entrySet()) {
+            if (!types.contains(trie.getKey())) {
+                continue;
+            }
+            for (PrefixTrie.Entry entry : trie.getValue().complete(query, perType)) {
+                suggestions.add(new AutocompleteSuggestionDTO(trie.getKey(), entry.id(), entry.label()));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Load every trie from the database and swap them in at once
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.autocomplete.rebuild-ms:600000}", initialDelayString = "${app.autocomplete.rebuild-ms:600000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        // Record updates from before the first query, so none can fall between a query and the swap
+        synchronized (updateLock) {
+            updatesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            Map<String, PrefixTrie> rebuilt = emptyTries();
+            load(rebuilt.get(COURSES), courseRepository.findPublishedSuggestionRows());
+            load(rebuilt.get(CATEGORIES), categoryRepository.findSuggestionRows());
+            load(rebuilt.get(SKILLS), skillRepository.findSuggestionRows());
+            load(rebuilt.get(LEARNING_PATHS), learningPathRepository.findSuggestionRows());
+            synchronized (updateLock) {
+                // Updates are idempotent, replaying one the queries already saw is harmless
+                updatesDuringRebuild.forEach(update -> update.accept(rebuilt));
+                tries = rebuilt;
+            }
+            log.debug("Autocomplete rebuilt with {} courses", rebuilt.get(COURSES).size());
+        } finally {
+            synchronized (updateLock) {
+                updatesDuringRebuild = null;
+            }
+        }
+    }
+
+    public void upsertCourse(Course course) {
+        if (!course.getIsPublished()) {
+            removeCourse(course.getId());
+            return;
+        }
+        long popularity = enrollmentCounterService.getEnrollmentCount(course);
+        apply(current -> current.get(COURSES).put(course.getId(), course.getTitle(), popularity));
+    }
+
+    public void removeCourse(Integer courseId) {
+        apply(current -> current.get(COURSES).remove(courseId));
+    }
+
+    public void upsertCategory(Category category) {
+        rename(CATEGORIES, category.getId(), category.getName());
+    }
+
+    public void removeCategory(Integer categoryId) {
+        apply(current -> current.get(CATEGORIES).remove(categoryId));
+    }
+
+    public void upsertSkill(Skill skill) {
+        rename(SKILLS, skill.getId(), skill.getName());
+    }
+
+    public void removeSkill(Integer skillId) {
+        apply(current -> current.get(SKILLS).remove(skillId));
+    }
+
+    public void upsertLearningPath(LearningPath learningPath) {
+        rename(LEARNING_PATHS, learningPath.getId(), learningPath.getTitle());
+    }
+
+    public void removeLearningPath(Integer learningPathId) {
+        apply(current -> current.get(LEARNING_PATHS).remove(learningPathId));
+    }
+
+    // Helper methods
+
+    private void apply(Consumer<Map<String, PrefixTrie>> update) {
+        synchronized (updateLock) {
+            update.accept(tries);
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+        }
+    }
+
+    private void rename(String type, Integer id, String label) {
+        // Keep the last known popularity until the next rebuild
+        apply(current -> {
+            PrefixTrie trie = current.get(type);
+            trie.put(id, label, trie.popularity(id));
+        });
+    }
+
+    private static void load(PrefixTrie trie, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            trie.put((Integer) row[0], (String) row[1], ((Number) row[2]).longValue());
+        }
+    }
+
+    private static Map<String, PrefixTrie> emptyTries() {
+        Map<String, PrefixTrie> empty = new LinkedHashMap<>();
+        empty.put(COURSES, new PrefixTrie());
+        empty.put(CATEGORIES, new PrefixTrie());
+        empty.put(SKILLS, new PrefixTrie());
+        empty.put(LEARNING_PATHS, new PrefixTrie());
+        return empty;
+    }
+}
@@ -22,6 +22,9 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ModelMapper modelMapper;
+    private final CourseFeatureIndex courseFeatureIndex;
+    private final SimilarCourseIndex similarCourseIndex;
+    private final AutocompleteService autocompleteService;
 
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
 
@@ -31,6 +34,7 @@ public class CategoryService {
 
         Category category = modelMapper.map(categoryDTO, Category.class);
         Category savedCategory = categoryRepository.save(category);
+        AfterCommit.run(() -> autocompleteService.upsertCategory(savedCategory));
         return new CategoryDTO(savedCategory);
     }
 
@@ -62,6 +66,7 @@ public class CategoryService {
 
         modelMapper.map(categoryDTO, existingCategory);
         Category updatedCategory = categoryRepository.save(existingCategory);
+        AfterCommit.run(() -> autocompleteService.upsertCategory(updatedCategory));
         return new CategoryDTO(updatedCategory);
     }
 
@@ -71,5 +76,10 @@ public class CategoryService {
             throw new ResourceNotFoundException("Category not found with id: " + id);
         }
         categoryRepository.deleteById(id);
+        AfterCommit.run(() -> {
+            courseFeatureIndex.onCategoryDeleted(id);
+            similarCourseIndex.onCategoryDeleted(id);
+            autocompleteService.removeCategory(id);
+        });
     }
 }
\ No newline at end of file
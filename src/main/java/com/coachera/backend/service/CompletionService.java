@@ -1,5 +1,7 @@
 package com.coachera.backend.service;
 
+import com.coachera.backend.dto.CompletionBatchResultDTO;
+import com.coachera.backend.dto.CompletionEventDTO;
 import com.coachera.backend.dto.CourseCompletionDTO;
 import com.coachera.backend.dto.MaterialCompletionDTO;
 import com.coachera.backend.entity.*;
@@ -7,14 +9,30 @@ import com.coachera.backend.entity.enums.CompletionState;
 import com.coachera.backend.entity.enums.CompletionTriggerType;
 import com.coachera.backend.exception.ResourceNotFoundException;
 import com.coachera.backend.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,20 +42,40 @@ public class CompletionService {
     private final MaterialCompletionRepository materialCompletionRepository;
     private final CourseCompletionRepository courseCompletionRepository;
     private final MaterialRepository materialRepository;
-    private final QuizVerificationService quizService;
     private final EnrollmentRepository enrollmentRepository;
+    private final TrendingService trendingService;
+    private final CourseMaterialCountCache materialCountCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    // Same upsert as MaterialCompletionRepository.upsertCompleted; the update count is 0 if already completed
+    private static final String UPSERT_COMPLETION_SQL = "INSERT INTO material_completion "
+            + "(enrollment_id, material_id, completed, completion_date, completion_state, trigger_type, created_at, updated_at) "
+            + "VALUES (?, ?, true, ?, ?, ?, ?, ?) ON CONFLICT (enrollment_id, material_id) DO UPDATE SET "
+            + "completed = true, completion_date = EXCLUDED.completion_date, completion_state = EXCLUDED.completion_state, "
+            + "trigger_type = EXCLUDED.trigger_type, updated_at = EXCLUDED.updated_at "
+            + "WHERE NOT material_completion.completed";
+
+    private record CompletionKey(Integer enrollmentId, Integer materialId) {
+    }
 
     public CompletionService(
             MaterialCompletionRepository materialCompletionRepository,
             CourseCompletionRepository courseCompletionRepository,
             MaterialRepository materialRepository,
-            QuizVerificationService quizService,
-            EnrollmentRepository enrollmentRepository) {
+            EnrollmentRepository enrollmentRepository,
+            TrendingService trendingService,
+            CourseMaterialCountCache materialCountCache,
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager) {
         this.materialCompletionRepository = materialCompletionRepository;
         this.courseCompletionRepository = courseCompletionRepository;
         this.materialRepository = materialRepository;
-        this.quizService = quizService;
         this.enrollmentRepository = enrollmentRepository;
+        this.trendingService = trendingService;
+        this.materialCountCache = materialCountCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -58,63 +96,146 @@ public class CompletionService {
         switch (material.getType()) {
             case VIDEO:
             case ARTICLE:
-                markMaterialComplete(enrollmentId, materialId);
+                completed = true;
+                state = CompletionState.COMPLETE;
+                triggerType = CompletionTriggerType.VIEWING;
                 break;
             case QUIZ:
-                completed = quizService.isQuizPassed(enrollment, material);
+                completed = isQuizPassed(enrollment, material);
                 state = completed ? CompletionState.COMPLETE_PASS : CompletionState.COMPLETE_FAIL;
                 triggerType = CompletionTriggerType.GRADE;
                 break;
         }
 
         if (completed) {
-            MaterialCompletion completion = materialCompletionRepository
-                    .findByEnrollmentAndMaterial(enrollment, material)
-                    .orElseGet(() -> {
-                        MaterialCompletion newCompletion = new MaterialCompletion();
-                        newCompletion.setEnrollment(enrollment);
-                        newCompletion.setMaterial(material);
-                        return newCompletion;
-                    });
-
-            completion.setCompleted(true);
-            completion.setCompletionState(state);
-            completion.setCompletionDate(LocalDateTime.now());
-            completion.setTriggerType(triggerType);
-            materialCompletionRepository.save(completion);
+            recordCompletion(enrollment, materialId, state, triggerType);
+        }
+    }
 
-            updateCourseProgress(enrollment);
+    /**
+     * Records a graded quiz attempt. A pass completes the material like any
+     * other trigger; a fail is recorded as an attempt but never undoes an
+     * earlier completion.
+     */
+    @Transactional
+    public void recordQuizResult(Enrollment enrollment, Integer materialId, boolean passed) {
+        if (passed) {
+            recordCompletion(enrollment, materialId, CompletionState.COMPLETE_PASS, CompletionTriggerType.GRADE);
+        } else {
+            materialCompletionRepository.upsertAttempt(enrollment.getId(), materialId,
+                    CompletionState.COMPLETE_FAIL.ordinal(), CompletionTriggerType.GRADE.name(), LocalDateTime.now());
+        }
+    }
+
+    // Foreign key violation (SQLSTATE 23503) on material_id; anything else is a real integrity problem
+    private static boolean isMissingMaterial(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sql && "23503".equals(sql.getSQLState())
+                && String.valueOf(sql.getMessage()).contains("material_id");
+    }
+
+    private boolean isQuizPassed(Enrollment enrollment, Material material) {
+        return materialCompletionRepository.findByEnrollmentAndMaterial(enrollment, material)
+                .map(completion -> completion.getCompletionState() == CompletionState.COMPLETE_PASS)
+                .orElse(false);
+    }
+
+    /**
+     * Records a completed material with a single upsert and updates course
+     * progress if it was not completed before. Every completion trigger
+     * (manual, grade, viewing) writes through here.
+     *
+     * @return the id of the completion if it was newly completed, otherwise null
+     */
+    @Transactional
+    public Long recordCompletion(Enrollment enrollment, Integer materialId, CompletionState state,
+            CompletionTriggerType triggerType) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> completed;
+        try {
+            completed = materialCompletionRepository.upsertCompleted(enrollment.getId(), materialId, state.ordinal(),
+                    triggerType.name(), now);
+        } catch (DataIntegrityViolationException e) {
+            if (isMissingMaterial(e)) {
+                throw new ResourceNotFoundException("Material not found with id: " + materialId);
+            }
+            throw e;
         }
+        if (completed.isEmpty()) {
+            return null;
+        }
+        applyCompletionDelta(enrollment, 1);
+        return completed.get(0);
     }
 
     /**
-     * Updates the overall course progress for an enrollment
+     * Recounts the completed materials of an enrollment and updates its course progress
      */
     @Transactional
     public void updateCourseProgress(Enrollment enrollment) {
+        CourseCompletion completion = lockOrCreateCourseCompletion(enrollment);
+        completion.setCompletedMaterials(null);
+        applyCompletionDelta(enrollment, completion, 0);
+    }
+
+    /**
+     * Updates course progress after {@code delta} more materials were completed.
+     * Only reads the enrollment's course completion, under a row lock; the
+     * material count is cached.
+     */
+    private void applyCompletionDelta(Enrollment enrollment, int delta) {
+        applyCompletionDelta(enrollment, lockOrCreateCourseCompletion(enrollment), delta);
+    }
+
+    private void applyCompletionDelta(Enrollment enrollment, CourseCompletion completion, int delta) {
         Course course = enrollment.getCourse();
-        long totalMaterials = materialRepository.countByCourse(course);
+        long totalMaterials = materialCountCache.get(course.getId());
         if (totalMaterials == 0)
             return;
 
-        long completedMaterials = materialCompletionRepository.countByEnrollmentAndCompleted(enrollment, true);
-        BigDecimal progress = BigDecimal.valueOf((double) completedMaterials / totalMaterials * 100)
+        long completedMaterials;
+        if (completion.getCompletedMaterials() == null) {
+            // Counted once; the completions being applied are already flushed and included
+            completedMaterials = materialCompletionRepository.countByEnrollmentAndCompleted(enrollment, true);
+        } else {
+            completedMaterials = completion.getCompletedMaterials() + delta;
+        }
+        completion.setCompletedMaterials((int) completedMaterials);
+
+        BigDecimal progress = BigDecimal.valueOf((double) Math.min(completedMaterials, totalMaterials) / totalMaterials * 100)
                 .setScale(2, RoundingMode.HALF_UP);
         boolean isCompleted = progress.compareTo(BigDecimal.valueOf(100)) >= 0;
 
-        CourseCompletion completion = courseCompletionRepository.findByEnrollment(enrollment)
-                .orElseGet(() -> {
-                    CourseCompletion newCompletion = new CourseCompletion();
-                    newCompletion.setEnrollment(enrollment);
-                    return newCompletion;
-                });
-
+        boolean wasCompleted = completion.isCompleted();
         completion.setProgress(progress);
         completion.setCompleted(isCompleted);
         if (isCompleted) {
             completion.setCompletionDate(LocalDateTime.now());
         }
         courseCompletionRepository.save(completion);
+
+        if (isCompleted && !wasCompleted) {
+            Integer courseId = course.getId();
+            AfterCommit.run(() -> trendingService.recordCompletion(courseId));
+        }
+    }
+
+    /**
+     * The enrollment's course completion, locked and re-read so concurrent
+     * completions of the same enrollment apply their deltas one after the other.
+     * Enrollments from before completions were created with them have none yet;
+     * it is inserted first, and concurrent first completions insert one row.
+     */
+    private CourseCompletion lockOrCreateCourseCompletion(Enrollment enrollment) {
+        CourseCompletion completion = courseCompletionRepository.findByEnrollment(enrollment).orElse(null);
+        if (completion == null) {
+            courseCompletionRepository.insertIfAbsent(enrollment.getId(), LocalDateTime.now());
+            completion = courseCompletionRepository.findByEnrollment(enrollment)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Course completion of enrollment " + enrollment.getId() + " was not created"));
+        }
+        // The enrollment may have loaded it already; refresh replaces that copy with the locked row
+        entityManager.refresh(completion, LockModeType.PESSIMISTIC_WRITE);
+        return completion;
     }
 
     /**
@@ -125,20 +246,102 @@ public class CompletionService {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found with id: " + enrollmentId));
 
-        Material material = materialRepository.findById(materialId)
-                .orElseThrow(() -> new ResourceNotFoundException("Material not found with id: " + materialId));
+        Long completionId = recordCompletion(enrollment, materialId, CompletionState.COMPLETE,
+                CompletionTriggerType.MANUAL);
+        if (completionId == null) {
+            // Completed before; repeated requests change nothing
+            return materialCompletionRepository.findByEnrollmentIdAndMaterialId(enrollmentId, materialId)
+                    .map(MaterialCompletionDTO::new)
+                    .orElseThrow(() -> new ResourceNotFoundException("Material not found with id: " + materialId));
+        }
+        return new MaterialCompletionDTO(completionId, enrollmentId, materialId, true, CompletionState.COMPLETE,
+                LocalDateTime.now(), CompletionTriggerType.MANUAL);
+    }
 
-        MaterialCompletion completion = new MaterialCompletion();
-        completion.setEnrollment(enrollment);
-        completion.setMaterial(material);
-        completion.setCompleted(true);
-        completion.setCompletionState(CompletionState.COMPLETE);
-        completion.setCompletionDate(LocalDateTime.now());
-        completion.setTriggerType(CompletionTriggerType.MANUAL);
+    /**
+     * Records buffered progress events of a student in bulk. Only the latest
+     * event per material counts. Completed materials are filtered out with one
+     * query, the rest are written with a single batched upsert, and course progress is
+     * updated once per enrollment. Like the single-item endpoints, only
+     * completing states are recorded, and a completion is never undone.
+     */
+    @Transactional
+    public CompletionBatchResultDTO ingestCompletionEvents(List<CompletionEventDTO> events, Integer studentId) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<CompletionKey, CompletionEventDTO> latest = new LinkedHashMap<>();
+        for (CompletionEventDTO event : events) {
+            latest.merge(new CompletionKey(event.getEnrollmentId(), event.getMaterialId()), event,
+                    (kept, next) -> timestampOf(next, now).isBefore(timestampOf(kept, now)) ? kept : next);
+        }
+        int duplicates = events.size() - latest.size();
+
+        Set<Integer> enrollmentIds = latest.keySet().stream().map(CompletionKey::enrollmentId).collect(Collectors.toSet());
+        Set<Integer> materialIds = latest.keySet().stream().map(CompletionKey::materialId).collect(Collectors.toSet());
+        Map<Integer, Enrollment> enrollments = enrollmentRepository.findAllById(enrollmentIds).stream()
+                .collect(Collectors.toMap(Enrollment::getId, Function.identity()));
+        Map<Integer, Integer> materialCourses = new HashMap<>();
+        for (Object[] row : materialRepository.findCourseIdRowsByIds(materialIds)) {
+            materialCourses.put((Integer) row[0], (Integer) row[1]);
+        }
+        Map<CompletionKey, Object[]> existing = new HashMap<>();
+        for (Object[] row : materialCompletionRepository.findStateRows(enrollmentIds, materialIds)) {
+            existing.put(new CompletionKey((Integer) row[1], (Integer) row[2]), row);
+        }
 
-        materialCompletionRepository.save(completion);
-        updateCourseProgress(enrollment);
-        return new MaterialCompletionDTO(completion);
+        List<CompletionKey> keys = new ArrayList<>();
+        List<Object[]> upserts = new ArrayList<>();
+        int rejected = 0;
+        for (Map.Entry<CompletionKey, CompletionEventDTO> entry : latest.entrySet()) {
+            CompletionKey key = entry.getKey();
+            CompletionEventDTO event = entry.getValue();
+            Enrollment enrollment = enrollments.get(key.enrollmentId());
+            Integer courseId = materialCourses.get(key.materialId());
+            if (enrollment == null || courseId == null || !courseId.equals(enrollment.getCourse().getId())
+                    || !enrollment.getStudent().getId().equals(studentId)) {
+                rejected++;
+                continue;
+            }
+            Object[] row = existing.get(key);
+            if (!isCompleting(event.getState()) || (row != null && (Boolean) row[3])) {
+                duplicates++;
+                continue;
+            }
+
+            LocalDateTime completedAt = timestampOf(event, now);
+            String triggerType = (event.getState() == CompletionState.COMPLETE_PASS
+                    ? CompletionTriggerType.GRADE : CompletionTriggerType.VIEWING).name();
+            keys.add(key);
+            upserts.add(new Object[] { key.enrollmentId(), key.materialId(), completedAt,
+                    event.getState().ordinal(), triggerType, now, now });
+        }
+
+        // A concurrent sync may have completed some of them in the meantime: only count rows that changed.
+        // Sorted so course completions are always locked in the same order
+        Map<Integer, Integer> deltas = new TreeMap<>();
+        int applied = 0;
+        if (!upserts.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(UPSERT_COMPLETION_SQL, upserts);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    deltas.merge(keys.get(i).enrollmentId(), 1, Integer::sum);
+                    applied++;
+                } else {
+                    duplicates++;
+                }
+            }
+        }
+        deltas.forEach((enrollmentId, delta) -> applyCompletionDelta(enrollments.get(enrollmentId), delta));
+
+        return new CompletionBatchResultDTO(events.size(), applied, duplicates, rejected, deltas.size());
+    }
+
+    private static boolean isCompleting(CompletionState state) {
+        return state == CompletionState.COMPLETE || state == CompletionState.COMPLETE_PASS;
+    }
+
+    // Device clocks can be ahead; a completion is never dated in the future
+    private static LocalDateTime timestampOf(CompletionEventDTO event, LocalDateTime now) {
+        return event.getTimestamp() == null || event.getTimestamp().isAfter(now) ? now : event.getTimestamp();
     }
 
     /**
@@ -172,21 +375,16 @@ public class CompletionService {
      * Get completions status for a course
      */
     @Transactional
-    public List<CourseCompletionDTO> getCompletionsByCourse(Integer courseId) {
-        List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
-
-        List<CourseCompletionDTO> completionDTOs = new ArrayList<>();
-
-        for (Enrollment enrollment : enrollments) {
-
-            CourseCompletion courseCompletion = courseCompletionRepository.findByEnrollment(enrollment)
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Course completion not found for enrollment: " + enrollment.getId()));
-
-            completionDTOs.add(new CourseCompletionDTO(courseCompletion));
-        }
-
-        return completionDTOs;
+    public Page<CourseCompletionDTO> getCompletionsByCourse(Integer courseId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+        // One row query per page; enrollments without a completion yet are simply not listed
+        return courseCompletionRepository.findRowsByCourseId(courseId, pageable).map(row -> {
+            CourseCompletionDTO dto = new CourseCompletionDTO((Integer) row[0], (Integer) row[1],
+                    (BigDecimal) row[2], (Boolean) row[3], (LocalDateTime) row[4]);
+            dto.setCreatedAt((LocalDateTime) row[5]);
+            dto.setUpdatedAt((LocalDateTime) row[6]);
+            return dto;
+        });
     }
 
     /**
@@ -218,14 +416,10 @@ public class CompletionService {
         materialCompletionRepository.deleteByEnrollment(enrollment);
 
         // Reset course completion
-        CourseCompletion courseCompletion = courseCompletionRepository.findByEnrollment(enrollment)
-                .orElseGet(() -> {
-                    CourseCompletion newCompletion = new CourseCompletion();
-                    newCompletion.setEnrollment(enrollment);
-                    return newCompletion;
-                });
+        CourseCompletion courseCompletion = lockOrCreateCourseCompletion(enrollment);
 
         courseCompletion.setProgress(BigDecimal.ZERO);
+        courseCompletion.setCompletedMaterials(0);
         courseCompletion.setCompleted(false);
         courseCompletion.setCompletionDate(null);
         courseCompletionRepository.save(courseCompletion);
@@ -0,0 +1,131 @@
+package com.coachera.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coachera.backend.dto.CourseAnalyticsDTO;
+import com.coachera.backend.dto.CourseAnalyticsDTO.ModuleFunnel;
+import com.coachera.backend.dto.CourseAnalyticsDTO.ProgressBucket;
+import com.coachera.backend.dto.CourseAnalyticsDTO.SectionFunnel;
+import com.coachera.backend.exception.ResourceNotFoundException;
+import com.coachera.backend.repository.CourseCompletionRepository;
+import com.coachera.backend.repository.CourseRepository;
+import com.coachera.backend.repository.EnrollmentRepository;
+import com.coachera.backend.repository.MaterialCompletionRepository;
+import com.coachera.backend.repository.SectionRepository;
+
+/**
+ * Cohort progress analytics for instructors: progress histogram, completion
+ * funnel per module and section, and median time to complete.
+ *
+ * Everything is aggregated in the database with a fixed number of GROUP BY
+ * queries, so the cost does not grow with a per-enrollment loop. Results are
+ * cached per course for a short TTL since instructors tend to reload the page.
+ */
+@Service
+public class CourseAnalyticsService {
+
+    private static final int BUCKETS = 10;
+
+    private record Entry(CourseAnalyticsDTO analytics, long expiresAtMillis) {
+    }
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseCompletionRepository courseCompletionRepository;
+    private final MaterialCompletionRepository materialCompletionRepository;
+    private final SectionRepository sectionRepository;
+    private final Map<Integer, Entry> cache = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public CourseAnalyticsService(CourseRepository courseRepository,
+            EnrollmentRepository enrollmentRepository,
+            CourseCompletionRepository courseCompletionRepository,
+            MaterialCompletionRepository materialCompletionRepository,
+            SectionRepository sectionRepository,
+            @Value("${app.analytics.cache-ttl-seconds:60}") long ttlSeconds) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseCompletionRepository = courseCompletionRepository;
+        this.materialCompletionRepository = materialCompletionRepository;
+        this.sectionRepository = sectionRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    @Transactional(readOnly = true)
+    public CourseAnalyticsDTO getCourseAnalytics(Integer courseId) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(courseId);
+        if (entry == null || entry.expiresAtMillis() <= now) {
+            entry = new Entry(compute(courseId), now + ttlMillis);
+            cache.put(courseId, entry);
+            // Drop expired courses so the cache only holds recently viewed ones
+            cache.values().removeIf(e -> e.expiresAtMillis() <= now);
+        }
+        return entry.analytics();
+    }
+
+    private CourseAnalyticsDTO compute(Integer courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
+
+        long[] counts = new long[BUCKETS];
+        for (Object[] row : courseCompletionRepository.countProgressBucketRows(courseId)) {
+            counts[((Number) row[0]).intValue()] = ((Number) row[1]).longValue();
+        }
+        List<ProgressBucket> histogram = new ArrayList<>(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.add(new ProgressBucket(i * 10, i * 10 + 10, counts[i]));
+        }
+
+        Double medianSeconds = courseCompletionRepository.findMedianSecondsToComplete(courseId);
+        return new CourseAnalyticsDTO(courseId,
+                enrollmentRepository.countByCourseId(courseId),
+                courseCompletionRepository.countCompletedByCourseId(courseId),
+                medianSeconds != null ? Math.round(medianSeconds) : null,
+                histogram,
+                funnel(courseId),
+                LocalDateTime.now());
+    }
+
+    private List<ModuleFunnel> funnel(Integer courseId) {
+        Map<Integer, long[]> sectionCounts = funnelCounts(materialCompletionRepository.findSectionFunnelRows(courseId));
+        Map<Integer, long[]> moduleCounts = funnelCounts(materialCompletionRepository.findModuleFunnelRows(courseId));
+
+        Map<Integer, ModuleFunnel> modules = new LinkedHashMap<>();
+        for (Object[] row : sectionRepository.findOutlineRowsByCourseId(courseId)) {
+            Integer moduleId = (Integer) row[0];
+            long[] moduleCount = moduleCounts.getOrDefault(moduleId, new long[2]);
+            ModuleFunnel module = modules.computeIfAbsent(moduleId, id -> new ModuleFunnel(id, (String) row[1],
+                    (Integer) row[2], 0, moduleCount[0], moduleCount[1], new ArrayList<>()));
+
+            Integer sectionId = (Integer) row[3];
+            long materials = (Long) row[6];
+            long[] sectionCount = sectionCounts.getOrDefault(sectionId, new long[2]);
+            module.setMaterials(module.getMaterials() + materials);
+            module.getSections().add(new SectionFunnel(sectionId, (String) row[4], (Integer) row[5], materials,
+                    sectionCount[0], sectionCount[1]));
+        }
+        return new ArrayList<>(modules.values());
+    }
+
+    // id -> [started, completed]
+    private static Map<Integer, long[]> funnelCounts(List<Object[]> rows) {
+        Map<Integer, long[]> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put(((Number) row[0]).intValue(),
+                    new long[] { ((Number) row[1]).longValue(), ((Number) row[2]).longValue() });
+        }
+        return counts;
+    }
+}
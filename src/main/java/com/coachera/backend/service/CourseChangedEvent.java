@@ -0,0 +1,21 @@
+package com.coachera.backend.service;
+
+import com.coachera.backend.entity.Course;
+
+/**
+ * A course was published, changed, unpublished or deleted. The in-memory
+ * course indexes apply it once the transaction commits, see
+ * {@link CourseIndexListener}.
+ *
+ * @param course the course as committed, or null once it is no longer published
+ */
+public record CourseChangedEvent(Integer courseId, Course course) {
+
+    public static CourseChangedEvent published(Course course) {
+        return new CourseChangedEvent(course.getId(), course);
+    }
+
+    public static CourseChangedEvent removed(Integer courseId) {
+        return new CourseChangedEvent(courseId, null);
+    }
+}
@@ -0,0 +1,78 @@
+package com.coachera.backend.service;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes a course completion belong to exactly one enrollment, which the
+ * insert of a missing completion relies on. Rows without an enrollment cannot
+ * be attributed to anyone and are removed; duplicates of an enrollment are
+ * removed keeping the completed (then furthest, then oldest) row. The
+ * enrollment column is then made required and unique. Does nothing once it is.
+ *
+ * Runs once all beans are created, before the web server starts. Nodes
+ * starting together take turns on an advisory lock, so only the first one
+ * changes anything.
+ */
+@Slf4j
+@Component
+public class CourseCompletionConstraintMigration implements SmartInitializingSingleton {
+
+    static final String CONSTRAINT_NAME = "uk_course_completion_enrollment";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public CourseCompletionConstraintMigration(EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> migrate());
+    }
+
+    void migrate() {
+        // Held until the transaction ends
+        entityManager.createNativeQuery("SELECT 1 FROM pg_advisory_xact_lock(hashtext(:name))")
+                .setParameter("name", CONSTRAINT_NAME)
+                .getSingleResult();
+        boolean unique = Boolean.TRUE.equals(entityManager.createNativeQuery("SELECT EXISTS (SELECT 1 FROM pg_constraint "
+                + "WHERE conname = :name AND conrelid = 'course_completion'::regclass)")
+                .setParameter("name", CONSTRAINT_NAME)
+                .getSingleResult());
+        boolean required = Boolean.TRUE.equals(entityManager.createNativeQuery("SELECT attnotnull FROM pg_attribute "
+                + "WHERE attrelid = 'course_completion'::regclass AND attname = 'enrollment_id'")
+                .getSingleResult());
+        if (unique && required) {
+            return;
+        }
+
+        int orphans = entityManager.createNativeQuery("DELETE FROM course_completion WHERE enrollment_id IS NULL")
+                .executeUpdate();
+        entityManager.createNativeQuery("ALTER TABLE course_completion ALTER COLUMN enrollment_id SET NOT NULL")
+                .executeUpdate();
+        int duplicates = 0;
+        if (!unique) {
+            duplicates = entityManager.createNativeQuery("DELETE FROM course_completion a USING course_completion b "
+                    + "WHERE a.enrollment_id = b.enrollment_id "
+                    + "AND (a.completed, COALESCE(a.progress, 0), b.id) < (b.completed, COALESCE(b.progress, 0), a.id)")
+                    .executeUpdate();
+            if (duplicates > 0) {
+                // The kept row may have missed deltas applied to the others; recount on the next progress update
+                entityManager.createNativeQuery("UPDATE course_completion SET completed_materials = NULL").executeUpdate();
+            }
+            entityManager.createNativeQuery("ALTER TABLE course_completion ADD CONSTRAINT " + CONSTRAINT_NAME
+                    + " UNIQUE (enrollment_id)").executeUpdate();
+        }
+        log.info("Made course completions unique per enrollment, removed {} without enrollment and {} duplicates",
+                orphans, duplicates);
+    }
+}
@@ -0,0 +1,417 @@
+package com.coachera.backend.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coachera.backend.entity.Course;
+import com.coachera.backend.repository.CourseCategoryRepository;
+import com.coachera.backend.repository.CourseRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory feature index over published courses.
+ *
+ * Every published course owns one slot; its rating, price, enrollment count and
+ * category bitset live in parallel primitive arrays so ranking is a single pass
+ * without touching the database or allocating per course.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseFeatureIndex {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // Recommendation weights
+    private static final double RATING_WEIGHT = 2.0;
+    private static final double PREFERRED_CATEGORY_BONUS = 3.0;
+    private static final double PRICE_WEIGHT = 0.5;
+    private static final double ENROLLMENT_WEIGHT = 0.1;
+    private static final double MAX_ENROLLMENT_SCORE = 5.0;
+
+    private final CourseRepository courseRepository;
+    private final CourseCategoryRepository courseCategoryRepository;
+    private final EnrollmentCounterService enrollmentCounterService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, Integer> slotByCourseId = new HashMap<>();
+    private final Map<Integer, Integer> bitByCategoryId = new HashMap<>();
+
+    private int size;
+    private int[] courseIds = new int[INITIAL_CAPACITY];
+    private double[] ratings = new double[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private long[] enrollmentCounts = new long[INITIAL_CAPACITY];
+    private long[][] categoryBits = new long[INITIAL_CAPACITY][];
+
+    /**
+     * Ranked course ids together with the number of candidates that were scored
+     */
+    public static class RankedCourses {
+        private final List<Integer> courseIds;
+        private final long total;
+
+        public RankedCourses(List<Integer> courseIds, long total) {
+            this.courseIds = courseIds;
+            this.total = total;
+        }
+
+        public List<Integer> getCourseIds() {
+            return courseIds;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * Build the whole index from the database with two set-based queries
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Object[]> courses = courseRepository.findPublishedCourseFeatures();
+        List<Object[]> categories = courseCategoryRepository.findPublishedCourseCategoryPairs();
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Object[] row : courses) {
+                int slot = allocateSlot((Integer) row[0]);
+                ratings[slot] = toDouble(row[1]);
+                prices[slot] = toDouble(row[2]);
+                enrollmentCounts[slot] = Math.max(0L,
+                        (Long) row[3] + enrollmentCounterService.getPendingDelta(courseIds[slot]));
+            }
+            for (Object[] row : categories) {
+                Integer slot = slotByCourseId.get((Integer) row[0]);
+                if (slot != null) {
+                    setCategoryBit(slot, (Integer) row[1]);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Course feature index built with {} published courses", courses.size());
+    }
+
+    /**
+     * Add or refresh a course after it was published
+     */
+    public void upsertCourse(Course course) {
+        if (!course.getIsPublished()) {
+            removeCourse(course.getId());
+            return;
+        }
+        long enrollmentCount = enrollmentCounterService.getEnrollmentCount(course);
+        List<Integer> categoryIds = courseCategoryRepository.findByCourseId(course.getId()).stream()
+                .map(courseCategory -> courseCategory.getCategory().getId())
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotByCourseId.get(course.getId());
+            int slot = existing != null ? existing : allocateSlot(course.getId());
+            ratings[slot] = toDouble(course.getRating());
+            prices[slot] = toDouble(course.getPrice());
+            enrollmentCounts[slot] = enrollmentCount;
+            categoryBits[slot] = null;
+            for (Integer categoryId : categoryIds) {
+                setCategoryBit(slot, categoryId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a course that was unpublished or deleted
+     */
+    public void removeCourse(Integer courseId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByCourseId.remove(courseId);
+            if (slot == null) {
+                return;
+            }
+            // Move the last slot into the hole so the arrays stay dense
+            int last = --size;
+            if (slot != last) {
+                courseIds[slot] = courseIds[last];
+                ratings[slot] = ratings[last];
+                prices[slot] = prices[last];
+                enrollmentCounts[slot] = enrollmentCounts[last];
+                categoryBits[slot] = categoryBits[last];
+                slotByCourseId.put(courseIds[slot], slot);
+            }
+            categoryBits[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onEnrollmentCreated(Integer courseId) {
+        adjustEnrollments(courseId, 1);
+    }
+
+    public void onEnrollmentDeleted(Integer courseId) {
+        adjustEnrollments(courseId, -1);
+    }
+
+    /**
+     * Clear a deleted category from every course
+     */
+    public void onCategoryDeleted(Integer categoryId) {
+        lock.writeLock().lock();
+        try {
+            Integer bit = bitByCategoryId.get(categoryId);
+            if (bit == null) {
+                return;
+            }
+            int word = bit >>> 6;
+            long mask = ~(1L << (bit & 63));
+            for (int slot = 0; slot < size; slot++) {
+                long[] bits = categoryBits[slot];
+                if (bits != null && word < bits.length) {
+                    bits[word] &= mask;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Score every published course the student is not enrolled in and keep the
+     * best {@code limit} of them. Preferred categories are the categories of the
+     * student's enrolled (published) courses.
+     */
+    public RankedCourses rankRecommendations(Collection<Integer> enrolledCourseIds, int limit) {
+        lock.readLock().lock();
+        try {
+            // Collect enrolled slots and the union of their categories
+            boolean[] excluded = new boolean[size];
+            long[] preferred = new long[0];
+            for (Integer courseId : enrolledCourseIds) {
+                Integer slot = slotByCourseId.get(courseId);
+                if (slot == null) {
+                    continue;
+                }
+                excluded[slot] = true;
+                long[] bits = categoryBits[slot];
+                if (bits != null) {
+                    if (bits.length > preferred.length) {
+                        preferred = Arrays.copyOf(preferred, bits.length);
+                    }
+                    for (int i = 0; i < bits.length; i++) {
+                        preferred[i] |= bits[i];
+                    }
+                }
+            }
+
+            TopK topK = new TopK(limit);
+            int candidates = 0;
+            for (int slot = 0; slot < size; slot++) {
+                if (excluded[slot]) {
+                    continue;
+                }
+                candidates++;
+                double score = ratings[slot] * RATING_WEIGHT
+                        + sharedCategories(categoryBits[slot], preferred) * PREFERRED_CATEGORY_BONUS
+                        + 100.0 / (prices[slot] + 1.0) * PRICE_WEIGHT
+                        + Math.min(enrollmentCounts[slot] * ENROLLMENT_WEIGHT, MAX_ENROLLMENT_SCORE);
+                topK.offer(score, courseIds[slot]);
+            }
+            return new RankedCourses(topK.drainDescending(), candidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getEnrollmentCount(Integer courseId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotByCourseId.get(courseId);
+            return slot != null ? enrollmentCounts[slot] : 0L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Helper methods, callers must hold the write lock
+
+    private void adjustEnrollments(Integer courseId, long delta) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByCourseId.get(courseId);
+            if (slot != null) {
+                enrollmentCounts[slot] = Math.max(0L, enrollmentCounts[slot] + delta);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void clear() {
+        slotByCourseId.clear();
+        bitByCategoryId.clear();
+        Arrays.fill(categoryBits, null);
+        size = 0;
+    }
+
+    private int allocateSlot(Integer courseId) {
+        if (size == courseIds.length) {
+            int capacity = courseIds.length * 2;
+            courseIds = Arrays.copyOf(courseIds, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            enrollmentCounts = Arrays.copyOf(enrollmentCounts, capacity);
+            categoryBits = Arrays.copyOf(categoryBits, capacity);
+        }
+        int slot = size++;
+        courseIds[slot] = courseId;
+        ratings[slot] = 0.0;
+        prices[slot] = 0.0;
+        enrollmentCounts[slot] = 0L;
+        categoryBits[slot] = null;
+        slotByCourseId.put(courseId, slot);
+        return slot;
+    }
+
+    private void setCategoryBit(int slot, Integer categoryId) {
+        int bit = bitByCategoryId.computeIfAbsent(categoryId, id -> bitByCategoryId.size());
+        int word = bit >>> 6;
+        long[] bits = categoryBits[slot];
+        if (bits == null || word >= bits.length) {
+            bits = bits == null ? new long[word + 1] : Arrays.copyOf(bits, word + 1);
+            categoryBits[slot] = bits;
+        }
+        bits[word] |= 1L << (bit & 63);
+    }
+
+    private static int sharedCategories(long[] bits, long[] preferred) {
+        if (bits == null) {
+            return 0;
+        }
+        int shared = 0;
+        int words = Math.min(bits.length, preferred.length);
+        for (int i = 0; i < words; i++) {
+            shared += Long.bitCount(bits[i] & preferred[i]);
+        }
+        return shared;
+    }
+
+    private static double toDouble(Object value) {
+        return value != null ? ((BigDecimal) value).doubleValue() : 0.0;
+    }
+
+    /**
+     * Fixed-size min-heap that keeps the highest scores seen so far.
+     * Ties are broken by the lower course id.
+     */
+    static class TopK {
+        private final double[] scores;
+        private final int[] ids;
+        private int count;
+
+        TopK(int capacity) {
+            this.scores = new double[Math.max(capacity, 0)];
+            this.ids = new int[Math.max(capacity, 0)];
+        }
+
+        void offer(double score, int id) {
+            if (scores.length == 0) {
+                return;
+            }
+            if (count < scores.length) {
+                scores[count] = score;
+                ids[count] = id;
+                siftUp(count++);
+            } else if (better(score, id, scores[0], ids[0])) {
+                scores[0] = score;
+                ids[0] = id;
+                siftDown(0);
+            }
+        }
+
+        List<Integer> drainDescending() {
+            Integer[] result = new Integer[count];
+            for (int i = count - 1; i >= 0; i--) {
+                result[i] = ids[0];
+                count--;
+                scores[0] = scores[count];
+                ids[0] = ids[count];
+                siftDown(0);
+            }
+            return new ArrayList<>(Arrays.asList(result));
+        }
+
+        private static boolean better(double score, int id, double otherScore, int otherId) {
+            return score > otherScore || (score == otherScore && id < otherId);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!better(scores[parent], ids[parent], scores[i], ids[i])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= count) {
+                    return;
+                }
+                int right = left + 1;
+                int worst = right < count && better(scores[left], ids[left], scores[right], ids[right]) ? right : left;
+                if (!better(scores[i], ids[i], scores[worst], ids[worst])) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.coachera.backend.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps the in-memory course indexes in step with committed course changes.
+ * Runs after the commit, so an index never serves a change that was rolled
+ * back, and re-reads categories that other requests can already see.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseIndexListener {
+
+    private final CourseFeatureIndex courseFeatureIndex;
+    private final SimilarCourseIndex similarCourseIndex;
+    private final AutocompleteService autocompleteService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.course() != null) {
+            courseFeatureIndex.upsertCourse(event.course());
+            similarCourseIndex.upsertCourse(event.course());
+            autocompleteService.upsertCourse(event.course());
+        } else {
+            courseFeatureIndex.removeCourse(event.courseId());
+            similarCourseIndex.removeCourse(event.courseId());
+            autocompleteService.removeCourse(event.courseId());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.coachera.backend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.coachera.backend.repository.MaterialRepository;
+
+/**
+ * Number of materials per course, used as the denominator of course
+ * progress. Counting needs a join through sections and modules, so the
+ * result is cached until materials are added or removed. Entries also
+ * expire after a TTL, which bounds staleness when another instance made
+ * the change.
+ */
+@Component
+public class CourseMaterialCountCache {
+
+    private record Entry(long count, long expiresAtMillis) {
+    }
+
+    private final MaterialRepository materialRepository;
+    private final Map<Integer, Entry> counts = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public CourseMaterialCountCache(MaterialRepository materialRepository,
+            @Value("${app.completions.material-count-ttl-seconds:600}") long ttlSeconds) {
+        this.materialRepository = materialRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public long get(Integer courseId) {
+        long now = System.currentTimeMillis();
+        Entry entry = counts.get(courseId);
+        if (entry == null || entry.expiresAtMillis() <= now) {
+            entry = new Entry(materialRepository.countByCourseId(courseId), now + ttlMillis);
+            counts.put(courseId, entry);
+        }
+        return entry.count();
+    }
+
+    /**
+     * Forget the count after materials of the course were added or removed
+     */
+    public void invalidate(Integer courseId) {
+        counts.remove(courseId);
+    }
+}
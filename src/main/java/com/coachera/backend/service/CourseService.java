@@ -23,11 +23,13 @@ import com.coachera.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -50,6 +52,9 @@ public class CourseService {
     private final ModelMapper modelMapper;
 
     private final ImageService imageService;
+    // Course indexes are updated from these events once the transaction commits
+    private final ApplicationEventPublisher eventPublisher;
+    private final AutocompleteService autocompleteService;
 
     public CourseDTO createCourse(CourseCreationDTO courseDTO, User user) {
         Organization org = organizationRepository.findByUserId(user.getId());
@@ -72,14 +77,20 @@ public class CourseService {
         }
 
         if (courseDTO.getCategories() != null) {
+            List<Category> createdCategories = new ArrayList<>();
             Set<Category> categoryEntities = courseDTO.getCategories().stream()
                     .map(catName -> categoryRepository.findByName(catName) // check if it exists
                             .orElseGet(() -> {
                                 Category newCategory = new Category();
                                 newCategory.setName(catName);
-                                return categoryRepository.save(newCategory);
+                                Category savedCategory = categoryRepository.save(newCategory);
+                                createdCategories.add(savedCategory);
+                                return savedCategory;
                             }))
                     .collect(Collectors.toSet());
+            if (!createdCategories.isEmpty()) {
+                AfterCommit.run(() -> createdCategories.forEach(autocompleteService::upsertCategory));
+            }
 
             course.addCategories(categoryEntities);
         }
@@ -140,6 +151,7 @@ public class CourseService {
         modelMapper.map(courseDTO, existingCourse);
         existingCourse.setIsPublished(false);
         Course updatedCourse = courseRepository.save(existingCourse);
+        eventPublisher.publishEvent(CourseChangedEvent.removed(id));
         return new CourseDTO(updatedCourse);
     }
 
@@ -169,6 +181,7 @@ public class CourseService {
 
             courseRepository.deleteById(id);
         }
+        eventPublisher.publishEvent(CourseChangedEvent.removed(id));
 
     }
 
@@ -187,6 +200,7 @@ public class CourseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
         course.setIsPublished(true); // Assumes your Course entity has a setIsPublished method
         courseRepository.save(course);
+        eventPublisher.publishEvent(CourseChangedEvent.published(course));
     }
 
     public void unpublishCourse(Integer id) {
@@ -194,6 +208,7 @@ public class CourseService {
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
         course.setIsPublished(false); // Assumes your Course entity has a setIsPublished method
         courseRepository.save(course);
+        eventPublisher.publishEvent(CourseChangedEvent.removed(id));
     }
 
     // Helper method
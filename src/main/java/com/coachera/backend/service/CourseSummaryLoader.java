@@ -0,0 +1,117 @@
+package com.coachera.backend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coachera.backend.dto.CategoryDTO;
+import com.coachera.backend.dto.CourseDTO;
+import com.coachera.backend.entity.Image;
+import com.coachera.backend.repository.CourseRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds {@link CourseDTO}s for a page of course ids from scalar projections.
+ *
+ * A page costs five queries whatever its size: one for the course columns and
+ * one per collection (categories, learning paths, instructors, modules),
+ * instead of lazily loading every association of every course.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseSummaryLoader {
+
+    private final CourseRepository courseRepository;
+
+    /**
+     * Load a page of course ids as DTOs, keeping the page order
+     */
+    @Transactional(readOnly = true)
+    public Page<CourseDTO> loadPage(Page<Integer> courseIds) {
+        return new PageImpl<>(load(courseIds.getContent()), courseIds.getPageable(), courseIds.getTotalElements());
+    }
+
+    /**
+     * Load the given courses as DTOs in the order of {@code courseIds}. Ids
+     * that no longer exist are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseDTO> load(List<Integer> courseIds) {
+        if (courseIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, CourseDTO> coursesById = new HashMap<>();
+        for (Object[] row : courseRepository.findCourseSummaries(courseIds)) {
+            CourseDTO dto = toCourseDTO(row);
+            coursesById.put(dto.getId(), dto);
+        }
+
+        for (Object[] row : courseRepository.findCategoryRowsByCourseIds(courseIds)) {
+            CourseDTO dto = coursesById.get((Integer) row[0]);
+            if (dto != null) {
+                dto.getCategories().add(new CategoryDTO((Integer) row[1], (String) row[2], (String) row[3]));
+            }
+        }
+        collectIds(courseRepository.findLearningPathRowsByCourseIds(courseIds), coursesById, CourseDTO::getLearningPathIds);
+        collectIds(courseRepository.findInstructorRowsByCourseIds(courseIds), coursesById, CourseDTO::getInstructors);
+        collectIds(courseRepository.findModuleRowsByCourseIds(courseIds), coursesById, CourseDTO::getModuleIds);
+
+        List<CourseDTO> ordered = new ArrayList<>(courseIds.size());
+        for (Integer courseId : courseIds) {
+            CourseDTO dto = coursesById.get(courseId);
+            if (dto != null) {
+                ordered.add(dto);
+            }
+        }
+        return ordered;
+    }
+
+    // Helper methods
+
+    private CourseDTO toCourseDTO(Object[] row) {
+        CourseDTO dto = new CourseDTO();
+        dto.setId((Integer) row[0]);
+        dto.setTitle((String) row[1]);
+        dto.setDescription((String) row[2]);
+        dto.setDurationHours((String) row[3]);
+        dto.setPrice((BigDecimal) row[4]);
+        dto.setRating((BigDecimal) row[5]);
+        dto.setPublished((Boolean) row[6]);
+        dto.setOrgId((Integer) row[7]);
+        dto.setOrgTitle((String) row[8]);
+        if (row[9] != null) {
+            dto.setImage(Image.builder().uuidName((String) row[9]).build().getUrl());
+        }
+        dto.setCreatedAt((LocalDateTime) row[10]);
+        dto.setUpdatedAt((LocalDateTime) row[11]);
+        dto.setCategories(new HashSet<>());
+        dto.setLearningPathIds(new HashSet<>());
+        dto.setInstructors(new HashSet<>());
+        dto.setModuleIds(new HashSet<>());
+        return dto;
+    }
+
+    private void collectIds(List<Object[]> rows, Map<Integer, CourseDTO> coursesById,
+            Function<CourseDTO, Set<Integer>> target) {
+        for (Object[] row : rows) {
+            CourseDTO dto = coursesById.get((Integer) row[0]);
+            if (dto != null) {
+                target.apply(dto).add((Integer) row[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.coachera.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous SMTP sender.
+ *
+ * Messages are taken onto one of two bounded queues and sent by a fixed pool
+ * of sender threads, each holding at most one SMTP connection at a time. A
+ * sender drains up to a batch of messages and sends them over a single
+ * connection. The priority lane is always drained first, so an OTP is never
+ * stuck behind a large announcement.
+ */
+@Slf4j
+@Component
+public class EmailDispatcher {
+
+    public enum Priority {
+        HIGH, BULK
+    }
+
+    /**
+     * Counters since startup
+     */
+    public record Stats(long sent, long failed, long batches, int priorityQueued, int bulkQueued) {
+    }
+
+    private record Job(MimeMessage message, CompletableFuture<Void> result) {
+    }
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<Job> priorityQueue;
+    private final BlockingQueue<Job> bulkQueue;
+    private final int batchSize;
+    private final long enqueueTimeoutMs;
+    private final List<Thread> senders = new ArrayList<>();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private volatile boolean running = true;
+    private long lastStatsSent;
+    private long lastStatsAt = System.nanoTime();
+
+    public EmailDispatcher(JavaMailSender mailSender,
+            @Value("${app.mail.queue-capacity:20000}") int queueCapacity,
+            @Value("${app.mail.batch-size:50}") int batchSize,
+            @Value("${app.mail.connections:4}") int connections,
+            @Value("${app.mail.enqueue-timeout-ms:30000}") long enqueueTimeoutMs) {
+        this.mailSender = mailSender;
+        this.priorityQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.bulkQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        for (int i = 0; i < connections; i++) {
+            senders.add(Thread.ofPlatform().name("email-sender-" + i).daemon().start(this::run));
+        }
+    }
+
+    /**
+     * Queue a message. The future completes once the mail server accepted it,
+     * or fails if it was rejected or the queue stayed full.
+     */
+    public CompletableFuture<Void> send(MimeMessage message, Priority priority) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        BlockingQueue<Job> queue = priority == Priority.HIGH ? priorityQueue : bulkQueue;
+        try {
+            if (!running || !queue.offer(new Job(message, result), enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                result.completeExceptionally(new RejectedExecutionException("Email queue is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    public Stats getStats() {
+        return new Stats(sent.sum(), failed.sum(), batches.sum(), priorityQueue.size(), bulkQueue.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.stats-interval-ms:60000}", initialDelayString = "${app.mail.stats-interval-ms:60000}")
+    public synchronized void logStats() {
+        long now = System.nanoTime();
+        long total = sent.sum();
+        double perSecond = (total - lastStatsSent) / Math.max(1e-9, (now - lastStatsAt) / 1e9);
+        lastStatsSent = total;
+        lastStatsAt = now;
+        Stats stats = getStats();
+        if (stats.priorityQueued() + stats.bulkQueued() > 0 || perSecond > 0) {
+            log.info("Email throughput {} msg/s; sent {}, failed {}, batches {}, queued {} priority / {} bulk",
+                    String.format("%.1f", perSecond), stats.sent(), stats.failed(), stats.batches(),
+                    stats.priorityQueued(), stats.bulkQueued());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Thread sender : senders) {
+            sender.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    // Sender loop
+
+    private void run() {
+        List<Job> batch = new ArrayList<>(batchSize);
+        // On shutdown, finish what was already accepted
+        while (running || !priorityQueue.isEmpty() || !bulkQueue.isEmpty()) {
+            try {
+                Job first = priorityQueue.poll();
+                if (first == null) {
+                    first = bulkQueue.poll(50, TimeUnit.MILLISECONDS);
+                }
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                priorityQueue.drainTo(batch, batchSize - batch.size());
+                bulkQueue.drainTo(batch, batchSize - batch.size());
+                sendBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Email sender error", e);
+                batch.forEach(job -> job.result().completeExceptionally(e));
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<Job> batch) {
+        batches.increment();
+        try {
+            // One connection for the whole batch
+            mailSender.send(batch.stream().map(Job::message).toArray(MimeMessage[]::new));
+            sent.add(batch.size());
+            batch.forEach(job -> job.result().complete(null));
+        } catch (MailSendException e) {
+            // The messages not listed as failed went out
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            for (Job job : batch) {
+                Exception failure = failedMessages.isEmpty() ? e : failedMessages.get(job.message());
+                if (failure == null) {
+                    sent.increment();
+                    job.result().complete(null);
+                } else {
+                    failed.increment();
+                    job.result().completeExceptionally(failure);
+                }
+            }
+            log.warn("Failed to send {} of {} emails", failedMessages.isEmpty() ? batch.size() : failedMessages.size(),
+                    batch.size(), e);
+        } catch (MailException e) {
+            failed.add(batch.size());
+            batch.forEach(job -> job.result().completeExceptionally(e));
+            log.error("Failed to send a batch of {} emails", batch.size(), e);
+        }
+    }
+}
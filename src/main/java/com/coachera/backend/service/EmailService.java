@@ -1,69 +1,129 @@
 package com.coachera.backend.service;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
 
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Builds emails from Thymeleaf templates and hands them to
+ * {@link EmailDispatcher}. OTP mail goes through the priority lane.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
+    private static final String OTP_TEMPLATE = "email/otp";
+    private static final String NOTIFICATION_TEMPLATE = "email/notification";
+
     private final JavaMailSender mailSender;
+    private final EmailDispatcher emailDispatcher;
+    private final ITemplateEngine templateEngine;
 
-    public void sendOtpEmail(String toEmail, String otp) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(toEmail);
-        message.setSubject("Your OTP Code");
-        message.setText("Your OTP code is: " + otp + "\nThis code is valid for 5 minutes.");
+    /**
+     * Parse the templates at startup so the first OTP does not pay for it;
+     * the template engine caches them from then on
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpTemplates() {
+        render(OTP_TEMPLATE, Map.of("otp", ""));
+        render(NOTIFICATION_TEMPLATE, Map.of("title", "", "content", ""));
+    }
 
-        mailSender.send(message);
+    /**
+     * Queue an OTP email ahead of any bulk mail
+     */
+    public CompletableFuture<Void> sendOtpEmail(String toEmail, String otp) {
+        MimeMessage message = buildMessage(toEmail, "Your OTP Code",
+                "Your OTP code is: " + otp + "\nThis code is valid for 5 minutes.",
+                render(OTP_TEMPLATE, Map.of("otp", otp)));
+        return emailDispatcher.send(message, EmailDispatcher.Priority.HIGH)
+                .whenComplete((v, e) -> {
+                    if (e != null) {
+                        log.error("Error sending OTP email to {}", toEmail, e);
+                    }
+                });
     }
 
-     /**
-     * Send simple notification email
+    /**
+     * Queue a simple notification email. The future completes once the mail
+     * server accepted it; callers do not wait on it one by one, so queued
+     * messages fill up the dispatcher's batches and share SMTP connections.
      */
     public CompletableFuture<Void> sendNotificationEmail(
-            String toEmail, 
-            String title, 
-            String content, 
+            String toEmail,
+            String title,
+            String content,
             String actionUrl) {
-        
-        return CompletableFuture.runAsync(() -> {
-            try {
-                SimpleMailMessage message = new SimpleMailMessage();
-                message.setTo(toEmail);
-                message.setSubject(title);
-                message.setText(buildEmailContent(content, actionUrl));
-                
-                mailSender.send(message);
-                log.info("Successfully sent notification email to {}", toEmail);
-                
-            } catch (Exception e) {
-                log.error("Error sending notification email to {}", toEmail, e);
-                throw new RuntimeException("Failed to send notification email", e);
-            }
-        });
+
+        MimeMessage message;
+        try {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("title", title);
+            variables.put("content", content);
+            variables.put("actionUrl", actionUrl != null && !actionUrl.isEmpty() ? actionUrl : null);
+
+            message = buildMessage(toEmail, title, buildEmailContent(content, actionUrl),
+                    render(NOTIFICATION_TEMPLATE, variables));
+        } catch (RuntimeException e) {
+            log.error("Error building notification email to {}", toEmail, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return emailDispatcher.send(message, EmailDispatcher.Priority.BULK)
+                .whenComplete((v, e) -> {
+                    if (e != null) {
+                        log.error("Error sending notification email to {}", toEmail, e);
+                    } else {
+                        log.info("Successfully sent notification email to {}", toEmail);
+                    }
+                });
+    }
+
+    private MimeMessage buildMessage(String toEmail, String subject, String text, String html) {
+        MimeMessage message = mailSender.createMimeMessage();
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setTo(toEmail);
+            helper.setSubject(subject);
+            helper.setText(text, html);
+        } catch (MessagingException e) {
+            throw new IllegalArgumentException("Invalid email message for " + toEmail, e);
+        }
+        return message;
+    }
+
+    private String render(String template, Map<String, Object> variables) {
+        Context context = new Context();
+        context.setVariables(variables);
+        return templateEngine.process(template, context);
     }
 
     private String buildEmailContent(String content, String actionUrl) {
         StringBuilder sb = new StringBuilder();
         sb.append(content);
-        
+
         if (actionUrl != null && !actionUrl.isEmpty()) {
             sb.append("\n\n");
             sb.append("Click here to view: ").append(actionUrl);
         }
-        
+
         sb.append("\n\n");
         sb.append("Best regards,\n");
         sb.append("The Coachera Team");
-        
+
         return sb.toString();
     }
 }
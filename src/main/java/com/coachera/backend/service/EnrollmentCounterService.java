@@ -0,0 +1,107 @@
+package com.coachera.backend.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.coachera.backend.entity.Course;
+import com.coachera.backend.repository.CourseRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the denormalized {@code courses.enrollment_count} column.
+ *
+ * Committed enrollment changes are accumulated in per-course
+ * {@link LongAdder}s and written to the database in batches, so enrolling
+ * never contends on the course row and ranking never has to count the
+ * enrollments table. Deltas that are lost on shutdown are recovered by the
+ * reconciliation at startup, which runs before the web server starts so no
+ * enrollment can be recorded meanwhile.
+ */
+@Slf4j
+@Service
+public class EnrollmentCounterService implements SmartInitializingSingleton {
+
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Integer, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+
+    public EnrollmentCounterService(CourseRepository courseRepository, PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void increment(Integer courseId) {
+        pendingDeltas.computeIfAbsent(courseId, id -> new LongAdder()).increment();
+    }
+
+    public void decrement(Integer courseId) {
+        pendingDeltas.computeIfAbsent(courseId, id -> new LongAdder()).decrement();
+    }
+
+    /**
+     * Current enrollment count: the persisted value plus changes not flushed yet
+     */
+    public long getEnrollmentCount(Course course) {
+        return Math.max(0L, course.getEnrollmentCount() + getPendingDelta(course.getId()));
+    }
+
+    public long getPendingDelta(Integer courseId) {
+        LongAdder delta = pendingDeltas.get(courseId);
+        return delta != null ? delta.sum() : 0L;
+    }
+
+    /**
+     * Write accumulated deltas to the courses table in one transaction
+     */
+    @Scheduled(fixedDelayString = "${app.enrollments.counter-flush-ms:5000}")
+    @Transactional
+    public void flush() {
+        Map<Integer, Long> batch = new HashMap<>();
+        pendingDeltas.forEach((courseId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                batch.put(courseId, delta);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            batch.forEach(courseRepository::incrementEnrollmentCount);
+        } catch (RuntimeException e) {
+            // The transaction rolls back, so keep the deltas for the next flush
+            batch.forEach((courseId, delta) -> pendingDeltas.computeIfAbsent(courseId, id -> new LongAdder()).add(delta));
+            throw e;
+        }
+        log.debug("Flushed enrollment counters for {} courses", batch.size());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> reconcile());
+    }
+
+    /**
+     * Recompute all counters from the enrollments table and drop the pending
+     * deltas. Runs at startup before any delta is recorded; otherwise only
+     * call it while no enrollments are being made, e.g. right after seeding.
+     */
+    @Transactional
+    public void reconcile() {
+        pendingDeltas.clear();
+        int updated = courseRepository.reconcileEnrollmentCounts();
+        log.info("Reconciled enrollment counters for {} courses", updated);
+    }
+}
@@ -1,16 +1,20 @@
 package com.coachera.backend.service;
 
+import com.coachera.backend.dto.DashboardCourseDTO;
 import com.coachera.backend.dto.EnrolledCourseDTO;
 import com.coachera.backend.dto.EnrollmentDTO;
 import com.coachera.backend.entity.Course;
 import com.coachera.backend.entity.CourseCompletion;
 import com.coachera.backend.entity.Enrollment;
+import com.coachera.backend.entity.Image;
 import com.coachera.backend.entity.Material;
 import com.coachera.backend.entity.Student;
 import com.coachera.backend.entity.User;
+import com.coachera.backend.entity.enums.CompletionState;
 import com.coachera.backend.exception.ResourceNotFoundException;
 import com.coachera.backend.repository.CourseRepository;
 import com.coachera.backend.repository.EnrollmentRepository;
+import com.coachera.backend.repository.MaterialCompletionRepository;
 import com.coachera.backend.repository.MaterialRepository;
 import com.coachera.backend.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +22,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -30,6 +40,10 @@ public class EnrollmentService {
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
     private final MaterialRepository materialRepository;
+    private final MaterialCompletionRepository materialCompletionRepository;
+    private final CourseFeatureIndex courseFeatureIndex;
+    private final EnrollmentCounterService enrollmentCounterService;
+    private final TrendingService trendingService;
 
     public List<EnrolledCourseDTO> getEnrollmentsByStudent(User user) {
         Integer studentId = studentRepository.findByUserId(user.getId()).getId();
@@ -42,6 +56,57 @@ public class EnrollmentService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Progress of every course the student is enrolled in, for the dashboard.
+     * Reads enrollments, material counts and completion states in one query
+     * each, however many courses the student has.
+     */
+    @Transactional(readOnly = true)
+    public List<DashboardCourseDTO> getDashboard(User user) {
+        Integer studentId = studentRepository.findByUserId(user.getId()).getId();
+        List<Object[]> enrollmentRows = enrollmentRepository.findDashboardRowsByStudentId(studentId);
+        if (enrollmentRows.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Integer> enrollmentIds = new HashSet<>();
+        Set<Integer> courseIds = new HashSet<>();
+        for (Object[] row : enrollmentRows) {
+            enrollmentIds.add((Integer) row[0]);
+            courseIds.add((Integer) row[1]);
+        }
+        Map<Integer, Long> materialCounts = new HashMap<>();
+        for (Object[] row : materialRepository.countRowsByCourseIds(courseIds)) {
+            materialCounts.put((Integer) row[0], (Long) row[1]);
+        }
+        Map<Integer, Map<Integer, CompletionState>> states = new HashMap<>();
+        Map<Integer, Long> completedCounts = new HashMap<>();
+        for (Object[] row : materialCompletionRepository.findDashboardRowsByEnrollmentIds(enrollmentIds)) {
+            Integer enrollmentId = (Integer) row[0];
+            states.computeIfAbsent(enrollmentId, id -> new HashMap<>()).put((Integer) row[1], (CompletionState) row[2]);
+            if ((Boolean) row[3]) {
+                completedCounts.merge(enrollmentId, 1L, Long::sum);
+            }
+        }
+
+        List<DashboardCourseDTO> dashboard = new ArrayList<>(enrollmentRows.size());
+        for (Object[] row : enrollmentRows) {
+            Integer enrollmentId = (Integer) row[0];
+            Integer courseId = (Integer) row[1];
+            String imageUuid = (String) row[3];
+            long total = materialCounts.getOrDefault(courseId, 0L);
+            // Materials removed from the course may still have completions
+            long completed = Math.min(completedCounts.getOrDefault(enrollmentId, 0L), total);
+            BigDecimal progress = total == 0 ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(completed * 100.0 / total).setScale(2, RoundingMode.HALF_UP);
+            dashboard.add(new DashboardCourseDTO(enrollmentId, courseId, (String) row[2],
+                    imageUuid != null ? Image.builder().uuidName(imageUuid).build().getUrl() : null,
+                    (LocalDateTime) row[4], total, completed, progress, total > 0 && completed == total,
+                    states.getOrDefault(enrollmentId, Map.of())));
+        }
+        return dashboard;
+    }
+
     public List<EnrollmentDTO> getEnrollmentsByCourseId(Integer courseId) {
         return enrollmentRepository.findByCourseId(courseId)
                 .stream()
@@ -76,6 +141,11 @@ public class EnrollmentService {
         enrollment.setCourseCompletion(courseCompletion);
 
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        AfterCommit.run(() -> {
+            enrollmentCounterService.increment(courseId);
+            courseFeatureIndex.onEnrollmentCreated(courseId);
+            trendingService.recordEnrollment(courseId);
+        });
         return new EnrollmentDTO(savedEnrollment);
     }
 
@@ -106,6 +176,10 @@ public class EnrollmentService {
                     "Enrollment not found for studentId: " + studentId + " and courseId: " + courseId);
         }
         enrollmentRepository.deleteByStudentIdAndCourseId(studentId, courseId);
+        AfterCommit.run(() -> {
+            enrollmentCounterService.decrement(courseId);
+            courseFeatureIndex.onEnrollmentDeleted(courseId);
+        });
     }
 
     public Enrollment getEnrollmentById(Integer enrollmentId) {
@@ -0,0 +1,191 @@
+package com.coachera.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import com.coachera.backend.dto.SearchRequest;
+import com.coachera.backend.entity.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Postgres full-text search over the searchable entities.
+ *
+ * Each registered table gets a generated, weighted {@code search_vector}
+ * tsvector column with a GIN index, so a search is an index lookup ranked with
+ * {@code ts_rank} instead of a sequential scan over every string column.
+ */
+@Slf4j
+@Service
+public class FullTextSearchService {
+
+    private static final String TEXT_CONFIG = "'simple'::regconfig";
+    // Private-use characters mark the matches, so the text can be escaped before they become <mark> tags
+    private static final char MATCH_START = '\uE000';
+    private static final char MATCH_STOP = '\uE001';
+    private static final String HEADLINE_OPTIONS = "StartSel=" + MATCH_START + ", StopSel=" + MATCH_STOP
+            + ", MaxFragments=2, MaxWords=20, MinWords=5";
+
+    private final EntityManager entityManager;
+    private final SearchSqlSupport searchSqlSupport;
+    private final Map<Class<?>, TextIndex> indexes = new LinkedHashMap<>();
+
+    /**
+     * Table and weighted text columns backing one entity's search vector
+     */
+    private record TextIndex(String table, List<String> primaryColumns, List<String> secondaryColumns) {
+
+        List<String> allColumns() {
+            List<String> columns = new ArrayList<>(primaryColumns);
+            columns.addAll(secondaryColumns);
+            return columns;
+        }
+    }
+
+    public FullTextSearchService(EntityManager entityManager, SearchSqlSupport searchSqlSupport) {
+        this.entityManager = entityManager;
+        this.searchSqlSupport = searchSqlSupport;
+        // Register searchable entities: columns weighted A, then B
+        registerIndex(Course.class, "courses", List.of("title"), List.of("description"));
+        registerIndex(Instructor.class, "instructors", List.of("name"), List.of("bio"));
+        registerIndex(LearningPath.class, "learning_paths", List.of("title"), List.of("description"));
+        registerIndex(Skill.class, "skills", List.of("name"), List.of());
+        registerIndex(Category.class, "categories", List.of("name"), List.of());
+        registerIndex(Material.class, "materials", List.of("title"), List.of("article"));
+        registerIndex(Section.class, "sections", List.of("title"), List.of());
+        registerIndex(Question.class, "questions", List.of("content"),
+                List.of("answer_1", "answer_2", "answer_3", "answer_4"));
+        registerIndex(Review.class, "reviews", List.of("comment"), List.of());
+    }
+
+    private void registerIndex(Class<?> entityClass, String table, List<String> primaryColumns,
+            List<String> secondaryColumns) {
+        indexes.put(entityClass, new TextIndex(table, primaryColumns, secondaryColumns));
+    }
+
+    public boolean supports(Class<?> entityClass) {
+        return indexes.containsKey(entityClass);
+    }
+
+    /**
+     * Create the generated search vector columns and their GIN indexes if missing
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void createSearchVectors() {
+        for (TextIndex index : indexes.values()) {
+            String vector = weighted(index.primaryColumns(), "A");
+            if (!index.secondaryColumns().isEmpty()) {
+                vector += " || " + weighted(index.secondaryColumns(), "B");
+            }
+            entityManager.createNativeQuery("ALTER TABLE " + index.table()
+                    + " ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" + vector + ") STORED")
+                    .executeUpdate();
+            entityManager.createNativeQuery("CREATE INDEX IF NOT EXISTS idx_" + index.table() + "_search_vector ON "
+                    + index.table() + " USING GIN (search_vector)")
+                    .executeUpdate();
+        }
+        log.info("Full-text search vectors ready for {} tables", indexes.size());
+    }
+
+    /**
+     * Find the ids of matching rows, most relevant first. Each row is
+     * {@code [id, rank, highlight]} where the highlight is HTML-escaped text with
+     * matched terms wrapped in {@code <mark>} tags. Filters are matched against the entity's columns.
+     * The total follows {@code countMode}, see {@link com.coachera.backend.dto.SearchRequest}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Object[]> search(Class<?> entityClass, String searchTerm, Map<String, Object> filters,
+            Pageable pageable, String countMode) {
+        TextIndex index = indexes.get(entityClass);
+        if (index == null) {
+            throw new IllegalArgumentException("Full-text search is not available for " + entityClass.getSimpleName());
+        }
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("term", searchTerm);
+        String where = "t.search_vector @@ websearch_to_tsquery(" + TEXT_CONFIG + ", :term)"
+                + searchSqlSupport.filters(entityClass, filters, parameters);
+        String matching = "SELECT 1 FROM " + index.table() + " t WHERE " + where;
+
+        boolean counted = !SearchRequest.COUNT_NONE.equalsIgnoreCase(countMode);
+        long total = 0;
+        if (SearchRequest.COUNT_ESTIMATED.equalsIgnoreCase(countMode)) {
+            total = searchSqlSupport.estimateCount(matching, parameters);
+        } else if (counted) {
+            total = searchSqlSupport.exactCount(matching, parameters);
+            if (total == 0 || pageable.getOffset() >= total) {
+                return new PageImpl<>(List.of(), pageable, total);
+            }
+        }
+
+        // Rank and page first, so highlights are only computed for the returned rows
+        String document = "translate(" + index.allColumns().stream()
+                .map(column -> "coalesce(t." + column + ", '')")
+                .collect(Collectors.joining(" || ' ' || ")) + ", :markers, '')";
+        String sql = "SELECT r.id, r.rank, ts_headline(" + TEXT_CONFIG + ", r.document, websearch_to_tsquery("
+                + TEXT_CONFIG + ", :term), :options) "
+                + "FROM (SELECT t.id AS id, ts_rank(t.search_vector, websearch_to_tsquery(" + TEXT_CONFIG
+                + ", :term)) AS rank, " + document + " AS document "
+                + "FROM " + index.table() + " t WHERE " + where
+                + " ORDER BY rank DESC, t.id ASC LIMIT :limit OFFSET :offset) r "
+                + "ORDER BY r.rank DESC, r.id ASC";
+
+        Query query = entityManager.createNativeQuery(sql);
+        parameters.forEach(query::setParameter);
+        query.setParameter("options", HEADLINE_OPTIONS);
+        query.setParameter("markers", String.valueOf(MATCH_START) + MATCH_STOP);
+        // Without a count, one extra row tells whether there is a next page
+        query.setParameter("limit", counted ? pageable.getPageSize() : pageable.getPageSize() + 1);
+        query.setParameter("offset", pageable.getOffset());
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        for (Object[] row : rows) {
+            row[2] = highlight((String) row[2]);
+        }
+        if (counted) {
+            return new PageImpl<>(rows, pageable, total);
+        }
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    // Helper methods
+
+    /**
+     * Escape the headline and only then turn the match markers into tags, so
+     * markup stored in the searched columns is never returned as HTML. The
+     * markers are stripped from the document, only ts_headline inserts them.
+     */
+    static String highlight(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline, "UTF-8")
+                .replace(String.valueOf(MATCH_START), "<mark>")
+                .replace(String.valueOf(MATCH_STOP), "</mark>");
+    }
+
+    private static String weighted(List<String> columns, String weight) {
+        return columns.stream()
+                .map(column -> "setweight(to_tsvector(" + TEXT_CONFIG + ", coalesce(" + column + ", '')), '" + weight + "')")
+                .collect(Collectors.joining(" || "));
+    }
+}
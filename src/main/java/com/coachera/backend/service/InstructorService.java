@@ -20,7 +20,7 @@ import com.coachera.backend.entity.Organization;
 import com.coachera.backend.entity.User;
 import com.coachera.backend.exception.ConflictException;
 import com.coachera.backend.exception.ResourceNotFoundException;
-import com.coachera.backend.repository.AccessTokenRepository;
+import com.coachera.backend.security.TokenService;
 import com.coachera.backend.repository.CourseRepository;
 import com.coachera.backend.repository.InstructorRepository;
 import com.coachera.backend.repository.OrganizationRepository;
@@ -38,7 +38,7 @@ public class InstructorService {
     private final ModelMapper modelMapper;
     private final CourseRepository courseRepository;
     private final OrganizationRepository organizationRepository;
-    private final AccessTokenRepository accessTokenRepository;
+    private final TokenService tokenService;
 
     public InstructorDTO createInstructor(InstructorRequestDTO requestDTO, User user) {
         if (!userRepository.findById(user.getId()).isPresent()) {
@@ -94,7 +94,7 @@ public class InstructorService {
             User user = instructor.getUser();
 
             // Delete access tokens first
-            accessTokenRepository.deleteByUserId(user.getId());
+            tokenService.revokeUserTokens(user.getId());
 
             // Break the bidirectional relationship
             user.setInstructor(null);
@@ -116,7 +116,7 @@ public class InstructorService {
                 .orElseThrow(() -> new ResourceNotFoundException("Instructor not found with user id: " + user.getId()));
 
         // Delete access tokens first
-        accessTokenRepository.deleteByUserId(user.getId());
+        tokenService.revokeUserTokens(user.getId());
 
         // Break the bidirectional relationship
         user.setInstructor(null);
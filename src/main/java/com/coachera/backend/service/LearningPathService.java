@@ -33,6 +33,7 @@ public class LearningPathService {
     private final CourseRepository courseRepository;
     private final ImageRepository imageRepository;
     private final ModelMapper modelMapper;
+    private final AutocompleteService autocompleteService;
 
     public LearningPathDTO createLearningPath(LearningPathDTO learningPathDTO, Organization organization) {
         // Verify the organization exists (though we're passing it directly, we can still validate)
@@ -52,6 +53,7 @@ public class LearningPathService {
         }
 
         LearningPath savedLearningPath = learningPathRepository.save(learningPath);
+        AfterCommit.run(() -> autocompleteService.upsertLearningPath(savedLearningPath));
         return new LearningPathDTO(savedLearningPath);
     }
 
@@ -105,6 +107,7 @@ public class LearningPathService {
         }
 
         LearningPath updatedLearningPath = learningPathRepository.save(existingLearningPath);
+        AfterCommit.run(() -> autocompleteService.upsertLearningPath(updatedLearningPath));
         return new LearningPathDTO(updatedLearningPath);
     }
 
@@ -118,6 +121,7 @@ public class LearningPathService {
         }
 
         learningPathRepository.delete(learningPath);
+        AfterCommit.run(() -> autocompleteService.removeLearningPath(id));
     }
 
     public LearningPathDTO addCourseToLearningPath(Integer learningPathId, Integer courseId, Integer orderIndex, Organization organization) {
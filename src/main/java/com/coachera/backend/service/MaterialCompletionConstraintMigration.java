@@ -0,0 +1,67 @@
+package com.coachera.backend.service;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adds the unique (enrollment, material) constraint that completion upserts
+ * rely on. Schema update cannot add it while duplicate rows exist, so they
+ * are removed first, keeping the completed (then oldest) row of each pair.
+ * Does nothing once the constraint exists.
+ *
+ * Runs once all beans are created, before the web server starts, so no
+ * request can reach the upsert before the constraint exists. Nodes starting
+ * together take turns on an advisory lock, so only the first one changes
+ * anything.
+ */
+@Slf4j
+@Component
+public class MaterialCompletionConstraintMigration implements SmartInitializingSingleton {
+
+    static final String CONSTRAINT_NAME = "uk_material_completion_enrollment_material";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public MaterialCompletionConstraintMigration(EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> migrate());
+    }
+
+    void migrate() {
+        // Held until the transaction ends
+        entityManager.createNativeQuery("SELECT 1 FROM pg_advisory_xact_lock(hashtext(:name))")
+                .setParameter("name", CONSTRAINT_NAME)
+                .getSingleResult();
+        Object exists = entityManager.createNativeQuery("SELECT EXISTS (SELECT 1 FROM pg_constraint "
+                + "WHERE conname = :name AND conrelid = 'material_completion'::regclass)")
+                .setParameter("name", CONSTRAINT_NAME)
+                .getSingleResult();
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+
+        int removed = entityManager.createNativeQuery("DELETE FROM material_completion a USING material_completion b "
+                + "WHERE a.enrollment_id = b.enrollment_id AND a.material_id = b.material_id "
+                + "AND (a.completed < b.completed OR (a.completed = b.completed AND a.id > b.id))")
+                .executeUpdate();
+        if (removed > 0) {
+            // Duplicates may have been counted twice; recount on the next progress update
+            entityManager.createNativeQuery("UPDATE course_completion SET completed_materials = NULL").executeUpdate();
+        }
+        entityManager.createNativeQuery("ALTER TABLE material_completion ADD CONSTRAINT " + CONSTRAINT_NAME
+                + " UNIQUE (enrollment_id, material_id)").executeUpdate();
+        log.info("Added unique constraint on material completions, removed {} duplicates", removed);
+    }
+}
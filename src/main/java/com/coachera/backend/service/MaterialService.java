@@ -38,6 +38,7 @@ public class MaterialService {
     
     // private final QuizService quizService;
     private final VideoService videoService;
+    private final CourseMaterialCountCache materialCountCache;
 
     public MaterialDTO createMaterial(MaterialDTO materialDTO, User user) {
 
@@ -71,6 +72,7 @@ public class MaterialService {
 
         section.addMaterial(material);
         sectionRepository.save(section);
+        materialCountCache.invalidate(section.getModule().getCourse().getId());
         return new MaterialDTO(material);
     }
 
@@ -132,6 +134,7 @@ public class MaterialService {
         // }
 
         materialRepository.delete(material);
+        materialCountCache.invalidate(material.getSection().getModule().getCourse().getId());
     }
 
     // Helper method
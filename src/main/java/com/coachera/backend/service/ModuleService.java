@@ -35,6 +35,7 @@ public class ModuleService {
 
     private final UserRepository userRepository;
     private final InstructorRepository instructorRepository;
+    private final CourseMaterialCountCache materialCountCache;
 
     public ModuleDTO createModule(Integer courseId, ModuleRequestDTO moduleDTO) {
         Course course = courseRepository.findById(courseId)
@@ -102,6 +103,7 @@ public class ModuleService {
         } 
 
         moduleRepository.delete(module);
+        materialCountCache.invalidate(module.getCourse().getId());
     }
 
     private void validateOrderIndexUniqueness(Integer courseId, Integer orderIndex) {
@@ -0,0 +1,51 @@
+package com.coachera.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coachera.backend.repository.NotificationArchiveRepository;
+import com.coachera.backend.repository.NotificationDeliveryRepository;
+import com.coachera.backend.repository.NotificationRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves one batch of old notifications out of the hot tables. Each batch is
+ * its own short transaction, see {@link NotificationRetentionService}. Unread
+ * notifications that are removed no longer count for their recipients.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationArchiver {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationDeliveryRepository deliveryRepository;
+    private final NotificationArchiveRepository archiveRepository;
+    private final UnreadCountCache unreadCountCache;
+
+    /**
+     * Archive (if enabled) and delete up to {@code batchSize} notifications
+     * created before the cutoff
+     *
+     * @return the number of notifications removed
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff, int batchSize, boolean archive) {
+        List<Long> ids = notificationRepository.findIdsCreatedBefore(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (archive) {
+            archiveRepository.copyFromNotifications(ids, LocalDateTime.now());
+        }
+        // [userId, count] rows
+        List<Object[]> unread = notificationRepository.countUnreadRowsByIds(ids);
+        deliveryRepository.deleteByNotificationIds(ids);
+        int deleted = notificationRepository.deleteByIds(ids);
+        AfterCommit.run(() -> unread.forEach(row -> unreadCountCache.decrement((Integer) row[0], (Long) row[1])));
+        return deleted;
+    }
+}
@@ -0,0 +1,97 @@
+package com.coachera.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.stereotype.Service;
+
+import com.coachera.backend.entity.DeviceToken;
+import com.coachera.backend.entity.Notification;
+import com.coachera.backend.repository.DeviceTokenRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends a persisted notification through one delivery channel. Push calls
+ * block on the provider, they are run by {@link NotificationDispatcher}
+ * workers; email is queued and completes once the mail server accepted it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationDeliveryService {
+
+    public static final String CHANNEL_PUSH = "push";
+    public static final String CHANNEL_EMAIL = "email";
+
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final PushNotificationSender pushNotificationSender;
+    private final EmailService emailService;
+
+    /**
+     * Delivery channels requested in the notification's metadata: mobile, push,
+     * web and browser all go through FCM
+     */
+    public List<String> channelsOf(Notification notification) {
+        String channelsStr = notification.getMetadata() != null ? notification.getMetadata().get("channels") : null;
+        List<String> requested = channelsStr != null ? List.of(channelsStr.split(",")) : List.of("mobile", "web"); // Default channels
+
+        List<String> channels = new ArrayList<>();
+        if (requested.contains("mobile") || requested.contains("push") || requested.contains("web") || requested.contains("browser")) {
+            channels.add(CHANNEL_PUSH);
+        }
+        if (requested.contains("email")) {
+            channels.add(CHANNEL_EMAIL);
+        }
+        return channels;
+    }
+
+    /**
+     * Send through one channel
+     *
+     * @return completes with false if the channel failed
+     */
+    public CompletableFuture<Boolean> send(String channel, Notification notification) {
+        return switch (channel) {
+            case CHANNEL_PUSH -> CompletableFuture.completedFuture(sendPushNotification(notification));
+            case CHANNEL_EMAIL -> sendEmailNotification(notification);
+            default -> throw new IllegalArgumentException("Unknown notification channel: " + channel);
+        };
+    }
+
+    private boolean sendPushNotification(Notification notification) {
+        List<DeviceToken> tokens = deviceTokenRepository.findByUser(notification.getRecipient());
+
+        if (tokens.isEmpty()) {
+            log.warn("No device tokens for user {}", notification.getRecipient().getId());
+            return true;
+        }
+
+        PushNotificationSender.Result result = pushNotificationSender.send(notification, tokens);
+        log.info("Sent push notification {}: {} delivered, {} failed, {} stale tokens pruned", notification.getId(),
+                result.successCount(), result.failureCount(), result.prunedCount());
+        return result.isDelivered();
+    }
+
+    private CompletableFuture<Boolean> sendEmailNotification(Notification notification) {
+        if (notification.getEmailAddress() == null) {
+            notification.setEmailAddress(notification.getRecipient().getEmail());
+        }
+
+        return emailService.sendNotificationEmail(
+                notification.getEmailAddress(),
+                notification.getTitle(),
+                notification.getContent(),
+                notification.getActionUrl())
+            .handle((v, e) -> {
+                if (e != null) {
+                    log.error("Error sending email notification {}", notification.getId(), e);
+                    return false;
+                }
+                log.info("Successfully sent email notification for notification {}", notification.getId());
+                return true;
+            });
+    }
+}
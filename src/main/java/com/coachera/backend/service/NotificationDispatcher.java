@@ -0,0 +1,351 @@
+package com.coachera.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.coachera.backend.entity.Notification;
+import com.coachera.backend.entity.enums.NotificationStatus;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pipeline that delivers notifications off the caller's thread.
+ *
+ * A new notification is inserted with its outbox rows in the caller's
+ * transaction. Once that commits it is taken onto a bounded queue; a single
+ * dispatcher thread drains it, claims each batch's outbox rows, pushes it to
+ * the recipients' open streams and hands every delivery to channel workers
+ * running on virtual threads. Each channel has its own concurrency limit, and
+ * the number of notifications being delivered at once is capped, so a full
+ * pipeline blocks producers (up to a timeout) instead of piling up work.
+ * Attempt results are recorded in the outbox in batches too.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    private record Job(NotificationOutbox.Entry entry, CompletableFuture<Notification> result) {
+    }
+
+    private record Delivered(Job job, List<NotificationOutbox.Outcome> outcomes) {
+    }
+
+    private final NotificationOutbox outbox;
+    private final NotificationDeliveryService deliveryService;
+    private final UnreadCountCache unreadCountCache;
+    private final NotificationStreamHub streamHub;
+    private final BlockingQueue<Job> queue;
+    private final ConcurrentLinkedQueue<Delivered> delivered = new ConcurrentLinkedQueue<>();
+    private final Map<String, Semaphore> channelPermits;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final int batchSize;
+    private final long enqueueTimeoutMs;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread dispatcherThread;
+    private volatile boolean running = true;
+
+    public NotificationDispatcher(NotificationOutbox outbox,
+            NotificationDeliveryService deliveryService,
+            UnreadCountCache unreadCountCache,
+            NotificationStreamHub streamHub,
+            @Value("${app.notifications.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.notifications.batch-size:500}") int batchSize,
+            @Value("${app.notifications.max-in-flight:2000}") int maxInFlight,
+            @Value("${app.notifications.push-concurrency:32}") int pushConcurrency,
+            @Value("${app.notifications.email-concurrency:8}") int emailConcurrency,
+            @Value("${app.notifications.enqueue-timeout-ms:30000}") long enqueueTimeoutMs) {
+        this.outbox = outbox;
+        this.deliveryService = deliveryService;
+        this.unreadCountCache = unreadCountCache;
+        this.streamHub = streamHub;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.channelPermits = Map.of(
+                NotificationDeliveryService.CHANNEL_PUSH, new Semaphore(pushConcurrency),
+                NotificationDeliveryService.CHANNEL_EMAIL, new Semaphore(emailConcurrency));
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.dispatcherThread = Thread.ofPlatform().name("notification-dispatcher").daemon().start(this::run);
+    }
+
+    /**
+     * Persist a new notification with one outbox row per channel and queue it
+     * once the caller's transaction commits. The future completes once every
+     * channel was tried and the attempts are recorded, or fails if the
+     * transaction rolls back or the queue stays full.
+     */
+    public CompletableFuture<Notification> dispatch(Notification notification) {
+        NotificationOutbox.Entry entry = outbox.persist(List.of(newEntry(notification))).get(0);
+        return afterCommit(() -> {
+            announce(entry.notification());
+            return enqueue(entry);
+        });
+    }
+
+    /**
+     * Queue deliveries claimed from the outbox; only those channels are sent
+     */
+    public CompletableFuture<Notification> redeliver(NotificationOutbox.Entry entry) {
+        return enqueue(entry);
+    }
+
+    /**
+     * Persist many notifications, one batch at a time, and queue them once the
+     * caller's transaction commits. Enqueueing happens on a worker, so the
+     * caller is not blocked while the queue applies backpressure. The future
+     * completes once every notification is committed and queued, without
+     * waiting for the deliveries: those that find the queue full are left to
+     * the outbox, which retries them when their reservation ends.
+     */
+    public CompletableFuture<List<Notification>> dispatchAll(List<Notification> notifications) {
+        List<NotificationOutbox.Entry> entries = new ArrayList<>(notifications.size());
+        for (int from = 0; from < notifications.size(); from += batchSize) {
+            entries.addAll(outbox.persist(notifications.subList(from, Math.min(from + batchSize, notifications.size()))
+                    .stream().map(this::newEntry).toList()));
+        }
+        return afterCommit(() -> CompletableFuture.supplyAsync(() -> {
+            int deferred = 0;
+            for (NotificationOutbox.Entry entry : entries) {
+                announce(entry.notification());
+                // Once the queue turned one away, do not wait on it for the rest
+                if (deferred > 0 || enqueue(entry).isCompletedExceptionally()) {
+                    deferred++;
+                }
+            }
+            if (deferred > 0) {
+                log.warn("Notification queue is full, left {} notifications to the outbox retry", deferred);
+            }
+            return entries.stream().map(NotificationOutbox.Entry::notification).toList();
+        }, workers));
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        dispatcherThread.join(TimeUnit.SECONDS.toMillis(10));
+        workers.shutdown();
+    }
+
+    private NotificationOutbox.Entry newEntry(Notification notification) {
+        return new NotificationOutbox.Entry(notification, deliveryService.channelsOf(notification).stream()
+                .map(channel -> new NotificationOutbox.Delivery(null, channel, 0))
+                .toList());
+    }
+
+    /**
+     * Run the hand-off after the current transaction commits, or now when
+     * there is none. Nothing is handed off for a rolled back transaction.
+     */
+    private <T> CompletableFuture<T> afterCommit(Supplier<CompletableFuture<T>> handoff) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return handoff.get();
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    result.completeExceptionally(new IllegalStateException("Notification was rolled back"));
+                    return;
+                }
+                handoff.get().whenComplete((value, e) -> {
+                    if (e != null) {
+                        result.completeExceptionally(e);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    // A committed notification counts as unread and is pushed to open streams right away
+    private void announce(Notification notification) {
+        unreadCountCache.increment(notification.getRecipient().getId(), 1);
+        streamHub.publish(notification);
+    }
+
+    private CompletableFuture<Notification> enqueue(NotificationOutbox.Entry entry) {
+        CompletableFuture<Notification> result = new CompletableFuture<>();
+        try {
+            if (!running || !queue.offer(new Job(entry, result), enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                result.completeExceptionally(new RejectedExecutionException("Notification queue is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    // Dispatcher loop
+
+    private void run() {
+        List<Job> batch = new ArrayList<>(batchSize);
+        // On shutdown, finish what was already accepted
+        while (running || !queue.isEmpty() || inFlight.availablePermits() < maxInFlight || !delivered.isEmpty()) {
+            try {
+                Job first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    claimAndDeliver(batch);
+                    batch.clear();
+                }
+                recordOutcomes();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Notification dispatcher error", e);
+            }
+        }
+    }
+
+    private void claimAndDeliver(List<Job> batch) throws InterruptedException {
+        List<Job> jobs = new ArrayList<>(batch.size());
+        Map<LocalDateTime, List<Job>> reserved = new HashMap<>();
+        for (Job job : batch) {
+            if (job.entry().reservedUntil() == null) {
+                jobs.add(job);
+            } else {
+                reserved.computeIfAbsent(job.entry().reservedUntil(), k -> new ArrayList<>()).add(job);
+            }
+        }
+
+        // Notifications persisted together share a reservation and are claimed together
+        reserved.forEach((reservedUntil, group) -> {
+            try {
+                Set<Long> claimed = outbox.claim(group.stream()
+                        .flatMap(job -> job.entry().deliveries().stream())
+                        .map(NotificationOutbox.Delivery::id)
+                        .toList(), reservedUntil);
+                for (Job job : group) {
+                    List<NotificationOutbox.Delivery> deliveries = job.entry().deliveries().stream()
+                            .filter(delivery -> claimed.contains(delivery.id()))
+                            .toList();
+                    if (deliveries.isEmpty()) {
+                        // A worker took it over after the reservation ended
+                        job.result().complete(job.entry().notification());
+                    } else {
+                        jobs.add(new Job(new NotificationOutbox.Entry(job.entry().notification(), deliveries),
+                                job.result()));
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Unclaimed deliveries become due when their reservation ends
+                log.error("Failed to claim {} notifications", group.size(), e);
+                group.forEach(job -> job.result().completeExceptionally(e));
+            }
+        });
+
+        for (Job job : jobs) {
+            // Blocks when too many notifications are being delivered, which in turn fills the queue
+            inFlight.acquire();
+            recordOutcomes();
+            deliver(job);
+        }
+    }
+
+    private void deliver(Job job) {
+        Notification notification = job.entry().notification();
+        List<CompletableFuture<NotificationOutbox.Outcome>> sends = job.entry().deliveries().stream()
+                .map(delivery -> CompletableFuture.supplyAsync(() -> sendWithPermit(delivery, notification), workers)
+                        .thenCompose(outcome -> outcome))
+                .toList();
+
+        CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).whenComplete((v, e) -> {
+            List<NotificationOutbox.Outcome> outcomes = sends.stream().map(CompletableFuture::join).toList();
+            boolean sent = outcomes.stream().allMatch(NotificationOutbox.Outcome::sent);
+            notification.setStatus(sent ? NotificationStatus.SENT : NotificationStatus.FAILED);
+            delivered.add(new Delivered(job, outcomes));
+            inFlight.release();
+        });
+    }
+
+    /**
+     * Hand a delivery to its channel. The permit only covers the hand-off:
+     * queued email is waited for without holding it, so it can be batched.
+     */
+    private CompletableFuture<NotificationOutbox.Outcome> sendWithPermit(NotificationOutbox.Delivery delivery,
+            Notification notification) {
+        Semaphore permits = channelPermits.get(delivery.channel());
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(
+                    new NotificationOutbox.Outcome(delivery, notification.getId(), false, "Interrupted"));
+        }
+        CompletableFuture<Boolean> sending;
+        try {
+            sending = deliveryService.send(delivery.channel(), notification);
+        } catch (RuntimeException e) {
+            sending = CompletableFuture.failedFuture(e);
+        } finally {
+            permits.release();
+        }
+        return sending.handle((sent, e) -> {
+            if (e != null) {
+                log.error("Error sending notification {} through {}", notification.getId(), delivery.channel(), e);
+                return new NotificationOutbox.Outcome(delivery, notification.getId(), false, e.toString());
+            }
+            return new NotificationOutbox.Outcome(delivery, notification.getId(), sent,
+                    sent ? null : "Channel reported a failure");
+        });
+    }
+
+    /**
+     * Record the attempts of delivered notifications in the outbox, one
+     * transaction per batch
+     */
+    private void recordOutcomes() {
+        List<Delivered> batch = new ArrayList<>(batchSize);
+        do {
+            batch.clear();
+            Delivered done;
+            while (batch.size() < batchSize && (done = delivered.poll()) != null) {
+                batch.add(done);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                outbox.recordOutcomes(
+                        batch.stream().flatMap(item -> item.outcomes().stream()).toList(),
+                        batch.stream().map(item -> item.job().entry().notification().getId()).toList());
+            } catch (RuntimeException e) {
+                // Unrecorded deliveries become due again when their lease ends
+                log.error("Failed to record the delivery of {} notifications", batch.size(), e);
+            }
+            batch.forEach(item -> item.job().result().complete(item.job().entry().notification()));
+        } while (batch.size() == batchSize);
+    }
+}
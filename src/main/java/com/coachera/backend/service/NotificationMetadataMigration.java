@@ -0,0 +1,53 @@
+package com.coachera.backend.service;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One-time migration of notification metadata from the old
+ * {@code notification_metadata} collection table into the JSONB column on
+ * {@code notifications}. Does nothing once the old table is gone.
+ *
+ * Runs once all beans are created, before the web server starts, so
+ * requests never see notifications that are not migrated yet.
+ */
+@Slf4j
+@Component
+public class NotificationMetadataMigration implements SmartInitializingSingleton {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public NotificationMetadataMigration(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> migrate());
+    }
+
+    void migrate() {
+        Object exists = entityManager.createNativeQuery("SELECT to_regclass('notification_metadata') IS NOT NULL")
+                .getSingleResult();
+        if (!Boolean.TRUE.equals(exists)) {
+            return;
+        }
+
+        int migrated = entityManager.createNativeQuery("UPDATE notifications n SET metadata = m.data FROM "
+                + "(SELECT notification_id, jsonb_object_agg(meta_key, meta_value) AS data FROM notification_metadata "
+                + "GROUP BY notification_id) m WHERE n.id = m.notification_id AND n.metadata IS NULL")
+                .executeUpdate();
+        entityManager.createNativeQuery("UPDATE notifications SET metadata = '{}'::jsonb WHERE metadata IS NULL")
+                .executeUpdate();
+        // Same transaction: the old table is only dropped if every row was copied
+        entityManager.createNativeQuery("DROP TABLE notification_metadata").executeUpdate();
+        log.info("Migrated metadata of {} notifications to the JSONB column", migrated);
+    }
+}
@@ -0,0 +1,222 @@
+package com.coachera.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coachera.backend.entity.Notification;
+import com.coachera.backend.entity.NotificationDelivery;
+import com.coachera.backend.entity.enums.NotificationStatus;
+import com.coachera.backend.repository.NotificationDeliveryRepository;
+import com.coachera.backend.repository.NotificationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transactional outbox for notification delivery.
+ *
+ * A notification is inserted together with one delivery row per channel.
+ * Every attempt is recorded on its row: a success is final, a failure is
+ * rescheduled with exponential backoff and jitter until the attempts run out.
+ * Because only PENDING rows are ever delivered, a retry never resends to a
+ * channel that already succeeded.
+ */
+@Slf4j
+@Service
+public class NotificationOutbox {
+
+    /**
+     * A notification and the deliveries to attempt now. New deliveries are
+     * reserved for the dispatcher until {@code reservedUntil} and still have to
+     * be claimed; claimed deliveries have no reservation.
+     */
+    public record Entry(Notification notification, List<Delivery> deliveries, LocalDateTime reservedUntil) {
+
+        public Entry(Notification notification, List<Delivery> deliveries) {
+            this(notification, deliveries, null);
+        }
+    }
+
+    public record Delivery(Long id, String channel, int attempts) {
+    }
+
+    /**
+     * Result of one delivery attempt
+     */
+    public record Outcome(Delivery delivery, Long notificationId, boolean sent, String error) {
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationDeliveryRepository deliveryRepository;
+    private final long leaseMs;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final int maxAttempts;
+
+    public NotificationOutbox(NotificationRepository notificationRepository,
+            NotificationDeliveryRepository deliveryRepository,
+            @Value("${app.notifications.outbox.lease-ms:300000}") long leaseMs,
+            @Value("${app.notifications.outbox.base-delay-ms:30000}") long baseDelayMs,
+            @Value("${app.notifications.outbox.max-delay-ms:3600000}") long maxDelayMs,
+            @Value("${app.notifications.outbox.max-attempts:8}") int maxAttempts) {
+        this.notificationRepository = notificationRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.leaseMs = leaseMs;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Insert new notifications and their delivery rows, in the caller's
+     * transaction when there is one. The rows start out reserved for the
+     * dispatcher, which claims them once the transaction commits; if it never
+     * does they become due when the reservation ends.
+     */
+    @Transactional
+    public List<Entry> persist(List<Entry> entries) {
+        List<Notification> notifications = notificationRepository.saveAll(
+                entries.stream().map(Entry::notification).toList());
+
+        LocalDateTime reservedUntil = LocalDateTime.now().plusNanos(leaseMs * 1_000_000);
+        List<NotificationDelivery> rows = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            for (Delivery delivery : entries.get(i).deliveries()) {
+                rows.add(NotificationDelivery.builder()
+                        .notification(notifications.get(i))
+                        .channel(delivery.channel())
+                        .status(NotificationStatus.PENDING)
+                        .nextAttemptAt(reservedUntil)
+                        .build());
+            }
+        }
+        List<NotificationDelivery> savedRows = deliveryRepository.saveAll(rows);
+
+        List<Entry> persisted = new ArrayList<>(entries.size());
+        int next = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            List<Delivery> deliveries = new ArrayList<>();
+            for (int j = 0; j < entries.get(i).deliveries().size(); j++) {
+                NotificationDelivery row = savedRows.get(next++);
+                deliveries.add(new Delivery(row.getId(), row.getChannel(), 0));
+            }
+            persisted.add(new Entry(notifications.get(i), deliveries, reservedUntil));
+        }
+        return persisted;
+    }
+
+    /**
+     * Claim reserved deliveries for the dispatcher. Rows are locked with SKIP
+     * LOCKED and leased; rows whose reservation ended and that a worker took
+     * over in the meantime are left out.
+     *
+     * @return the ids of the claimed deliveries
+     */
+    @Transactional
+    public Set<Long> claim(Collection<Long> deliveryIds, LocalDateTime reservedUntil) {
+        List<Long> ids = deliveryRepository.lockReservedIds(deliveryIds, reservedUntil);
+        if (!ids.isEmpty()) {
+            deliveryRepository.lease(ids, LocalDateTime.now().plusNanos(leaseMs * 1_000_000));
+        }
+        return new HashSet<>(ids);
+    }
+
+    /**
+     * Claim up to {@code limit} due deliveries. Rows are locked with SKIP LOCKED
+     * and leased, so concurrent workers never claim the same row.
+     */
+    @Transactional
+    public List<Entry> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = deliveryRepository.lockDueIds(now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        deliveryRepository.lease(ids, now.plusNanos(leaseMs * 1_000_000));
+
+        // Group the claimed channels by notification
+        Map<Notification, List<NotificationDelivery>> byNotification = deliveryRepository
+                .findWithNotificationByIdIn(ids).stream()
+                .collect(Collectors.groupingBy(NotificationDelivery::getNotification,
+                        java.util.IdentityHashMap::new, Collectors.toList()));
+        List<Entry> entries = new ArrayList<>(byNotification.size());
+        byNotification.forEach((notification, rows) -> entries.add(new Entry(notification, rows.stream()
+                .map(row -> new Delivery(row.getId(), row.getChannel(), row.getAttempts()))
+                .toList())));
+        return entries;
+    }
+
+    /**
+     * Record attempt results, then set the status of the given notifications:
+     * SENT once every channel succeeded, FAILED while any channel has not
+     */
+    @Transactional
+    public void recordOutcomes(List<Outcome> outcomes, Collection<Long> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> sent = outcomes.stream().filter(Outcome::sent).map(outcome -> outcome.delivery().id()).toList();
+        if (!sent.isEmpty()) {
+            deliveryRepository.markSent(sent, now);
+        }
+
+        // Failures are rare, and each one gets its own retry time
+        Map<Long, Outcome> failed = outcomes.stream()
+                .filter(outcome -> !outcome.sent())
+                .collect(Collectors.toMap(outcome -> outcome.delivery().id(), Function.identity(), (a, b) -> a));
+        if (!failed.isEmpty()) {
+            for (NotificationDelivery row : deliveryRepository.findAllById(failed.keySet())) {
+                if (row.getStatus() != NotificationStatus.PENDING) {
+                    continue;
+                }
+                row.setAttempts(row.getAttempts() + 1);
+                row.setLastError(failed.get(row.getId()).error());
+                if (row.getAttempts() >= maxAttempts) {
+                    row.setStatus(NotificationStatus.FAILED);
+                    row.setNextAttemptAt(null);
+                    log.warn("Giving up on {} delivery of notification {} after {} attempts", row.getChannel(),
+                            failed.get(row.getId()).notificationId(), row.getAttempts());
+                } else {
+                    row.setNextAttemptAt(now.plusNanos(backoffMs(row.getAttempts()) * 1_000_000));
+                }
+            }
+        }
+
+        deliveryRepository.flush();
+        notificationRepository.markSentIfDelivered(notificationIds);
+        notificationRepository.markFailedIfUndelivered(notificationIds);
+    }
+
+    /**
+     * Give deliveries that ran out of attempts since {@code since} a new round
+     */
+    @Transactional
+    public int rescheduleFailed(LocalDateTime since) {
+        return deliveryRepository.rescheduleFailed(since, LocalDateTime.now());
+    }
+
+    /**
+     * Delay before the next attempt: the base delay doubled per attempt, capped,
+     * then randomized to between half and all of it so retries spread out
+     */
+    long backoffMs(int attempts) {
+        long delay = baseDelayMs << Math.min(attempts - 1, 30);
+        if (delay <= 0 || delay > maxDelayMs) {
+            delay = maxDelayMs;
+        }
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.coachera.backend.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the notifications table small: notifications older than the
+ * retention period are copied to the archive table and deleted, together
+ * with their delivery rows. Work is done in small batches so no
+ * delete holds locks on a large part of the hot table.
+ */
+@Slf4j
+@Service
+public class NotificationRetentionService {
+
+    private final NotificationArchiver archiver;
+    private final int retentionDays;
+    private final boolean archive;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public NotificationRetentionService(NotificationArchiver archiver,
+            @Value("${app.notifications.retention.days:180}") int retentionDays,
+            @Value("${app.notifications.retention.archive:true}") boolean archive,
+            @Value("${app.notifications.retention.batch-size:500}") int batchSize,
+            @Value("${app.notifications.retention.max-batches:200}") int maxBatches) {
+        this.archiver = archiver;
+        this.retentionDays = retentionDays;
+        this.archive = archive;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Archive expired notifications, at most {@code max-batches} batches per
+     * run; the rest is left for the next run
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.retention.interval-ms:3600000}", initialDelayString = "${app.notifications.retention.interval-ms:3600000}")
+    public int purgeExpiredNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int purged = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = archiver.archiveBatch(cutoff, batchSize, archive);
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("{} {} notifications older than {} days", archive ? "Archived" : "Purged", purged, retentionDays);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,73 @@
+package com.coachera.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls the notification outbox for due deliveries and hands them back to
+ * the dispatcher. Several instances can run this at once: claimed rows are
+ * locked with SKIP LOCKED and leased.
+ */
+@Slf4j
+@Component
+public class NotificationRetryWorker {
+
+    private final NotificationOutbox outbox;
+    private final NotificationDispatcher dispatcher;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public NotificationRetryWorker(NotificationOutbox outbox, NotificationDispatcher dispatcher,
+            @Value("${app.notifications.outbox.batch-size:200}") int batchSize,
+            @Value("${app.notifications.outbox.max-batches:10}") int maxBatches) {
+        this.outbox = outbox;
+        this.dispatcher = dispatcher;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Claim and redeliver due deliveries, at most {@code max-batches} batches
+     * per run
+     *
+     * @return the number of deliveries claimed
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.poll-ms:5000}", initialDelayString = "${app.notifications.outbox.poll-ms:5000}")
+    public int processDueDeliveries() {
+        int claimed = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<NotificationOutbox.Entry> entries = outbox.claimDue(batchSize);
+            int deliveries = entries.stream().mapToInt(entry -> entry.deliveries().size()).sum();
+            claimed += deliveries;
+
+            // Rejected redeliveries stay leased and become due again when the lease ends
+            entries.forEach(entry -> dispatcher.redeliver(entry).exceptionally(e -> {
+                log.warn("Could not redeliver notification {}: {}", entry.notification().getId(), e.getMessage());
+                return null;
+            }));
+            if (deliveries < batchSize) {
+                break;
+            }
+        }
+        if (claimed > 0) {
+            log.info("Claimed {} due notification deliveries", claimed);
+        }
+        return claimed;
+    }
+
+    /**
+     * Give deliveries that ran out of attempts since {@code since} a new round
+     * and process them now
+     */
+    public int retryFailed(LocalDateTime since) {
+        int rescheduled = outbox.rescheduleFailed(since);
+        processDueDeliveries();
+        return rescheduled;
+    }
+}
@@ -1,6 +1,7 @@
 package com.coachera.backend.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,8 +12,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.coachera.backend.dto.BulkNotificationResultDTO;
 import com.coachera.backend.dto.NotificationDTO;
 import com.coachera.backend.dto.SendNotificationRequest;
 import com.coachera.backend.entity.DeviceToken;
@@ -22,9 +26,6 @@ import com.coachera.backend.entity.enums.NotificationStatus;
 import com.coachera.backend.repository.DeviceTokenRepository;
 import com.coachera.backend.repository.NotificationRepository;
 import com.coachera.backend.repository.UserRepository;
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.Message;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,56 +36,64 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class NotificationService {
 
+    // Recipients of a bulk notification are looked up this many at a time
+    private static final int RECIPIENT_CHUNK_SIZE = 1000;
+
     private final DeviceTokenRepository deviceTokenRepository;
     private final NotificationRepository notificationRepository;
-    private final FirebaseMessaging firebaseMessaging;
     private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationRetryWorker notificationRetryWorker;
+    private final UnreadCountCache unreadCountCache;
+    private final NotificationStreamHub notificationStreamHub;
 
     /**
-     * Send notification to a single user across all their devices/channels
+     * Send notification to a single user across all their devices/channels.
+     * No transaction is opened here: the notification is inserted in the
+     * caller's transaction if there is one, in its own otherwise, and is not
+     * held up by the delivery.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CompletableFuture<Notification> sendNotification(SendNotificationRequest request) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                User recipient = userRepository.findById(request.getUserId())
-                    .orElseThrow(() -> new RuntimeException("User not found: " + request.getUserId()));
-
-                Notification notification = createNotification(request, recipient);
-                notification = notificationRepository.save(notification);
-
-                // Send to all channels asynchronously
-                sendToAllChannels(notification);
-
-                return notification;
-
-            } catch (Exception e) {
-                log.error("Error sending notification", e);
-                throw new RuntimeException("Failed to send notification", e);
-            }
-        });
+        User recipient = userRepository.findById(request.getUserId()).orElse(null);
+        if (recipient == null) {
+            return CompletableFuture.failedFuture(new RuntimeException("User not found: " + request.getUserId()));
+        }
+        return notificationDispatcher.dispatch(createNotification(request, recipient));
     }
 
     /**
-     * Send notification to multiple users
+     * Send notification to multiple users. Recipients are checked in chunks
+     * and only their id and email are loaded; unknown ids are skipped and
+     * reported. The result is ready once the notifications are committed and
+     * queued; failed deliveries are retried by the outbox, not reported here.
      */
-    public CompletableFuture<List<Notification>> sendBulkNotification(SendNotificationRequest request, List<Integer> userIds) {
-        return CompletableFuture.supplyAsync(() -> {
-            return userIds.stream()
-                .map(userId -> {
-                    SendNotificationRequest userRequest = SendNotificationRequest.builder()
-                        .userId(userId)
-                        .type(request.getType())
-                        .title(request.getTitle())
-                        .content(request.getContent())
-                        .actionUrl(request.getActionUrl())
-                        .metadata(request.getMetadata())
-                        // .channels(request.getChannels())
-                        .build();
-                    return sendNotification(userRequest).join();
-                })
-                .toList();
-        });
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CompletableFuture<BulkNotificationResultDTO> sendBulkNotification(SendNotificationRequest request, List<Integer> userIds) {
+        Map<Integer, String> emails = new HashMap<>();
+        for (int from = 0; from < userIds.size(); from += RECIPIENT_CHUNK_SIZE) {
+            List<Integer> chunk = userIds.subList(from, Math.min(from + RECIPIENT_CHUNK_SIZE, userIds.size()));
+            for (Object[] row : userRepository.findEmailRowsByIds(chunk)) {
+                emails.put((Integer) row[0], (String) row[1]);
+            }
+        }
+
+        List<Notification> notifications = new ArrayList<>(userIds.size());
+        List<Integer> unknown = new ArrayList<>();
+        for (Integer userId : userIds) {
+            if (!emails.containsKey(userId)) {
+                unknown.add(userId);
+                continue;
+            }
+            Notification notification = createNotification(request, userRepository.getReferenceById(userId));
+            notification.setEmailAddress(emails.get(userId));
+            notifications.add(notification);
+        }
+        if (!unknown.isEmpty()) {
+            log.warn("Skipped {} unknown users in bulk notification: {}", unknown.size(), unknown);
+        }
+        return notificationDispatcher.dispatchAll(notifications)
+            .thenApply(queued -> new BulkNotificationResultDTO(queued.size(), unknown.size(), unknown));
     }
 
     /**
@@ -107,17 +116,30 @@ public class NotificationService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
 
-        return notificationRepository.markAsRead(notificationIds, user);
+        int updated = notificationRepository.markAsRead(notificationIds, user);
+        if (updated > 0) {
+            AfterCommit.run(() -> {
+                unreadCountCache.decrement(userId, updated);
+                if (notificationStreamHub.isSubscribed(userId)) {
+                    notificationStreamHub.publishUnreadCount(userId, unreadCountCache.get(userId));
+                }
+            });
+        }
+        return updated;
     }
 
     /**
-     * Get unread notification count for user
+     * Open a Server-Sent Events stream of the user's new notifications
      */
-    public long getUnreadCount(int userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    public SseEmitter streamNotifications(int userId) {
+        return notificationStreamHub.subscribe(userId, unreadCountCache.get(userId));
+    }
 
-        return notificationRepository.countByRecipientAndReadFalse(user);
+    /**
+     * Get unread notification count for user, from the cache once it is loaded
+     */
+    public long getUnreadCount(int userId) {
+        return unreadCountCache.get(userId);
     }
 
     /**
@@ -145,20 +167,14 @@ public class NotificationService {
     }
 
     /**
-     * Retry failed notifications
+     * Retry failed notifications now. Failed channels are retried on their own
+     * schedule anyway; this gives deliveries that ran out of attempts another
+     * round. Channels that already succeeded are not sent again.
      */
     public void retryFailedNotifications() {
         LocalDateTime cutoff = LocalDateTime.now().minusHours(24); // Don't retry notifications older than 24 hours
-        List<Notification> failedNotifications = notificationRepository.findFailedNotificationsForRetry(cutoff);
-
-        failedNotifications.forEach(notification -> {
-            try {
-                sendToAllChannels(notification);
-                log.info("Retried notification {}", notification.getId());
-            } catch (Exception e) {
-                log.error("Failed to retry notification {}", notification.getId(), e);
-            }
-        });
+        int rescheduled = notificationRetryWorker.retryFailed(cutoff);
+        log.info("Rescheduled {} failed notification deliveries", rescheduled);
     }
 
     private Notification createNotification(SendNotificationRequest request, User recipient) {
@@ -169,89 +185,9 @@ public class NotificationService {
             .content(request.getContent())
             .status(NotificationStatus.PENDING)
             .actionUrl(request.getActionUrl())
-            .metadata(request.getMetadata() != null ? request.getMetadata() : new HashMap<>())
+            .metadata(request.getMetadata() != null ? new HashMap<>(request.getMetadata()) : new HashMap<>())
             .read(false)
             .sentAt(LocalDateTime.now())
             .build();
     }
-
-    private void sendToAllChannels(Notification notification) {
-        List<String> channels = getChannelsFromMetadata(notification);
-
-        // Send to Mobile or Web (FCM)
-        if (channels.contains("mobile") || channels.contains("push")|| channels.contains("web") || channels.contains("browser")) {
-            sendPushNotification(notification);
-        }
-
-        // Send email
-        if (channels.contains("email")) {
-            sendEmailNotification(notification);
-        }
-
-        // Update status
-        notification.setStatus(NotificationStatus.SENT);
-        notificationRepository.save(notification);
-    }
-
-    private void sendPushNotification(Notification notification) {
-        List<DeviceToken> tokens = deviceTokenRepository.findByUser(notification.getRecipient());
-
-        if (tokens.isEmpty()) {
-            log.warn("No device tokens for user {}", notification.getRecipient().getId());
-            return;
-        }
-
-        for (DeviceToken deviceToken : tokens) {
-            try {
-                Map<String, String> data = new HashMap<>(notification.getMetadata());
-                data.put("notificationId", notification.getId().toString());
-                data.put("actionUrl", notification.getActionUrl());
-
-                Message message = Message.builder()
-                    .setToken(deviceToken.getToken())
-                    .putAllData(data)
-                    .setNotification(com.google.firebase.messaging.Notification.builder()
-                        .setTitle(notification.getTitle())
-                        .setBody(notification.getContent())
-                        .build())
-                    .build();
-
-                String response = firebaseMessaging.send(message);
-                log.info("Successfully sent mobile push notification: {}", response);
-
-            } catch (FirebaseMessagingException e) {
-                log.error("Error sending mobile push notification", e);
-                notification.setStatus(NotificationStatus.FAILED);
-            }
-        }
-    }
-
-    private void sendEmailNotification(Notification notification) {
-        try {
-            if (notification.getEmailAddress() == null) {
-                notification.setEmailAddress(notification.getRecipient().getEmail());
-            }
-
-            emailService.sendNotificationEmail(
-                notification.getEmailAddress(),
-                notification.getTitle(),
-                notification.getContent(),
-                notification.getActionUrl()
-            );
-
-            log.info("Successfully sent email notification for notification {}", notification.getId());
-
-        } catch (Exception e) {
-            log.error("Error sending email notification", e);
-            notification.setStatus(NotificationStatus.FAILED);
-        }
-    }
-
-    private List<String> getChannelsFromMetadata(Notification notification) {
-        String channelsStr = notification.getMetadata().get("channels");
-        if (channelsStr != null) {
-            return List.of(channelsStr.split(","));
-        }
-        return List.of("mobile", "web"); // Default channels
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+package com.coachera.backend.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.coachera.backend.dto.NotificationDTO;
+import com.coachera.backend.entity.Notification;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process fan-out of new notifications to connected Server-Sent Events
+ * streams, so clients do not have to poll.
+ *
+ * Subscribers are registered per user. Publishing only looks up the
+ * recipient's streams and hands each send to a virtual thread, so a slow
+ * client never holds up notification dispatch. A periodic heartbeat keeps
+ * idle connections open through proxies and drops the ones that are gone.
+ */
+@Slf4j
+@Component
+public class NotificationStreamHub {
+
+    public static final String EVENT_NOTIFICATION = "notification";
+    public static final String EVENT_UNREAD_COUNT = "unread-count";
+
+    private final Map<Integer, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutMs;
+
+    public NotificationStreamHub(@Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Open a stream for the user, starting with their unread count
+     */
+    public SseEmitter subscribe(int userId, long unreadCount) {
+        SseEmitter emitter = newEmitter(timeoutMs);
+        subscribers.compute(userId, (id, emitters) -> {
+            Set<SseEmitter> registered = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+            registered.add(emitter);
+            return registered;
+        });
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(userId, emitter));
+
+        send(userId, emitter, SseEmitter.event().name(EVENT_UNREAD_COUNT).data(unreadCount));
+        return emitter;
+    }
+
+    /**
+     * Push a new notification to the recipient's open streams, if any
+     */
+    public void publish(Notification notification) {
+        Integer userId = notification.getRecipient().getId();
+        Set<SseEmitter> emitters = subscribers.get(userId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        NotificationDTO dto = new NotificationDTO(notification);
+        for (SseEmitter emitter : emitters) {
+            senders.execute(() -> send(userId, emitter,
+                    SseEmitter.event().id(String.valueOf(dto.getId())).name(EVENT_NOTIFICATION).data(dto)));
+        }
+    }
+
+    /**
+     * Push the user's new unread count, e.g. after notifications were read on another device
+     */
+    public void publishUnreadCount(int userId, long unreadCount) {
+        Set<SseEmitter> emitters = subscribers.get(userId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            senders.execute(() -> send(userId, emitter, SseEmitter.event().name(EVENT_UNREAD_COUNT).data(unreadCount)));
+        }
+    }
+
+    public boolean isSubscribed(int userId) {
+        Set<SseEmitter> emitters = subscribers.get(userId);
+        return emitters != null && !emitters.isEmpty();
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.stream.heartbeat-ms:25000}", initialDelayString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach((userId, emitters) -> emitters.forEach(emitter ->
+                senders.execute(() -> send(userId, emitter, SseEmitter.event().comment("keep-alive")))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    // Tests substitute emitters that need no servlet container
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void send(int userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the container completes the request
+            log.debug("Dropping notification stream of user {}: {}", userId, e.getMessage());
+            unsubscribe(userId, emitter);
+        }
+    }
+
+    private void unsubscribe(int userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,254 @@
+package com.coachera.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie over entity labels for type-ahead suggestions.
+ *
+ * Every word-boundary suffix of a label is a key, so "java" matches "Intro to
+ * Java". Each node keeps the {@value #TOP_K} most popular entries below it,
+ * which makes a lookup a walk down the prefix with no subtree scan. Entries
+ * can be added, renamed and removed without rebuilding the trie.
+ */
+class PrefixTrie {
+
+    static final int TOP_K = 10;
+
+    // Longer prefixes share the node at this depth and are filtered on the label
+    private static final int MAX_KEY_LENGTH = 24;
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong((Entry entry) -> entry.popularity)
+            .reversed()
+            .thenComparingInt(entry -> entry.id);
+
+    /**
+     * Indexed label with its popularity
+     */
+    record Entry(int id, String label, long popularity, String normalized, List<String> keys) {
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Entry> terminal = new ArrayList<>(1);
+        private Entry[] top = NO_ENTRIES;
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    /**
+     * Add an entry, or replace the label and popularity of an existing one
+     */
+    void put(int id, String label, long popularity) {
+        String normalized = normalize(label);
+        Entry entry = new Entry(id, label, popularity, normalized, keysOf(normalized));
+
+        lock.writeLock().lock();
+        try {
+            Entry existing = entries.remove(id);
+            if (existing != null) {
+                unlink(existing);
+            }
+            if (entry.keys().isEmpty()) {
+                return;
+            }
+            entries.put(id, entry);
+            for (String key : entry.keys()) {
+                Node node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                    offer(node, entry);
+                }
+                node.terminal.add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Entry existing = entries.remove(id);
+            if (existing != null) {
+                unlink(existing);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Popularity of an indexed entry, or 0 if it is not indexed
+     */
+    long popularity(int id) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            return entry != null ? entry.popularity() : 0L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Most popular entries having a word that starts with {@code prefix}
+     */
+    List<Entry> complete(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String key = normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized;
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            List<Entry> result = new ArrayList<>(Math.min(limit, node.top.length));
+            for (Entry entry : node.top) {
+                if (result.size() == limit) {
+                    break;
+                }
+                if (key.length() == normalized.length() || matches(entry, normalized)) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    // Helper methods, callers must hold the write lock
+
+    private void unlink(Entry entry) {
+        // Drop the entry from its terminal nodes first, then repair the
+        // top lists bottom-up along every key path
+        List<List<Node>> paths = new ArrayList<>();
+        for (String key : entry.keys()) {
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+                if (node != null) {
+                    path.add(node);
+                }
+            }
+            if (node != null) {
+                node.terminal.removeIf(candidate -> candidate.id() == entry.id());
+            }
+            paths.add(path);
+        }
+
+        for (int k = 0; k < paths.size(); k++) {
+            List<Node> path = paths.get(k);
+            String key = entry.keys().get(k);
+            for (int depth = path.size() - 1; depth >= 1; depth--) {
+                Node node = path.get(depth);
+                if (contains(node.top, entry.id())) {
+                    recompute(node);
+                }
+                if (node.children.isEmpty() && node.terminal.isEmpty()) {
+                    path.get(depth - 1).children.remove(key.charAt(depth - 1));
+                }
+            }
+        }
+    }
+
+    private static void offer(Node node, Entry entry) {
+        Entry[] top = node.top;
+        if (contains(top, entry.id())) {
+            return;
+        }
+        if (top.length == TOP_K && RANKING.compare(entry, top[TOP_K - 1]) >= 0) {
+            return;
+        }
+        Entry[] next = Arrays.copyOf(top, Math.min(top.length + 1, TOP_K));
+        int i = Math.min(top.length, TOP_K - 1);
+        while (i > 0 && RANKING.compare(entry, next[i - 1]) < 0) {
+            next[i] = next[i - 1];
+            i--;
+        }
+        next[i] = entry;
+        node.top = next;
+    }
+
+    private static void recompute(Node node) {
+        Node rebuilt = new Node();
+        for (Entry entry : node.terminal) {
+            offer(rebuilt, entry);
+        }
+        for (Node child : node.children.values()) {
+            for (Entry entry : child.top) {
+                offer(rebuilt, entry);
+            }
+        }
+        node.top = rebuilt.top;
+    }
+
+    private static boolean contains(Entry[] top, int id) {
+        for (Entry entry : top) {
+            if (entry.id() == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(Entry entry, String normalized) {
+        return entry.normalized().startsWith(normalized) || entry.normalized().contains(" " + normalized);
+    }
+
+    private static List<String> keysOf(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        int start = 0;
+        while (start < normalized.length()) {
+            String suffix = normalized.substring(start);
+            keys.add(suffix.length() > MAX_KEY_LENGTH ? suffix.substring(0, MAX_KEY_LENGTH) : suffix);
+            int space = normalized.indexOf(' ', start);
+            if (space < 0) {
+                break;
+            }
+            start = space + 1;
+        }
+        return List.copyOf(keys);
+    }
+}
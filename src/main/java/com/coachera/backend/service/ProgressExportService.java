@@ -0,0 +1,273 @@
+package com.coachera.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import org.apache.coyote.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.coachera.backend.entity.Course;
+import com.coachera.backend.entity.User;
+import com.coachera.backend.exception.ResourceNotFoundException;
+import com.coachera.backend.repository.CourseRepository;
+import com.coachera.backend.repository.LearningPathRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Progress exports of an organization's enrollments, one row per enrollment.
+ *
+ * Rows are read through a server-side cursor (fetch size set, read-only
+ * transaction) and written to the response as they arrive, so memory use
+ * does not depend on the size of the export. Access is checked before the
+ * response starts; the query runs when the response body is written.
+ */
+@Slf4j
+@Service
+public class ProgressExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) throws BadRequestException {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new BadRequestException("Unsupported export format: " + value);
+        }
+    }
+
+    private static final String[] COLUMNS = { "enrollment_id", "course_id", "course_title", "student_id",
+            "first_name", "last_name", "email", "enrolled_at", "progress", "completed", "completion_date",
+            "completed_materials" };
+
+    private static final String EXPORT_SQL = "SELECT e.id AS enrollment_id, c.id AS course_id, c.title AS course_title, "
+            + "s.id AS student_id, s.first_name, s.last_name, u.email, e.created_at AS enrolled_at, "
+            + "COALESCE(cc.progress, 0) AS progress, COALESCE(cc.completed, false) AS completed, cc.completion_date, "
+            + "cc.completed_materials "
+            + "FROM enrollments e JOIN courses c ON c.id = e.course_id JOIN students s ON s.id = e.student_id "
+            + "JOIN users u ON u.id = s.user_id LEFT JOIN course_completion cc ON cc.enrollment_id = e.id ";
+
+    private static final String BY_COURSE = "WHERE e.course_id = ? ORDER BY e.id";
+    private static final String BY_ORGANIZATION = "WHERE c.org_id = ? ORDER BY c.id, e.id";
+    private static final String BY_LEARNING_PATH = "WHERE e.course_id IN "
+            + "(SELECT lpc.course_id FROM learning_path_courses lpc WHERE lpc.learning_path_id = ?) ORDER BY c.id, e.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CourseRepository courseRepository;
+    private final LearningPathRepository learningPathRepository;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final int fetchSize;
+
+    public ProgressExportService(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            CourseRepository courseRepository,
+            LearningPathRepository learningPathRepository,
+            @Value("${app.exports.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.courseRepository = courseRepository;
+        this.learningPathRepository = learningPathRepository;
+        this.fetchSize = fetchSize;
+    }
+
+    public StreamingResponseBody exportCourse(User user, Integer courseId, Format format) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        if (!course.getOrg().getId().equals(organizationIdOf(user))) {
+            throw new AccessDeniedException("Your organization doesn't own this course");
+        }
+        return stream(BY_COURSE, courseId, format);
+    }
+
+    public StreamingResponseBody exportOrganization(User user, Format format) {
+        return stream(BY_ORGANIZATION, organizationIdOf(user), format);
+    }
+
+    public StreamingResponseBody exportLearningPath(User user, Integer learningPathId, Format format) {
+        learningPathRepository.findByIdAndOrganizationId(learningPathId, organizationIdOf(user))
+                .orElseThrow(() -> new ResourceNotFoundException("Learning path not found with id: " + learningPathId));
+        return stream(BY_LEARNING_PATH, learningPathId, format);
+    }
+
+    private static Integer organizationIdOf(User user) {
+        if (user.getOrganization() == null) {
+            throw new AccessDeniedException("Only organizations can export progress");
+        }
+        return user.getOrganization().getId();
+    }
+
+    private StreamingResponseBody stream(String filter, Integer id, Format format) {
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+            long[] count = new long[1];
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(EXPORT_SQL + filter,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    statement.setInt(1, id);
+                    return statement;
+                }, (ResultSet rs) -> {
+                    try {
+                        rows.write(rs);
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+                rows.finish();
+            } catch (UncheckedIOException e) {
+                // Typically the client went away; the cursor is closed with the transaction
+                log.info("Progress export aborted after {} rows: {}", count[0], e.getCause().getMessage());
+                throw e.getCause();
+            }
+            log.debug("Exported {} enrollment rows as {}", count[0], format);
+        };
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private boolean headerWritten;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            if (!headerWritten) {
+                writer.write(String.join(",", COLUMNS));
+                writer.write("\r\n");
+                headerWritten = true;
+            }
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = valueOf(rs, i + 1);
+                if (value instanceof String text) {
+                    writeField(neutralizeFormula(text));
+                } else if (value != null) {
+                    writeField(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!headerWritten) {
+                writer.write(String.join(",", COLUMNS));
+                writer.write("\r\n");
+            }
+            writer.flush();
+        }
+
+        // Spreadsheets evaluate cells starting with these as formulas, e.g. a student named "=HYPERLINK(...)"
+        private static String neutralizeFormula(String value) {
+            if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+                return "'" + value;
+            }
+            return value;
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = jsonFactory.createGenerator(writer);
+            // One object per line instead of space-separated root values
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                Object value = valueOf(rs, i + 1);
+                generator.writeFieldName(COLUMNS[i]);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.toString());
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    // Timestamps as ISO-8601 local date-times, like the JSON API
+    private static Object valueOf(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof java.sql.Timestamp) {
+            return rs.getObject(column, LocalDateTime.class);
+        }
+        return value;
+    }
+}
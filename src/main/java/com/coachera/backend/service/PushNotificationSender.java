@@ -0,0 +1,122 @@
+package com.coachera.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.coachera.backend.entity.DeviceToken;
+import com.coachera.backend.entity.Notification;
+import com.coachera.backend.repository.DeviceTokenRepository;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends a push notification to a set of devices in multicast batches of up
+ * to 500 tokens. The SDK still sends one FCM request per token, concurrently
+ * over a shared connection pool; a batch is one call here and one combined
+ * response. Tokens that FCM reports as no longer registered are deleted.
+ */
+@Slf4j
+@Component
+public class PushNotificationSender {
+
+    // FCM accepts at most this many tokens per multicast message
+    static final int MAX_BATCH_SIZE = 500;
+
+    private static final Set<MessagingErrorCode> STALE_TOKEN_ERRORS = Set.of(
+            MessagingErrorCode.UNREGISTERED, MessagingErrorCode.SENDER_ID_MISMATCH);
+
+    /**
+     * Outcome of one send: stale tokens are counted as pruned, not as failed
+     */
+    public record Result(int successCount, int failureCount, int prunedCount) {
+
+        /**
+         * Whether the notification reached every device that is still registered
+         */
+        public boolean isDelivered() {
+            return failureCount == 0;
+        }
+    }
+
+    private final FirebaseMessaging firebaseMessaging;
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final int batchSize;
+
+    public PushNotificationSender(FirebaseMessaging firebaseMessaging, DeviceTokenRepository deviceTokenRepository,
+            @Value("${app.notifications.push-batch-size:500}") int batchSize) {
+        this.firebaseMessaging = firebaseMessaging;
+        this.deviceTokenRepository = deviceTokenRepository;
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+    }
+
+    public Result send(Notification notification, List<DeviceToken> tokens) {
+        Map<String, String> data = new HashMap<>();
+        notification.getMetadata().forEach((key, value) -> {
+            if (value != null) {
+                data.put(key, value);
+            }
+        });
+        data.put("notificationId", notification.getId().toString());
+        if (notification.getActionUrl() != null) {
+            data.put("actionUrl", notification.getActionUrl());
+        }
+        com.google.firebase.messaging.Notification payload = com.google.firebase.messaging.Notification.builder()
+                .setTitle(notification.getTitle())
+                .setBody(notification.getContent())
+                .build();
+
+        int succeeded = 0;
+        int failed = 0;
+        List<Long> stale = new ArrayList<>();
+        for (int from = 0; from < tokens.size(); from += batchSize) {
+            List<DeviceToken> batch = tokens.subList(from, Math.min(from + batchSize, tokens.size()));
+            MulticastMessage message = MulticastMessage.builder()
+                    .addAllTokens(batch.stream().map(DeviceToken::getToken).toList())
+                    .putAllData(data)
+                    .setNotification(payload)
+                    .build();
+            try {
+                BatchResponse response = firebaseMessaging.sendEachForMulticast(message);
+                // Responses are in the order of the tokens
+                List<SendResponse> responses = response.getResponses();
+                for (int i = 0; i < responses.size(); i++) {
+                    SendResponse sendResponse = responses.get(i);
+                    if (sendResponse.isSuccessful()) {
+                        succeeded++;
+                    } else if (isStale(sendResponse.getException())) {
+                        stale.add(batch.get(i).getId());
+                    } else {
+                        failed++;
+                        log.warn("Push notification {} failed for a device: {}", notification.getId(),
+                                sendResponse.getException() != null ? sendResponse.getException().getMessage() : null);
+                    }
+                }
+            } catch (FirebaseMessagingException e) {
+                log.error("Error sending push notification {} to {} devices", notification.getId(), batch.size(), e);
+                failed += batch.size();
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            deviceTokenRepository.deleteAllByIdInBatch(stale);
+            log.info("Pruned {} unregistered device tokens of user {}", stale.size(), notification.getRecipient().getId());
+        }
+        return new Result(succeeded, failed, stale.size());
+    }
+
+    private static boolean isStale(FirebaseMessagingException e) {
+        return e != null && STALE_TOKEN_ERRORS.contains(e.getMessagingErrorCode());
+    }
+}
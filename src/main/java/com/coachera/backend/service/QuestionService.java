@@ -33,6 +33,7 @@ public class QuestionService {
     private final QuizRepository quizRepository;
     private final UserRepository userRepository;
     private final InstructorRepository instructorRepository;
+    private final QuizAnswerKeyCache answerKeyCache;
 
     public QuestionDTO createQuestion(Integer quizId, QuestionRequestDTO questionDTO, User user) {
         Quiz quiz = quizRepository.findById(quizId)
@@ -54,6 +55,7 @@ public class QuestionService {
         question.setCorrectAnswerIndex(questionDTO.getCorrectAnswerIndex());
 
         Question savedQuestion = questionRepository.save(question);
+        answerKeyCache.invalidate(quizId);
         return new QuestionDTO(savedQuestion);
     }
 
@@ -75,6 +77,7 @@ public class QuestionService {
         question.setCorrectAnswerIndex(questionDTO.getCorrectAnswerIndex());
 
         Question updatedQuestion = questionRepository.save(question);
+        answerKeyCache.invalidate(question.getQuiz().getId());
         return new QuestionDTO(updatedQuestion);
     }
 
@@ -103,6 +106,7 @@ public class QuestionService {
             throw new AccessDeniedException("You are not allowed to delete this question");
         }
         questionRepository.delete(question);
+        answerKeyCache.invalidate(question.getQuiz().getId());
     }
 
     private void validateQuestion(QuestionRequestDTO questionDTO) {
@@ -0,0 +1,116 @@
+package com.coachera.backend.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.coachera.backend.repository.QuestionRepository;
+import com.coachera.backend.repository.QuizRepository;
+
+/**
+ * Answer keys of quizzes, so grading a submission is an array lookup instead
+ * of loading the quiz, its questions and the material-to-course chain.
+ *
+ * A key is loaded with two row queries on first use and kept until its
+ * questions change. Entries also expire after a TTL, which bounds staleness
+ * when another instance made the change or the material moved course.
+ */
+@Component
+public class QuizAnswerKeyCache {
+
+    /**
+     * Immutable answer key: question ids in ascending order, with the correct
+     * answer index of each at the same position
+     */
+    public record AnswerKey(int quizId, int materialId, int courseId, int[] questionIds, int[] correctIndexes) {
+
+        public int questionCount() {
+            return questionIds.length;
+        }
+
+        /**
+         * Correct answer index of the question, or -1 if it is not part of this quiz
+         */
+        public int correctIndexOf(long questionId) {
+            if (questionId < Integer.MIN_VALUE || questionId > Integer.MAX_VALUE) {
+                return -1;
+            }
+            int position = Arrays.binarySearch(questionIds, (int) questionId);
+            return position >= 0 ? correctIndexes[position] : -1;
+        }
+    }
+
+    private record Entry(AnswerKey key, long expiresAtMillis) {
+    }
+
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+    private final Map<Integer, Entry> keys = new ConcurrentHashMap<>();
+    // Bumped on every invalidation; a key loaded under an older generation is not cached
+    private final Map<Integer, Long> generations = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public QuizAnswerKeyCache(QuizRepository quizRepository, QuestionRepository questionRepository,
+            @Value("${app.quizzes.answer-key-ttl-seconds:600}") long ttlSeconds) {
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public AnswerKey get(Integer quizId) {
+        long now = System.currentTimeMillis();
+        Entry entry = keys.get(quizId);
+        if (entry == null || entry.expiresAtMillis() <= now) {
+            long generation = generations.getOrDefault(quizId, 0L);
+            Entry loaded = new Entry(load(quizId), now + ttlMillis);
+            keys.compute(quizId, (id, current) -> generations.getOrDefault(id, 0L) == generation ? loaded : current);
+            return loaded.key();
+        }
+        return entry.key();
+    }
+
+    /**
+     * Forget the key after questions of the quiz were added, changed or
+     * removed. Evicted again once the transaction commits; a load that
+     * started before either eviction still grades its own submission but is
+     * not cached, so later submissions always see the committed questions.
+     */
+    public void invalidate(Integer quizId) {
+        evict(quizId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(quizId);
+                }
+            });
+        }
+    }
+
+    private void evict(Integer quizId) {
+        // Generation first: a load finishing after this point sees the new one and is dropped
+        generations.merge(quizId, 1L, Long::sum);
+        keys.remove(quizId);
+    }
+
+    private AnswerKey load(Integer quizId) {
+        List<Object[]> owner = quizRepository.findMaterialAndCourseRowById(quizId);
+        if (owner.isEmpty()) {
+            throw new IllegalArgumentException("Quiz not found");
+        }
+        List<Object[]> answers = questionRepository.findAnswerRowsByQuizId(quizId);
+        int[] questionIds = new int[answers.size()];
+        int[] correctIndexes = new int[answers.size()];
+        for (int i = 0; i < answers.size(); i++) {
+            questionIds[i] = (Integer) answers.get(i)[0];
+            correctIndexes[i] = (Integer) answers.get(i)[1];
+        }
+        return new AnswerKey(quizId, (Integer) owner.get(0)[0], (Integer) owner.get(0)[1], questionIds, correctIndexes);
+    }
+}
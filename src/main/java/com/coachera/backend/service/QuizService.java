@@ -33,6 +33,7 @@ public class QuizService {
     private final InstructorRepository instructorRepository;
 
     private final QuestionService questionService;
+    private final QuizAnswerKeyCache answerKeyCache;
 
     public QuizResponseDTO createQuiz(QuizDTO quizDTO, User user) {
         Material material = materialRepository.findById(quizDTO.getMaterialId())
@@ -82,6 +83,7 @@ public class QuizService {
         }
 
         quizRepository.delete(quiz);
+        answerKeyCache.invalidate(quizId);
     }
 
     // Helper method
@@ -1,32 +1,19 @@
 package com.coachera.backend.service;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.coachera.backend.dto.*;
 import com.coachera.backend.entity.Enrollment;
-import com.coachera.backend.entity.Material;
-import com.coachera.backend.entity.MaterialCompletion;
-import com.coachera.backend.entity.Question;
-import com.coachera.backend.entity.Quiz;
 import com.coachera.backend.entity.Student;
 import com.coachera.backend.entity.User;
-import com.coachera.backend.entity.enums.CompletionState;
-import com.coachera.backend.entity.enums.CompletionTriggerType;
 import com.coachera.backend.exception.ResourceNotFoundException;
 import com.coachera.backend.repository.EnrollmentRepository;
-import com.coachera.backend.repository.MaterialCompletionRepository;
-import com.coachera.backend.repository.MaterialRepository;
-import com.coachera.backend.repository.QuizRepository;
 import com.coachera.backend.repository.StudentRepository;
+import com.coachera.backend.service.QuizAnswerKeyCache.AnswerKey;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,54 +21,45 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class QuizVerificationService {
 
-    private final QuizRepository quizRepository;
+    private final QuizAnswerKeyCache answerKeyCache;
     private final EnrollmentRepository enrollmentRepository;
-    private final MaterialRepository materialRepository;
-    private final MaterialCompletionRepository materialCompletionRepository;
+    private final CompletionService completionService;
     private final StudentRepository studentRepository;
 
     @Transactional
     public QuizResultDTO verifyAnswers(QuizSubmissionDTO request, User user) {
-        Quiz quiz = quizRepository.findById(request.getQuizId().intValue())
-                .orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
+        AnswerKey answerKey = answerKeyCache.get(request.getQuizId().intValue());
 
         Student testTaker = studentRepository.findByUserId(user.getId());
-                
-
-        Set<Question> quizQuestions = quiz.getQuestions();
-        Map<Long, Question> questionMap = quizQuestions.stream()
-                .collect(Collectors.toMap(q -> q.getId().longValue(), q -> q));
 
         int correctCount = 0;
         List<QuestionResultDTO> results = new ArrayList<>();
 
         for (QuestionSubmissionDTO answer : request.getQuestions()) {
-            Question question = questionMap.get(answer.getQuestionId());
+            int correctIndex = answerKey.correctIndexOf(answer.getQuestionId());
 
-            if (question == null) {
+            if (correctIndex < 0) {
                 throw new IllegalArgumentException(
-                        "Question " + answer.getQuestionId() + " does not belong to Quiz " + quiz.getId());
+                        "Question " + answer.getQuestionId() + " does not belong to Quiz " + answerKey.quizId());
             }
 
-            boolean isCorrect = question.getCorrectAnswerIndex() == answer.getAnswerIndex();
+            boolean isCorrect = answer.getAnswerIndex() != null && correctIndex == answer.getAnswerIndex();
             if (isCorrect) {
                 correctCount++;
             }
 
             QuestionResultDTO result = new QuestionResultDTO();
-            result.setQuestionId(question.getId().longValue());
+            result.setQuestionId(answer.getQuestionId());
             result.setCorrect(isCorrect);
             results.add(result);
         }
 
-        int total = quizQuestions.size();
+        int total = answerKey.questionCount();
         double percentage = total == 0 ? 0 : (correctCount * 100.0 / total);
 
         // Storing score
         Integer studentId = testTaker.getId();
-        Integer materialId = quiz.getMaterial().getId();
-        Integer courseId = quiz.getMaterial().getSection().getModule().getCourse().getId();
-        markMaterialComplete(studentId, courseId, materialId, percentage);
+        markMaterialComplete(studentId, answerKey.courseId(), answerKey.materialId(), percentage);
 
         QuizResultDTO response = new QuizResultDTO();
         response.setQuizId(request.getQuizId());
@@ -93,45 +71,12 @@ public class QuizVerificationService {
         return response;
     }
 
-    public boolean isQuizPassed(Enrollment enrollment, Material material) {
-        Optional<MaterialCompletion> existingCompletion = materialCompletionRepository
-                .findByEnrollmentAndMaterial(enrollment, material);
-        if (existingCompletion.isPresent() &&
-                existingCompletion.get().getCompletionState() == CompletionState.COMPLETE_PASS) {
-            return true;
-        }
-        return false;
-    }
-
     @Transactional
     public void markMaterialComplete(Integer studentId, Integer courseId, Integer materialId, double percentage) {
         Enrollment enrollment = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Enrollment not found for student: " + studentId + " in course " + courseId));
 
-        Material material = materialRepository.findById(materialId)
-                .orElseThrow(() -> new ResourceNotFoundException("Material not found with id: " + materialId));
-
-        MaterialCompletion completion = materialCompletionRepository
-                .findByEnrollmentAndMaterial(enrollment, material)
-                .orElseGet(() -> {
-                    MaterialCompletion newCompletion = new MaterialCompletion();
-                    newCompletion.setEnrollment(enrollment);
-                    newCompletion.setMaterial(material);
-                    return newCompletion;
-                });
-
-        completion.setCompletionDate(LocalDateTime.now());
-        completion.setTriggerType(CompletionTriggerType.GRADE);
-
-        if (percentage > 70) {
-            completion.setCompleted(true);
-            completion.setCompletionState(CompletionState.COMPLETE_PASS);
-        } else {
-            completion.setCompleted(false);
-            completion.setCompletionState(CompletionState.COMPLETE_FAIL);
-        }
-
-        materialCompletionRepository.save(completion);
+        completionService.recordQuizResult(enrollment, materialId, percentage > 70);
     }
 }
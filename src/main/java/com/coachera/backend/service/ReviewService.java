@@ -23,14 +23,17 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final CourseRepository courseRepository;
     private final StudentRepository studentRepository;
+    private final TrendingService trendingService;
 
     public ReviewService(ReviewRepository reviewRepository,
                         CourseRepository courseRepository,
-                        StudentRepository studentRepository
+                        StudentRepository studentRepository,
+                        TrendingService trendingService
                         ) {
         this.reviewRepository = reviewRepository;
         this.courseRepository = courseRepository;
         this.studentRepository = studentRepository;
+        this.trendingService = trendingService;
     }
 
     public ReviewDTO createReview(ReviewRequestDTO reviewDTO,User user) {
@@ -52,6 +55,8 @@ public class ReviewService {
         review.setComment(reviewDTO.getComment());
 
         Review savedReview = reviewRepository.save(review);
+        Integer courseId = course.getId();
+        AfterCommit.run(() -> trendingService.recordReview(courseId));
         return new ReviewDTO(savedReview);
     }
 
@@ -9,6 +9,8 @@ import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,10 +27,15 @@ import jakarta.persistence.criteria.Root;
 public class SearchService {
 
     private final EntityManager entityManager;
+    private final FullTextSearchService fullTextSearchService;
+    private final SearchSqlSupport searchSqlSupport;
     private final Map<Class<?>, Function<?, ?>> dtoMappers = new java.util.HashMap<>();
 
-    public SearchService(EntityManager entityManager) {
+    public SearchService(EntityManager entityManager, FullTextSearchService fullTextSearchService,
+            SearchSqlSupport searchSqlSupport) {
         this.entityManager = entityManager;
+        this.fullTextSearchService = fullTextSearchService;
+        this.searchSqlSupport = searchSqlSupport;
         // Register DTO mappers
         registerDtoMapper(Course.class, CourseDTO::new);
         registerDtoMapper(Student.class, StudentDTO::new);
@@ -53,7 +60,7 @@ public class SearchService {
 
     @Transactional(readOnly = true)
     @SuppressWarnings("unchecked")
-    public <T, D> Page<D> search(Class<T> entityClass, SearchRequest searchRequest) {
+    public <T, D> Slice<D> search(Class<T> entityClass, SearchRequest searchRequest) {
         if (entityClass.equals(com.coachera.backend.entity.Course.class)) {
             // Ensure the filter for published courses is always applied
             searchRequest.getFilters().put("isPublished", true);
@@ -84,21 +91,18 @@ public class SearchService {
             cq.orderBy(orders);
         }
 
-        // Build count query with separate root and predicates
-        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-        Root<T> countRoot = countQuery.from(entityClass);
-        List<Predicate> countPredicates = buildPredicates(cb, countRoot, searchRequest);
-        countQuery.select(cb.count(countRoot));
-        if (!countPredicates.isEmpty()) {
-            countQuery.where(countPredicates.toArray(new Predicate[0]));
-        }
-        Long total = entityManager.createQuery(countQuery).getSingleResult();
+        String countMode = searchRequest.getCountMode();
+        boolean counted = !SearchRequest.COUNT_NONE.equalsIgnoreCase(countMode);
 
-        // Execute main query
+        // Execute main query; without a count, one extra row tells whether there is a next page
         List<T> results = entityManager.createQuery(cq)
                 .setFirstResult((int) pageable.getOffset())
-                .setMaxResults(pageable.getPageSize())
+                .setMaxResults(counted ? pageable.getPageSize() : pageable.getPageSize() + 1)
                 .getResultList();
+        boolean hasNext = !counted && results.size() > pageable.getPageSize();
+        if (hasNext) {
+            results = results.subList(0, pageable.getPageSize());
+        }
 
         // Map results to DTOs
         Function<T, D> mapper = (Function<T, D>) dtoMappers.get(entityClass);
@@ -107,9 +111,102 @@ public class SearchService {
         }
         List<D> dtoResults = results.stream().map(mapper).collect(Collectors.toList());
 
+        if (!counted) {
+            return new SliceImpl<>(dtoResults, pageable, hasNext);
+        }
+        long total = SearchRequest.COUNT_ESTIMATED.equalsIgnoreCase(countMode)
+                ? estimateTotal(entityClass, searchRequest)
+                : countTotal(cb, entityClass, searchRequest);
         return new PageImpl<>(dtoResults, pageable, total);
     }
 
+    public boolean supportsFullText(Class<?> entityClass) {
+        return fullTextSearchService.supports(entityClass);
+    }
+
+    /**
+     * Ranked full-text search: results are ordered by relevance and carry a
+     * highlighted snippet of the matched text
+     */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public <T, D> Slice<SearchHitDTO<D>> searchFullText(Class<T> entityClass, SearchRequest searchRequest) {
+        if (entityClass.equals(com.coachera.backend.entity.Course.class)) {
+            // Ensure the filter for published courses is always applied
+            searchRequest.getFilters().put("isPublished", true);
+        }
+
+        Function<T, D> mapper = (Function<T, D>) dtoMappers.get(entityClass);
+        if (mapper == null) {
+            throw new IllegalArgumentException("No DTO mapper registered for entity class: " + entityClass.getName());
+        }
+
+        Slice<Object[]> hits = fullTextSearchService.search(entityClass, searchRequest.getSearchTerm(),
+                searchRequest.getFilters(), searchRequest.toPageable(), searchRequest.getCountMode());
+
+        // Load the page's entities in one query, then restore the relevance order
+        Map<Object, T> entitiesById = new java.util.HashMap<>();
+        if (hits.hasContent()) {
+            List<Object> ids = hits.getContent().stream().map(hit -> hit[0]).collect(Collectors.toList());
+            String entityName = entityManager.getMetamodel().entity(entityClass).getName();
+            for (T entity : entityManager
+                    .createQuery("SELECT e FROM " + entityName + " e WHERE e.id IN :ids", entityClass)
+                    .setParameter("ids", ids)
+                    .getResultList()) {
+                entitiesById.put(entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity),
+                        entity);
+            }
+        }
+
+        List<SearchHitDTO<D>> results = new ArrayList<>();
+        for (Object[] hit : hits.getContent()) {
+            T entity = entitiesById.get(hit[0]);
+            if (entity != null) {
+                results.add(new SearchHitDTO<>(mapper.apply(entity), ((Number) hit[1]).doubleValue(), (String) hit[2]));
+            }
+        }
+        if (hits instanceof Page<Object[]> page) {
+            return new PageImpl<>(results, page.getPageable(), page.getTotalElements());
+        }
+        return new SliceImpl<>(results, hits.getPageable(), hits.hasNext());
+    }
+
+    private <T> long countTotal(CriteriaBuilder cb, Class<T> entityClass, SearchRequest searchRequest) {
+        // Build count query with separate root and predicates
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<T> countRoot = countQuery.from(entityClass);
+        List<Predicate> countPredicates = buildPredicates(cb, countRoot, searchRequest);
+        countQuery.select(cb.count(countRoot));
+        if (!countPredicates.isEmpty()) {
+            countQuery.where(countPredicates.toArray(new Predicate[0]));
+        }
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+
+    /**
+     * Planner estimate of the number of matches, using the same predicates as
+     * {@link #buildPredicates} in native SQL
+     */
+    private long estimateTotal(Class<?> entityClass, SearchRequest searchRequest) {
+        Map<String, Object> parameters = new java.util.HashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT 1 FROM ")
+                .append(searchSqlSupport.table(entityClass))
+                .append(" t WHERE TRUE");
+
+        if (searchRequest.getSearchTerm() != null && !searchRequest.getSearchTerm().isEmpty()) {
+            List<String> columns = searchSqlSupport.stringColumns(entityClass);
+            if (!columns.isEmpty()) {
+                sql.append(columns.stream()
+                        .map(column -> "lower(t." + column + ") LIKE :term")
+                        .collect(Collectors.joining(" OR ", " AND (", ")")));
+                parameters.put("term", "%" + searchRequest.getSearchTerm().toLowerCase() + "%");
+            }
+        }
+        sql.append(searchSqlSupport.filters(entityClass, searchRequest.getFilters(), parameters));
+
+        return searchSqlSupport.estimateCount(sql.toString(), parameters);
+    }
+
     private <T> List<Predicate> buildPredicates(CriteriaBuilder cb, Root<T> root, SearchRequest searchRequest) {
         List<Predicate> predicates = new ArrayList<>();
 
@@ -0,0 +1,121 @@
+package com.coachera.backend.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Native SQL helpers shared by the search modes: resolving entity attributes
+ * to columns through the Hibernate mapping, and asking the Postgres planner
+ * for row estimates instead of running {@code count(*)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchSqlSupport {
+
+    // Below this estimate an exact count is cheap enough to run
+    static final long EXACT_COUNT_THRESHOLD = 1_000;
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final EntityManager entityManager;
+
+    public String table(Class<?> entityClass) {
+        return persister(entityClass).getTableName();
+    }
+
+    /**
+     * Columns of the entity's own string attributes, the ones the contains
+     * search mode matches against
+     */
+    public List<String> stringColumns(Class<?> entityClass) {
+        AbstractEntityPersister persister = persister(entityClass);
+        return entityManager.getMetamodel().entity(entityClass).getDeclaredSingularAttributes().stream()
+                .filter(attr -> attr.getJavaType() == String.class)
+                .map(attr -> persister.getPropertyColumnNames(attr.getName())[0])
+                .toList();
+    }
+
+    /**
+     * SQL conditions (each prefixed with AND) for the request filters on alias
+     * {@code t}, with the same semantics as the Criteria search: strings are
+     * matched case-insensitively as substrings, other values by equality
+     */
+    public String filters(Class<?> entityClass, Map<String, Object> filters, Map<String, Object> parameters) {
+        if (filters == null || filters.isEmpty()) {
+            return "";
+        }
+        AbstractEntityPersister persister = persister(entityClass);
+
+        StringBuilder sql = new StringBuilder();
+        int i = 0;
+        for (Map.Entry<String, Object> filter : filters.entrySet()) {
+            if (filter.getValue() == null) {
+                continue;
+            }
+            String[] columns;
+            try {
+                columns = persister.getPropertyColumnNames(filter.getKey());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Unknown filter field: " + filter.getKey());
+            }
+            if (columns.length != 1) {
+                throw new IllegalArgumentException("Unsupported filter field: " + filter.getKey());
+            }
+            String parameter = "filter" + i++;
+            if (filter.getValue() instanceof String value) {
+                sql.append(" AND lower(t.").append(columns[0]).append(") LIKE :").append(parameter);
+                parameters.put(parameter, "%" + value.toLowerCase() + "%");
+            } else {
+                sql.append(" AND t.").append(columns[0]).append(" = :").append(parameter);
+                parameters.put(parameter, filter.getValue());
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Row count of {@code sql} as estimated by the planner, without running it
+     */
+    public long estimateRows(String sql, Map<String, Object> parameters) {
+        Query explain = entityManager.createNativeQuery("EXPLAIN " + sql);
+        parameters.forEach(explain::setParameter);
+        // The first plan line is the top node, e.g. "Seq Scan on courses t  (cost=0.00..1.05 rows=5 width=4)"
+        Object topNode = explain.getResultList().get(0);
+        Matcher rows = PLAN_ROWS.matcher(topNode.toString());
+        if (!rows.find()) {
+            throw new IllegalStateException("Could not read the row estimate from: " + topNode);
+        }
+        return Long.parseLong(rows.group(1));
+    }
+
+    /**
+     * Planner estimate for large results, exact count when the estimate is small
+     */
+    public long estimateCount(String sql, Map<String, Object> parameters) {
+        long estimate = estimateRows(sql, parameters);
+        return estimate >= EXACT_COUNT_THRESHOLD ? estimate : exactCount(sql, parameters);
+    }
+
+    public long exactCount(String sql, Map<String, Object> parameters) {
+        Query count = entityManager.createNativeQuery("SELECT COUNT(*) FROM (" + sql + ") counted");
+        parameters.forEach(count::setParameter);
+        return ((Number) count.getSingleResult()).longValue();
+    }
+
+    private AbstractEntityPersister persister(Class<?> entityClass) {
+        return (AbstractEntityPersister) entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+    }
+}
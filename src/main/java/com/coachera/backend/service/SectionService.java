@@ -35,6 +35,7 @@ public class SectionService {
 
     private final UserRepository userRepository;
     private final InstructorRepository instructorRepository;
+    private final CourseMaterialCountCache materialCountCache;
 
     public SectionDTO createSection(SectionDTO sectionDTO, User user) {
         Module module = moduleRepository.findById(sectionDTO.getModuleId())
@@ -75,8 +76,13 @@ public class SectionService {
            sectionDTO.getMaterialIds().forEach(materialId -> {
                 Material material = materialRepository.findById(materialId)
                         .orElseThrow(() -> new ResourceNotFoundException("Instructor not found with ID: " + sectionId));
+                if (material.getSection() != null) {
+                    // Moved away from its course
+                    materialCountCache.invalidate(material.getSection().getModule().getCourse().getId());
+                }
                 section.addMaterial(material);
             });
+            materialCountCache.invalidate(section.getModule().getCourse().getId());
         }
 
         Section updatedSection = sectionRepository.save(section);
@@ -110,6 +116,7 @@ public class SectionService {
         }
 
         sectionRepository.delete(section);
+        materialCountCache.invalidate(section.getModule().getCourse().getId());
     }
 
     private boolean isInstructorOfCourse(User user, Course course) {
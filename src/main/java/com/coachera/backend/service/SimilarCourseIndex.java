@@ -0,0 +1,268 @@
+package com.coachera.backend.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coachera.backend.entity.Course;
+import com.coachera.backend.repository.CourseCategoryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inverted index from category to published course ids, used to find similar
+ * courses.
+ *
+ * Only courses that share at least one category with the target are scored
+ * (Jaccard similarity of their category sets), and the best of them are kept
+ * in a bounded heap. The top {@value #CACHED_LIMIT} results per course are
+ * cached until a course sharing one of its categories changes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SimilarCourseIndex {
+
+    static final int CACHED_LIMIT = 50;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final CourseCategoryRepository courseCategoryRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Sorted posting lists: category id -> published course ids
+    private final Map<Integer, int[]> coursesByCategory = new HashMap<>();
+    // Sorted category ids of every published course
+    private final Map<Integer, int[]> categoriesByCourse = new HashMap<>();
+
+    private final Map<Integer, CourseFeatureIndex.RankedCourses> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Build the posting lists from the published course/category pairs
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Object[]> pairs = courseCategoryRepository.findPublishedCourseCategoryPairs();
+
+        lock.writeLock().lock();
+        try {
+            coursesByCategory.clear();
+            categoriesByCourse.clear();
+            cache.clear();
+            for (Object[] row : pairs) {
+                int courseId = (Integer) row[0];
+                int categoryId = (Integer) row[1];
+                coursesByCategory.put(categoryId, insert(coursesByCategory.get(categoryId), courseId));
+                categoriesByCourse.put(courseId, insert(categoriesByCourse.get(courseId), categoryId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Similar course index built for {} categories", coursesByCategory.size());
+    }
+
+    /**
+     * Add or refresh a course after it was published
+     */
+    public void upsertCourse(Course course) {
+        if (!course.getIsPublished()) {
+            removeCourse(course.getId());
+            return;
+        }
+        int[] categoryIds = loadCategoryIds(course.getId());
+
+        lock.writeLock().lock();
+        try {
+            // Courses that shared an old category are no longer as similar either
+            int[] oldCategoryIds = unlink(course.getId());
+            invalidateNeighbours(course.getId(), oldCategoryIds);
+            if (categoryIds.length > 0) {
+                categoriesByCourse.put(course.getId(), categoryIds);
+                for (int categoryId : categoryIds) {
+                    coursesByCategory.put(categoryId, insert(coursesByCategory.get(categoryId), course.getId()));
+                }
+            }
+            invalidateNeighbours(course.getId(), categoryIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a course that was unpublished or deleted
+     */
+    public void removeCourse(Integer courseId) {
+        lock.writeLock().lock();
+        try {
+            int[] categoryIds = unlink(courseId);
+            invalidateNeighbours(courseId, categoryIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a deleted category from every posting list
+     */
+    public void onCategoryDeleted(Integer categoryId) {
+        lock.writeLock().lock();
+        try {
+            int[] courseIds = coursesByCategory.remove(categoryId);
+            if (courseIds == null) {
+                return;
+            }
+            for (int courseId : courseIds) {
+                int[] remaining = remove(categoriesByCourse.get(courseId), categoryId);
+                if (remaining.length == 0) {
+                    categoriesByCourse.remove(courseId);
+                } else {
+                    categoriesByCourse.put(courseId, remaining);
+                }
+            }
+            // Every similarity involving these courses changed
+            cache.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best {@code limit} published courses sharing a category with the given
+     * course, most similar first. The total counts every course sharing a
+     * category.
+     */
+    public CourseFeatureIndex.RankedCourses rankSimilar(Integer courseId, int limit) {
+        lock.readLock().lock();
+        try {
+            CourseFeatureIndex.RankedCourses cached = cache.get(courseId);
+            if (cached != null && (limit <= CACHED_LIMIT || cached.getTotal() <= CACHED_LIMIT)) {
+                return truncate(cached, limit);
+            }
+
+            int[] categoryIds = categoriesByCourse.get(courseId);
+            if (categoryIds != null) {
+                CourseFeatureIndex.RankedCourses ranked = rank(courseId, categoryIds, Math.max(limit, CACHED_LIMIT));
+                // Writers hold the write lock, so this entry cannot be stale
+                cache.put(courseId, truncate(ranked, CACHED_LIMIT));
+                return truncate(ranked, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Unpublished courses are not indexed, read their categories directly without holding the lock
+        int[] categoryIds = loadCategoryIds(courseId);
+        lock.readLock().lock();
+        try {
+            return rank(courseId, categoryIds, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Helper methods
+
+    private CourseFeatureIndex.RankedCourses rank(Integer courseId, int[] categoryIds, int limit) {
+        // Count shared categories for every course in the target's posting lists
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (int categoryId : categoryIds) {
+            for (int candidate : coursesByCategory.getOrDefault(categoryId, EMPTY)) {
+                if (candidate != courseId) {
+                    shared.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+
+        CourseFeatureIndex.TopK topK = new CourseFeatureIndex.TopK(limit);
+        shared.forEach((candidate, common) -> {
+            int union = categoryIds.length + categoriesByCourse.get(candidate).length - common;
+            topK.offer((double) common / union, candidate);
+        });
+        return new CourseFeatureIndex.RankedCourses(topK.drainDescending(), shared.size());
+    }
+
+    private int[] loadCategoryIds(Integer courseId) {
+        return courseCategoryRepository.findByCourseId(courseId).stream()
+                .mapToInt(courseCategory -> courseCategory.getCategory().getId())
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    // Callers must hold the write lock
+    private int[] unlink(Integer courseId) {
+        int[] categoryIds = categoriesByCourse.remove(courseId);
+        if (categoryIds == null) {
+            return EMPTY;
+        }
+        for (int categoryId : categoryIds) {
+            int[] remaining = remove(coursesByCategory.get(categoryId), courseId);
+            if (remaining.length == 0) {
+                coursesByCategory.remove(categoryId);
+            } else {
+                coursesByCategory.put(categoryId, remaining);
+            }
+        }
+        return categoryIds;
+    }
+
+    // Callers must hold the write lock
+    private void invalidateNeighbours(Integer courseId, int[] categoryIds) {
+        cache.remove(courseId);
+        for (int categoryId : categoryIds) {
+            for (int neighbour : coursesByCategory.getOrDefault(categoryId, EMPTY)) {
+                cache.remove(neighbour);
+            }
+        }
+    }
+
+    private static CourseFeatureIndex.RankedCourses truncate(CourseFeatureIndex.RankedCourses ranked, int limit) {
+        List<Integer> courseIds = ranked.getCourseIds();
+        if (courseIds.size() <= limit) {
+            return ranked;
+        }
+        return new CourseFeatureIndex.RankedCourses(List.copyOf(courseIds.subList(0, limit)), ranked.getTotal());
+    }
+
+    private static int[] insert(int[] sorted, int value) {
+        if (sorted == null) {
+            return new int[] { value };
+        }
+        int index = Arrays.binarySearch(sorted, value);
+        if (index >= 0) {
+            return sorted;
+        }
+        int at = -index - 1;
+        int[] result = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(sorted, at, result, at + 1, sorted.length - at);
+        return result;
+    }
+
+    private static int[] remove(int[] sorted, int value) {
+        if (sorted == null) {
+            return EMPTY;
+        }
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            return sorted;
+        }
+        int[] result = new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, index);
+        System.arraycopy(sorted, index + 1, result, index, sorted.length - index - 1);
+        return result;
+    }
+}
@@ -17,10 +17,13 @@ public class SkillService {
 
     private final SkillRepository skillRepository;
     private final ModelMapper modelMapper;
+    private final AutocompleteService autocompleteService;
 
-    public SkillService(SkillRepository skillRepository, ModelMapper modelMapper) {
+    public SkillService(SkillRepository skillRepository, ModelMapper modelMapper,
+            AutocompleteService autocompleteService) {
         this.skillRepository = skillRepository;
         this.modelMapper = modelMapper;
+        this.autocompleteService = autocompleteService;
     }
 
     public SkillDTO createSkill(SkillDTO skillDTO) {
@@ -32,6 +35,7 @@ public class SkillService {
         skill.setName(skillDTO.getName());
 
         Skill savedSkill = skillRepository.save(skill);
+        AfterCommit.run(() -> autocompleteService.upsertSkill(savedSkill));
         return modelMapper.map(savedSkill, SkillDTO.class);
     }
 
@@ -58,6 +62,7 @@ public class SkillService {
 
         modelMapper.map(skillDTO, existingSkill);
         Skill updatedSkill = skillRepository.save(existingSkill);
+        AfterCommit.run(() -> autocompleteService.upsertSkill(updatedSkill));
         return modelMapper.map(updatedSkill, SkillDTO.class);
     }
 
@@ -66,6 +71,7 @@ public class SkillService {
             throw new ResourceNotFoundException("Skill not found with id: " + id);
         }
         skillRepository.deleteById(id);
+        AfterCommit.run(() -> autocompleteService.removeSkill(id));
     }
 
     public List<SkillDTO> searchSkillsByName(String name) {
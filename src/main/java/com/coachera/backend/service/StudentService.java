@@ -13,11 +13,12 @@ import org.springframework.transaction.annotation.Transactional;
 import com.coachera.backend.dto.CourseDTO;
 import com.coachera.backend.dto.StudentDTO;
 import com.coachera.backend.dto.StudentRequestDTO;
+import com.coachera.backend.entity.Enrollment;
 import com.coachera.backend.entity.Student;
 import com.coachera.backend.entity.User;
 import com.coachera.backend.exception.ConflictException;
 import com.coachera.backend.exception.ResourceNotFoundException;
-import com.coachera.backend.repository.AccessTokenRepository;
+import com.coachera.backend.security.TokenService;
 import com.coachera.backend.repository.EnrollmentRepository;
 import com.coachera.backend.repository.FavoriteRepository;
 import com.coachera.backend.repository.ReviewRepository;
@@ -37,7 +38,9 @@ public class StudentService {
     private final EnrollmentRepository enrollmentRepository;
     private final FavoriteRepository favoriteRepository;
     private final ReviewRepository reviewRepository;
-    private final AccessTokenRepository accessTokenRepository;
+    private final TokenService tokenService;
+    private final CourseFeatureIndex courseFeatureIndex;
+    private final EnrollmentCounterService enrollmentCounterService;
 
     public StudentDTO createStudent(StudentRequestDTO studentDTO, User user) {
 
@@ -125,7 +128,7 @@ public class StudentService {
 
         // Delete all student-related entities
         favoriteRepository.deleteAll(favoriteRepository.findByStudentId(student.getId()));
-        enrollmentRepository.deleteAll(enrollmentRepository.findByStudentId(student.getId()));
+        deleteEnrollments(student.getId());
         reviewRepository.deleteAll(reviewRepository.findByStudentId(student.getId()));
 
         // Clear certificates and skills
@@ -134,7 +137,7 @@ public class StudentService {
         studentRepository.save(student);
 
         // Delete access tokens first
-        accessTokenRepository.deleteByUserId(user.getId());
+        tokenService.revokeUserTokens(user.getId());
 
         // Break the bidirectional relationship
         user.setStudent(null);
@@ -152,7 +155,7 @@ public class StudentService {
 
         // Delete all student-related entities
         favoriteRepository.deleteAll(favoriteRepository.findByStudentId(id));
-        enrollmentRepository.deleteAll(enrollmentRepository.findByStudentId(id));
+        deleteEnrollments(id);
         reviewRepository.deleteAll(reviewRepository.findByStudentId(id));
         // Clear certificates and skills
         student.getStudentCertificates().clear();
@@ -162,7 +165,7 @@ public class StudentService {
             User user = student.getUser();
 
             // Delete access tokens first
-            accessTokenRepository.deleteByUserId(user.getId());
+            tokenService.revokeUserTokens(user.getId());
 
             // Break the bidirectional relationship
             user.setStudent(null);
@@ -186,4 +189,15 @@ public class StudentService {
     public long countStudents() {
         return studentRepository.count();
     }
-}
\ No newline at end of file
+
+    // Helper method
+    private void deleteEnrollments(Integer studentId) {
+        List<Enrollment> enrollments = enrollmentRepository.findByStudentId(studentId);
+        enrollmentRepository.deleteAll(enrollments);
+        List<Integer> courseIds = enrollments.stream().map(enrollment -> enrollment.getCourse().getId()).toList();
+        AfterCommit.run(() -> courseIds.forEach(courseId -> {
+            enrollmentCounterService.decrement(courseId);
+            courseFeatureIndex.onEnrollmentDeleted(courseId);
+        }));
+    }
+}
@@ -0,0 +1,239 @@
+package com.coachera.backend.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coachera.backend.repository.CourseCompletionRepository;
+import com.coachera.backend.repository.CourseRepository;
+import com.coachera.backend.repository.EnrollmentRepository;
+import com.coachera.backend.repository.ReviewRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks recent course activity and serves a precomputed trending ranking.
+ *
+ * Each active course keeps hourly ring buffers of enrollments, completions and
+ * reviews over the last week. A scheduled job turns them into an exponentially
+ * decayed velocity score and publishes a new ranking snapshot, so reading the
+ * trending list never scans the catalog.
+ */
+@Slf4j
+@Service
+public class TrendingService {
+
+    static final int WINDOW_HOURS = 7 * 24;
+
+    private static final double ENROLLMENT_WEIGHT = 1.0;
+    private static final double COMPLETION_WEIGHT = 2.0;
+    private static final double REVIEW_WEIGHT = 1.5;
+
+    enum ActivityType {
+        ENROLLMENT, COMPLETION, REVIEW
+    }
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseCompletionRepository courseCompletionRepository;
+    private final ReviewRepository reviewRepository;
+    private final Clock clock;
+
+    // decay[age] = weight of an event that happened age hours ago
+    private final double[] decay = new double[WINDOW_HOURS];
+
+    private final Map<Integer, ActivityWindow> windows = new ConcurrentHashMap<>();
+
+    private volatile List<Integer> ranking = List.of();
+
+    @Autowired
+    public TrendingService(CourseRepository courseRepository,
+            EnrollmentRepository enrollmentRepository,
+            CourseCompletionRepository courseCompletionRepository,
+            ReviewRepository reviewRepository,
+            @Value("${app.trending.half-life-hours:24}") double halfLifeHours) {
+        this(courseRepository, enrollmentRepository, courseCompletionRepository, reviewRepository, halfLifeHours,
+                Clock.systemDefaultZone());
+    }
+
+    // The clock decides the current hour, tests move it forward
+    TrendingService(CourseRepository courseRepository,
+            EnrollmentRepository enrollmentRepository,
+            CourseCompletionRepository courseCompletionRepository,
+            ReviewRepository reviewRepository,
+            double halfLifeHours,
+            Clock clock) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseCompletionRepository = courseCompletionRepository;
+        this.reviewRepository = reviewRepository;
+        this.clock = clock;
+        for (int age = 0; age < WINDOW_HOURS; age++) {
+            decay[age] = Math.pow(0.5, age / halfLifeHours);
+        }
+    }
+
+    public void recordEnrollment(Integer courseId) {
+        record(courseId, ActivityType.ENROLLMENT, currentHour());
+    }
+
+    public void recordCompletion(Integer courseId) {
+        record(courseId, ActivityType.COMPLETION, currentHour());
+    }
+
+    public void recordReview(Integer courseId) {
+        record(courseId, ActivityType.REVIEW, currentHour());
+    }
+
+    /**
+     * Latest ranking snapshot: trending courses first, then the rest of the
+     * published catalog by rating
+     */
+    public List<Integer> getRankedCourseIds() {
+        return ranking;
+    }
+
+    /**
+     * Rebuild the ring buffers from the last week of activity, then rank
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        LocalDateTime since = LocalDateTime.now(clock).minusHours(WINDOW_HOURS);
+        windows.clear();
+        replay(enrollmentRepository.findCourseActivitySince(since), ActivityType.ENROLLMENT);
+        replay(courseCompletionRepository.findCourseActivitySince(since), ActivityType.COMPLETION);
+        replay(reviewRepository.findCourseActivitySince(since), ActivityType.REVIEW);
+        refresh();
+        log.info("Trending windows warmed up for {} courses", windows.size());
+    }
+
+    /**
+     * Score active courses and atomically publish a new ranking
+     */
+    @Scheduled(fixedDelayString = "${app.trending.refresh-ms:60000}", initialDelayString = "${app.trending.refresh-ms:60000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        long nowHour = currentHour();
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Integer courseId : windows.keySet()) {
+            // Drop windows that no longer hold any event inside the time range
+            ActivityWindow window = windows.computeIfPresent(courseId, (id, w) -> w.isIdle(nowHour) ? null : w);
+            if (window != null) {
+                double score = window.score(nowHour, decay);
+                if (score > 0) {
+                    scores.put(courseId, score);
+                }
+            }
+        }
+
+        List<Integer> publishedByRating = courseRepository.findPublishedIdsOrderByRating();
+        Set<Integer> published = new LinkedHashSet<>(publishedByRating);
+
+        List<Integer> trending = new ArrayList<>(scores.keySet());
+        trending.removeIf(courseId -> !published.contains(courseId));
+        trending.sort(Comparator.comparingDouble((Integer courseId) -> scores.get(courseId)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        // Courses without recent activity follow in rating order
+        Set<Integer> snapshot = new LinkedHashSet<>(trending);
+        snapshot.addAll(publishedByRating);
+
+        ranking = Collections.unmodifiableList(new ArrayList<>(snapshot));
+    }
+
+    // Helper methods
+
+    private void replay(List<Object[]> events, ActivityType type) {
+        for (Object[] event : events) {
+            if (event[0] != null && event[1] != null) {
+                record((Integer) event[0], type, toHour((LocalDateTime) event[1]));
+            }
+        }
+    }
+
+    private void record(Integer courseId, ActivityType type, long hour) {
+        windows.compute(courseId, (id, window) -> {
+            ActivityWindow target = window != null ? window : new ActivityWindow();
+            target.record(type, hour);
+            return target;
+        });
+    }
+
+    private long currentHour() {
+        return clock.millis() / 3_600_000L;
+    }
+
+    private long toHour(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toEpochSecond() / 3_600L;
+    }
+
+    /**
+     * Hourly ring buffers for one course. Bucket i holds the counts of the hour
+     * stored in hours[i]; a bucket is reset when a newer hour maps onto it.
+     */
+    static class ActivityWindow {
+        private final long[] hours = new long[WINDOW_HOURS];
+        private final int[] enrollments = new int[WINDOW_HOURS];
+        private final int[] completions = new int[WINDOW_HOURS];
+        private final int[] reviews = new int[WINDOW_HOURS];
+
+        synchronized void record(ActivityType type, long hour) {
+            int bucket = (int) (hour % WINDOW_HOURS);
+            if (hours[bucket] > hour) {
+                return; // Older than the window
+            }
+            if (hours[bucket] < hour) {
+                hours[bucket] = hour;
+                enrollments[bucket] = 0;
+                completions[bucket] = 0;
+                reviews[bucket] = 0;
+            }
+            switch (type) {
+                case ENROLLMENT -> enrollments[bucket]++;
+                case COMPLETION -> completions[bucket]++;
+                case REVIEW -> reviews[bucket]++;
+            }
+        }
+
+        synchronized double score(long nowHour, double[] decay) {
+            double score = 0;
+            for (int bucket = 0; bucket < WINDOW_HOURS; bucket++) {
+                long age = nowHour - hours[bucket];
+                if (age < 0 || age >= WINDOW_HOURS) {
+                    continue;
+                }
+                score += decay[(int) age] * (enrollments[bucket] * ENROLLMENT_WEIGHT
+                        + completions[bucket] * COMPLETION_WEIGHT
+                        + reviews[bucket] * REVIEW_WEIGHT);
+            }
+            return score;
+        }
+
+        synchronized boolean isIdle(long nowHour) {
+            for (long hour : hours) {
+                if (nowHour - hour < WINDOW_HOURS) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.coachera.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coachera.backend.repository.NotificationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-user unread notification counters, so polling the unread count does not
+ * query the database.
+ *
+ * A counter is loaded with one count query the first time it is read, then
+ * kept up to date: creating notifications increments it and marking them as
+ * read or deleting them decrements it. Users are spread over lock stripes, so
+ * updates for different users rarely contend; counts are queried outside the
+ * locks. Every update bumps the counter's version, and a count queried
+ * meanwhile is dropped instead of overwriting the update. Counters are
+ * periodically reconciled against the database to correct any drift.
+ */
+@Slf4j
+@Component
+public class UnreadCountCache {
+
+    // Cached users are reconciled this many at a time
+    private static final int RECONCILE_CHUNK_SIZE = 1000;
+
+    private static final class Counter {
+        long count;
+        boolean loaded;
+        long version;
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final Map<Integer, Counter>[] stripes;
+    private final int maxPerStripe;
+
+    @SuppressWarnings("unchecked")
+    public UnreadCountCache(NotificationRepository notificationRepository,
+            @Value("${app.notifications.unread-cache.stripes:64}") int stripeCount,
+            @Value("${app.notifications.unread-cache.max-size:100000}") int maxSize) {
+        this.notificationRepository = notificationRepository;
+        this.stripes = new Map[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new HashMap<>();
+        }
+        this.maxPerStripe = Math.max(1, maxSize / stripeCount);
+    }
+
+    /**
+     * Unread count of the user, counted in the database only on a cache miss.
+     * If the user's counter changes while it is counted, the count is returned
+     * but not cached; the next read counts again.
+     */
+    public long get(int userId) {
+        Map<Integer, Counter> stripe = stripeOf(userId);
+        Counter counter;
+        long version;
+        synchronized (stripe) {
+            counter = stripe.get(userId);
+            if (counter == null) {
+                if (stripe.size() >= maxPerStripe) {
+                    // Full: drop any one user, they are counted again on their next read
+                    Iterator<Integer> evicted = stripe.keySet().iterator();
+                    evicted.next();
+                    evicted.remove();
+                }
+                counter = new Counter();
+                stripe.put(userId, counter);
+            } else if (counter.loaded) {
+                return counter.count;
+            }
+            version = counter.version;
+        }
+
+        long count = notificationRepository.countByRecipientIdAndReadFalse(userId);
+        synchronized (stripe) {
+            if (counter.loaded) {
+                return counter.count;
+            }
+            if (counter.version == version && stripe.get(userId) == counter) {
+                counter.count = count;
+                counter.loaded = true;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Count new notifications; users that are not cached are counted on their next read
+     */
+    public void increment(int userId, long delta) {
+        update(userId, delta);
+    }
+
+    public void decrement(int userId, long delta) {
+        update(userId, -delta);
+    }
+
+    /**
+     * Correct the cached counters with fresh counts, one query per chunk of
+     * users. Counters updated while their chunk is counted are left for the
+     * next run.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.unread-cache.reconcile-ms:300000}", initialDelayString = "${app.notifications.unread-cache.reconcile-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        int corrected = 0;
+        for (Map<Integer, Counter> stripe : stripes) {
+            // [userId, version] of the loaded counters
+            Map<Integer, Long> versions = new HashMap<>();
+            synchronized (stripe) {
+                stripe.forEach((userId, counter) -> {
+                    if (counter.loaded) {
+                        versions.put(userId, counter.version);
+                    }
+                });
+            }
+            List<Integer> userIds = new ArrayList<>(versions.keySet());
+            for (int from = 0; from < userIds.size(); from += RECONCILE_CHUNK_SIZE) {
+                List<Integer> chunk = userIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, userIds.size()));
+                Map<Integer, Long> counts = new HashMap<>();
+                for (Object[] row : notificationRepository.countUnreadRowsByRecipientIds(chunk)) {
+                    counts.put((Integer) row[0], (Long) row[1]);
+                }
+                synchronized (stripe) {
+                    for (Integer userId : chunk) {
+                        Counter counter = stripe.get(userId);
+                        long count = counts.getOrDefault(userId, 0L);
+                        if (counter != null && counter.version == versions.get(userId) && counter.count != count) {
+                            counter.count = count;
+                            corrected++;
+                        }
+                    }
+                }
+            }
+        }
+        if (corrected > 0) {
+            log.info("Reconciled unread counters, corrected {}", corrected);
+        }
+    }
+
+    private void update(int userId, long delta) {
+        Map<Integer, Counter> stripe = stripeOf(userId);
+        synchronized (stripe) {
+            Counter counter = stripe.get(userId);
+            if (counter != null) {
+                counter.count = Math.max(0L, counter.count + delta);
+                counter.version++;
+            }
+        }
+    }
+
+    private Map<Integer, Counter> stripeOf(int userId) {
+        return stripes[Math.floorMod(Integer.hashCode(userId) * 0x9E3779B9, stripes.length)];
+    }
+}
@@ -27,6 +27,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import com.coachera.backend.Config.TestSecurityConfig;
+import com.coachera.backend.dto.BulkNotificationResultDTO;
 import com.coachera.backend.dto.DeviceTokenRequest;
 import com.coachera.backend.dto.NotificationDTO;
 import com.coachera.backend.dto.SendNotificationRequest;
@@ -200,20 +201,19 @@ class NotificationControllerTest {
         void shouldSendBulkNotificationsSuccessfully() throws Exception {
             // Given
             List<Integer> userIds = List.of(1, 2, 3);
-            List<Notification> notifications = List.of(testNotification);
             when(notificationService.sendBulkNotification(any(SendNotificationRequest.class), eq(userIds)))
-                .thenReturn(CompletableFuture.completedFuture(notifications));
+                .thenReturn(CompletableFuture.completedFuture(new BulkNotificationResultDTO(3, 0, List.of())));
 
             // When & Then
             mockMvc.perform(post("/api/notifications/send/bulk")
                     .param("userIds", "1", "2", "3")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(testRequest)))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.message").value("Bulk Notifications sent successfully"))
-                .andExpect(jsonPath("$.data").isArray())
-                .andExpect(jsonPath("$.data[0].id").value(1));
+                .andExpect(jsonPath("$.message").value("Bulk Notifications queued successfully"))
+                .andExpect(jsonPath("$.data.queued").value(3))
+                .andExpect(jsonPath("$.data.skipped").value(0));
 
             verify(notificationService).sendBulkNotification(any(SendNotificationRequest.class), eq(userIds));
         }
@@ -224,7 +224,7 @@ class NotificationControllerTest {
         void shouldHandleBulkNotificationServiceFailure() throws Exception {
             // Given
             List<Integer> userIds = List.of(1, 2, 3);
-            CompletableFuture<List<Notification>> failedFuture = new CompletableFuture<>();
+            CompletableFuture<BulkNotificationResultDTO> failedFuture = new CompletableFuture<>();
             failedFuture.completeExceptionally(new RuntimeException("Bulk service error"));
             when(notificationService.sendBulkNotification(any(SendNotificationRequest.class), eq(userIds)))
                 .thenReturn(failedFuture);
@@ -776,7 +776,7 @@ class NotificationControllerTest {
         @WithMockUser
         void shouldHandleEmptyBulkNotificationUserList() throws Exception {
             // Given
-            List<Notification> emptyResult = List.of();
+            BulkNotificationResultDTO emptyResult = new BulkNotificationResultDTO(0, 0, List.of());
             when(notificationService.sendBulkNotification(any(), any()))
                 .thenReturn(CompletableFuture.completedFuture(emptyResult));
 
@@ -949,11 +949,11 @@ class NotificationControllerTest {
         void shouldHandleAsyncBulkNotificationSendingProperly() throws Exception {
             // Given
             List<Integer> userIds = List.of(1, 2);
-            CompletableFuture<List<Notification>> future = CompletableFuture
+            CompletableFuture<BulkNotificationResultDTO> future = CompletableFuture
                 .supplyAsync(() -> {
                     try {
                         Thread.sleep(100); // Simulate async processing
-                        return List.of(testNotification);
+                        return new BulkNotificationResultDTO(2, 0, List.of());
                     } catch (InterruptedException e) {
                         throw new RuntimeException(e);
                     }
@@ -0,0 +1,49 @@
+package com.coachera.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.coachera.backend.entity.User;
+import com.coachera.backend.service.ProgressExportService;
+import com.coachera.backend.service.ProgressExportService.Format;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProgressExportController Tests")
+class ProgressExportControllerTest {
+
+    @Mock
+    private ProgressExportService progressExportService;
+
+    @Mock
+    private AsyncWebRequest asyncWebRequest;
+
+    @Test
+    @DisplayName("Should extend the async timeout of export responses only")
+    void shouldExtendTimeoutOfExports() throws Exception {
+        ProgressExportController controller = new ProgressExportController(progressExportService, 1800000);
+        User user = User.builder().id(1).build();
+        StreamingResponseBody body = out -> { };
+        when(progressExportService.exportCourse(user, 3, Format.CSV)).thenReturn(body);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(asyncWebRequest);
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportCourse(user, 3, "csv", request);
+
+        assertSame(body, response.getBody());
+        assertEquals("attachment; filename=\"progress-course-3.csv\"",
+            response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        verify(asyncWebRequest).setTimeout(1800000L);
+    }
+}
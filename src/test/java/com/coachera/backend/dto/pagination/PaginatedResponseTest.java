@@ -0,0 +1,56 @@
+package com.coachera.backend.dto.pagination;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+@DisplayName("PaginatedResponse Tests")
+class PaginatedResponseTest {
+
+    @Test
+    @DisplayName("Should report -1 totals for a slice without a count")
+    void shouldOmitTotalsOfSlice() {
+        PaginatedResponse<String> response = PaginatedResponse.of(
+            new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true));
+
+        assertEquals(List.of("a", "b"), response.getContent());
+        assertEquals(1, response.getPage());
+        assertEquals(2, response.getSize());
+        assertEquals(-1, response.getTotalElements());
+        assertEquals(-1, response.getTotalPages());
+        assertFalse(response.isFirst());
+        assertFalse(response.isLast());
+        assertFalse(response.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the totals of a page passed as a slice")
+    void shouldKeepTotalsOfPage() {
+        Slice<String> page = new PageImpl<>(List.of("a", "b"), PageRequest.of(0, 2), 5);
+
+        PaginatedResponse<String> response = PaginatedResponse.of(page);
+
+        assertEquals(5, response.getTotalElements());
+        assertEquals(3, response.getTotalPages());
+        assertTrue(response.isFirst());
+        assertFalse(response.isLast());
+    }
+
+    @Test
+    @DisplayName("Should mark the last slice")
+    void shouldMarkLastSlice() {
+        PaginatedResponse<String> response = PaginatedResponse.of(
+            new SliceImpl<>(List.of(), PageRequest.of(3, 2), false));
+
+        assertTrue(response.isLast());
+        assertTrue(response.isEmpty());
+        assertEquals(-1, response.getTotalElements());
+    }
+}
@@ -0,0 +1,111 @@
+package com.coachera.backend.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.coachera.backend.entity.User;
+import com.coachera.backend.entity.enums.RoleType;
+
+@DisplayName("SignedTokenCodec Tests")
+class SignedTokenCodecTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private SignedTokenCodec codec;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        codec = new SignedTokenCodec(SECRET, TokenService.MODE_SIGNED);
+        user = User.builder().id(7).role(RoleType.STUDENT).build();
+    }
+
+    @Test
+    @DisplayName("Should verify the claims of a token it issued")
+    void shouldVerifyIssuedToken() {
+        long before = System.currentTimeMillis();
+        String token = codec.issue(user, before + 60000);
+
+        SignedTokenCodec.Claims claims = codec.verify(token);
+
+        assertTrue(codec.isSigned(token));
+        assertNotNull(claims);
+        assertEquals(7, claims.userId());
+        assertEquals(RoleType.STUDENT, claims.role());
+        assertEquals(before + 60000, claims.expiresAtMillis());
+        assertTrue(claims.issuedAtMillis() >= before);
+        assertNotEquals(claims.tokenId(), codec.verify(codec.issue(user, before + 60000)).tokenId());
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose payload was changed")
+    void shouldRejectTamperedPayload() {
+        String token = codec.issue(user, System.currentTimeMillis() + 60000);
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+            .replace(":7:STUDENT:", ":1:ADMIN:");
+        String forged = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+
+        assertNull(codec.verify(forged));
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose signature was changed")
+    void shouldRejectTamperedSignature() {
+        String token = codec.issue(user, System.currentTimeMillis() + 60000);
+        char last = token.charAt(token.length() - 2);
+        String forged = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        assertNull(codec.verify(forged));
+        assertNull(codec.verify(token.substring(0, token.lastIndexOf('.'))));
+        assertNull(codec.verify(token.substring(0, token.lastIndexOf('.') + 1) + "not*base64"));
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another secret")
+    void shouldRejectOtherSecret() {
+        SignedTokenCodec other = new SignedTokenCodec("fedcba9876543210fedcba9876543210", TokenService.MODE_SIGNED);
+
+        assertNull(codec.verify(other.issue(user, System.currentTimeMillis() + 60000)));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens without the current version prefix")
+    void shouldRejectWrongVersion() {
+        String token = codec.issue(user, System.currentTimeMillis() + 60000);
+        String otherVersion = "v2." + token.substring(SignedTokenCodec.PREFIX.length());
+
+        assertFalse(codec.isSigned(otherVersion));
+        assertNull(codec.verify(otherVersion));
+        assertNull(codec.verify("3f2504e0-4f89-11d3-9a0c-0305e82c3301"));
+    }
+
+    @Test
+    @DisplayName("Should leave expiry to the caller")
+    void shouldReturnExpiredClaims() {
+        SignedTokenCodec.Claims claims = codec.verify(codec.issue(user, System.currentTimeMillis() - 1));
+
+        assertNotNull(claims);
+        assertTrue(claims.isExpired(System.currentTimeMillis()));
+    }
+
+    @Test
+    @DisplayName("Should require a secret of at least 32 bytes in signed mode")
+    void shouldRejectShortSecret() {
+        assertThrows(IllegalStateException.class,
+            () -> new SignedTokenCodec("0123456789abcdef0123456789abcde", TokenService.MODE_SIGNED));
+
+        // Opaque mode starts without signed tokens instead
+        SignedTokenCodec disabled = new SignedTokenCodec("short", TokenService.MODE_OPAQUE);
+        assertFalse(disabled.isEnabled());
+        assertThrows(IllegalStateException.class, () -> disabled.issue(user, System.currentTimeMillis() + 60000));
+        assertNull(disabled.verify(codec.issue(user, System.currentTimeMillis() + 60000)));
+    }
+}
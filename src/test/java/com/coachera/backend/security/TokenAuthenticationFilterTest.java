@@ -0,0 +1,115 @@
+package com.coachera.backend.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.coachera.backend.entity.AccessToken;
+import com.coachera.backend.entity.User;
+import com.coachera.backend.entity.enums.RoleType;
+import com.coachera.backend.repository.AccessTokenRepository;
+import com.coachera.backend.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenAuthenticationFilter Tests")
+class TokenAuthenticationFilterTest {
+
+    @Mock
+    private AccessTokenRepository tokenRepo;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private TokenRevocationList revocationList;
+
+    private TokenCache tokenCache;
+    private TokenAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new TokenCache(100, 300, 30);
+        filter = new TokenAuthenticationFilter(tokenRepo, userDetailsService, tokenCache, tokenService, userRepo,
+            revocationList);
+        user = User.builder().id(7).username("ann").role(RoleType.STUDENT).build();
+        when(tokenService.isSignedToken("opaque")).thenReturn(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate a cached opaque token without the database")
+    void shouldServeCachedToken() throws Exception {
+        tokenCache.put("opaque", user, List.of(new SimpleGrantedAuthority("ROLE_STUDENT")), Long.MAX_VALUE);
+        when(revocationList.isRevoked(eq("opaque"), eq(7), anyLong())).thenReturn(false);
+
+        Authentication auth = authenticate("opaque");
+
+        assertNotNull(auth);
+        assertEquals(7, ((User) auth.getPrincipal()).getId());
+        assertNotSame(user, auth.getPrincipal());
+        verifyNoInteractions(tokenRepo);
+    }
+
+    @Test
+    @DisplayName("Should recheck a cached opaque token revoked on another instance")
+    void shouldRecheckRevokedCachedToken() throws Exception {
+        tokenCache.put("opaque", user, List.of(new SimpleGrantedAuthority("ROLE_STUDENT")), Long.MAX_VALUE);
+        when(revocationList.isRevoked(eq("opaque"), eq(7), anyLong())).thenReturn(true);
+        when(tokenRepo.findByToken("opaque")).thenReturn(Optional.empty());
+
+        assertNull(authenticate("opaque"));
+        // Cached as a miss now
+        assertFalse(tokenCache.get("opaque").isAuthenticated());
+    }
+
+    @Test
+    @DisplayName("Should load and cache an opaque token on a miss")
+    void shouldLoadOpaqueToken() throws Exception {
+        AccessToken at = AccessToken.builder().token("opaque").user(user)
+            .expiresAt(LocalDateTime.now().plusDays(1)).build();
+        when(tokenRepo.findByToken("opaque")).thenReturn(Optional.of(at));
+        when(userDetailsService.loadUserByUsername("ann")).thenReturn(
+            org.springframework.security.core.userdetails.User.withUsername("ann").password("x").roles("STUDENT").build());
+
+        assertNotNull(authenticate("opaque"));
+        assertTrue(tokenCache.get("opaque").isAuthenticated());
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,125 @@
+package com.coachera.backend.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.coachera.backend.entity.Organization;
+import com.coachera.backend.entity.User;
+import com.coachera.backend.entity.enums.RoleType;
+
+@DisplayName("TokenCache Tests")
+class TokenCacheTest {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_STUDENT"));
+    private static final long FAR_FUTURE = Long.MAX_VALUE;
+
+    @Test
+    @DisplayName("Should serve a cached token until the TTL ends")
+    void shouldExpireAfterTtl() {
+        TokenCache cache = new TokenCache(100, 300, 30);
+        cache.put("live", user(1), AUTHORITIES, FAR_FUTURE);
+        assertTrue(cache.get("live").isAuthenticated());
+
+        TokenCache expired = new TokenCache(100, 0, 30);
+        expired.put("live", user(1), AUTHORITIES, FAR_FUTURE);
+        assertNull(expired.get("live"));
+        assertEquals(0, expired.size());
+    }
+
+    @Test
+    @DisplayName("Should not serve a token past its own expiry, even within the TTL")
+    void shouldExpireWithToken() {
+        TokenCache cache = new TokenCache(100, 300, 30);
+        TokenCache.Entry entry = cache.put("soon", user(1), AUTHORITIES, System.currentTimeMillis() - 1);
+
+        assertTrue(entry.expiresAtMillis() < System.currentTimeMillis());
+        assertNull(cache.get("soon"));
+    }
+
+    @Test
+    @DisplayName("Should cache misses only while negative caching is enabled")
+    void shouldCacheMisses() {
+        TokenCache cache = new TokenCache(100, 300, 30);
+        cache.putMiss("bad");
+        assertNotNull(cache.get("bad"));
+        assertFalse(cache.get("bad").isAuthenticated());
+        assertNull(cache.get("bad").principal());
+
+        TokenCache disabled = new TokenCache(100, 300, 0);
+        disabled.putMiss("bad");
+        assertNull(disabled.get("bad"));
+    }
+
+    @Test
+    @DisplayName("Should evict single tokens and every token of a user")
+    void shouldEvict() {
+        TokenCache cache = new TokenCache(100, 300, 30);
+        cache.put("a1", user(1), AUTHORITIES, FAR_FUTURE);
+        cache.put("a2", user(1), AUTHORITIES, FAR_FUTURE);
+        cache.put("b1", user(2), AUTHORITIES, FAR_FUTURE);
+        cache.putMiss("bad");
+
+        cache.evict("b1");
+        assertNull(cache.get("b1"));
+
+        cache.evictUser(1);
+        assertNull(cache.get("a1"));
+        assertNull(cache.get("a2"));
+        assertNotNull(cache.get("bad"));
+    }
+
+    @Test
+    @DisplayName("Should stay within its size bound")
+    void shouldBoundSize() {
+        TokenCache cache = new TokenCache(10, 300, 30);
+        for (int i = 0; i < 100; i++) {
+            cache.put("token" + i, user(i), AUTHORITIES, FAR_FUTURE);
+            assertTrue(cache.size() <= 10);
+        }
+        // The newest entry is always kept
+        assertNotNull(cache.get("token99"));
+
+        TokenCache disabled = new TokenCache(0, 300, 30);
+        disabled.put("token", user(1), AUTHORITIES, FAR_FUTURE);
+        assertEquals(0, disabled.size());
+    }
+
+    @Test
+    @DisplayName("Should give every request its own copy of the principal")
+    void shouldNotShareThePrincipal() {
+        TokenCache cache = new TokenCache(100, 300, 30);
+        User loaded = user(1);
+        loaded.setOrganization(Organization.builder().id(4).orgName("Acme").build());
+        cache.put("token", loaded, AUTHORITIES, FAR_FUTURE);
+        loaded.setUsername("changed");
+
+        TokenCache.Entry entry = cache.get("token");
+        User first = entry.principal();
+        User second = entry.principal();
+
+        assertNotSame(first, second);
+        assertNotSame(loaded, first);
+        assertEquals(1, first.getId());
+        assertEquals("user1", first.getUsername());
+        assertEquals(RoleType.STUDENT, first.getRole());
+        assertEquals(4, first.getOrganization().getId());
+        assertSame(first, first.getOrganization().getUser());
+        assertNull(first.getStudent());
+
+        first.setUsername("mutated");
+        assertEquals("user1", second.getUsername());
+        assertEquals("user1", cache.get("token").principal().getUsername());
+        assertThrows(UnsupportedOperationException.class, () -> entry.authorities().clear());
+    }
+
+    private static User user(int id) {
+        return User.builder().id(id).username("user" + id).email("user" + id + "@example.com")
+            .role(RoleType.STUDENT).build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.coachera.backend.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.repository.AccessTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenPurgeService Tests")
+class TokenPurgeServiceTest {
+
+    @Mock
+    private AccessTokenRepository tokenRepo;
+
+    @Test
+    @DisplayName("Should stop once a batch comes back short")
+    void shouldStopOnShortBatch() {
+        when(tokenRepo.deleteExpiredBatch(any(LocalDateTime.class), eq(100))).thenReturn(100, 100, 40);
+
+        int purged = new TokenPurgeService(tokenRepo, 100, 10).purgeExpiredTokens();
+
+        assertEquals(240, purged);
+        verify(tokenRepo, times(3)).deleteExpiredBatch(any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    @DisplayName("Should leave the rest for the next run after the maximum number of batches")
+    void shouldStopAfterMaxBatches() {
+        when(tokenRepo.deleteExpiredBatch(any(LocalDateTime.class), eq(100))).thenReturn(100);
+
+        int purged = new TokenPurgeService(tokenRepo, 100, 3).purgeExpiredTokens();
+
+        assertEquals(300, purged);
+        verify(tokenRepo, times(3)).deleteExpiredBatch(any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    @DisplayName("Should use the same cutoff for every batch of a run")
+    void shouldUseOneCutoff() {
+        when(tokenRepo.deleteExpiredBatch(any(LocalDateTime.class), eq(2))).thenReturn(2, 0);
+
+        new TokenPurgeService(tokenRepo, 2, 10).purgeExpiredTokens();
+
+        ArgumentCaptor<LocalDateTime> cutoffs = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(tokenRepo, times(2)).deleteExpiredBatch(cutoffs.capture(), eq(2));
+        assertEquals(cutoffs.getAllValues().get(0), cutoffs.getAllValues().get(1));
+    }
+}
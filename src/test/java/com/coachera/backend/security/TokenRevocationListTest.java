@@ -0,0 +1,115 @@
+package com.coachera.backend.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.entity.RevokedToken;
+import com.coachera.backend.entity.enums.RoleType;
+import com.coachera.backend.repository.RevokedTokenRepository;
+import com.coachera.backend.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationList Tests")
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(revokedTokenRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("Should revoke a single token id until it expires")
+    void shouldRevokeTokenId() {
+        long now = System.currentTimeMillis();
+        SignedTokenCodec.Claims revoked = claims("t1", 7, now - 1000, now + 60000);
+
+        revocationList.revoke(revoked);
+
+        assertTrue(revocationList.isRevoked(revoked));
+        assertFalse(revocationList.isRevoked(claims("t2", 7, now - 1000, now + 60000)));
+        ArgumentCaptor<RevokedToken> row = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(row.capture());
+        assertEquals("t1", row.getValue().getTokenId());
+        assertEquals(now + 60000, millis(row.getValue().getExpiresAt()));
+    }
+
+    @Test
+    @DisplayName("Should revoke every token issued to a user before the logout")
+    void shouldRevokeTokensIssuedBeforeValidAfter() {
+        long before = System.currentTimeMillis();
+
+        revocationList.revokeUser(7);
+
+        long after = System.currentTimeMillis();
+        // Same millisecond as the logout counts as before it
+        assertTrue(revocationList.isRevoked(claims("t1", 7, after, after + 60000)));
+        assertTrue(revocationList.isRevoked(claims("t2", 7, before - 1000, after + 60000)));
+        assertFalse(revocationList.isRevoked(claims("t3", 7, after + 1000, after + 60000)));
+        assertFalse(revocationList.isRevoked(claims("t4", 8, before - 1000, after + 60000)));
+        verify(userRepository).updateTokensValidAfter(eq(7), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should pick up revocations made on other instances")
+    void shouldRefreshFromDatabase() {
+        LocalDateTime now = LocalDateTime.now();
+        long nowMillis = millis(now);
+        when(revokedTokenRepository.findActiveRows(any(LocalDateTime.class)))
+            .thenReturn(List.<Object[]>of(new Object[] { "remote", now.plusHours(1) }));
+        when(userRepository.findTokenEpochRowsSince(any(LocalDateTime.class)))
+            .thenReturn(List.<Object[]>of(new Object[] { 9, now }));
+
+        revocationList.refresh();
+
+        assertTrue(revocationList.isRevoked("remote", 1, nowMillis));
+        assertTrue(revocationList.isRevoked("other", 9, nowMillis - 1));
+        assertFalse(revocationList.isRevoked("other", 9, nowMillis + 1));
+        verify(revokedTokenRepository).deleteExpired(any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should keep local revocations that the refresh did not read yet")
+    void shouldKeepLocalRevocationsOnRefresh() {
+        long now = System.currentTimeMillis();
+        when(revokedTokenRepository.findActiveRows(any(LocalDateTime.class))).thenReturn(List.of());
+        when(userRepository.findTokenEpochRowsSince(any(LocalDateTime.class))).thenReturn(List.of());
+        revocationList.revoke("local", now + 60000);
+        revocationList.revoke("expired", now - 1);
+        revocationList.revokeUser(7);
+
+        revocationList.refresh();
+
+        assertTrue(revocationList.isRevoked("local", 1, now));
+        assertFalse(revocationList.isRevoked("expired", 1, now));
+        assertTrue(revocationList.isRevoked("other", 7, now - 1000));
+    }
+
+    private static SignedTokenCodec.Claims claims(String tokenId, Integer userId, long issuedAt, long expiresAt) {
+        return new SignedTokenCodec.Claims(tokenId, userId, RoleType.STUDENT, issuedAt, expiresAt);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
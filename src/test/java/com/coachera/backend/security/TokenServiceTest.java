@@ -0,0 +1,151 @@
+package com.coachera.backend.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.entity.AccessToken;
+import com.coachera.backend.entity.User;
+import com.coachera.backend.entity.enums.RoleType;
+import com.coachera.backend.repository.AccessTokenRepository;
+import com.coachera.backend.repository.RevokedTokenRepository;
+import com.coachera.backend.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenService Tests")
+class TokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    @Mock
+    private AccessTokenRepository tokenRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenCache tokenCache;
+    private SignedTokenCodec codec;
+    private TokenRevocationList revocationList;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new TokenCache(100, 300, 30);
+        codec = new SignedTokenCodec(SECRET, TokenService.MODE_SIGNED);
+        revocationList = new TokenRevocationList(revokedTokenRepository, userRepo);
+        user = User.builder().id(7).username("ann").role(RoleType.STUDENT).build();
+    }
+
+    @Test
+    @DisplayName("Should accept a genuine, unexpired and unrevoked signed token")
+    void shouldVerifySignedToken() {
+        TokenService tokenService = tokenService(TokenService.MODE_SIGNED, 10);
+        when(userRepo.findByUsername("ann")).thenReturn(Optional.of(user));
+
+        String token = tokenService.generateToken("ann");
+
+        assertTrue(tokenService.isSignedToken(token));
+        assertEquals(7, tokenService.verifySigned(token).userId());
+        assertTrue(tokenService.validateToken(token));
+        verifyNoInteractions(tokenRepo);
+    }
+
+    @Test
+    @DisplayName("Should reject an expired signed token")
+    void shouldRejectExpiredToken() {
+        TokenService tokenService = tokenService(TokenService.MODE_SIGNED, 10);
+
+        assertNull(tokenService.verifySigned(codec.issue(user, System.currentTimeMillis() - 1)));
+    }
+
+    @Test
+    @DisplayName("Should reject signed tokens issued before the user logged out everywhere")
+    void shouldRejectTokensIssuedBeforeValidAfter() {
+        TokenService tokenService = tokenService(TokenService.MODE_SIGNED, 10);
+        String token = codec.issue(user, System.currentTimeMillis() + 60000);
+
+        tokenService.revokeUserTokens(7);
+
+        assertNull(tokenService.verifySigned(token));
+        verify(tokenRepo).deleteByUserId(7);
+    }
+
+    @Test
+    @DisplayName("Should reject a signed token after logout")
+    void shouldRejectRevokedTokenId() {
+        TokenService tokenService = tokenService(TokenService.MODE_SIGNED, 10);
+        String token = codec.issue(user, System.currentTimeMillis() + 60000);
+        String other = codec.issue(user, System.currentTimeMillis() + 60000);
+
+        tokenService.invalidateToken(token);
+
+        assertNull(tokenService.verifySigned(token));
+        assertNotNull(tokenService.verifySigned(other));
+    }
+
+    @Test
+    @DisplayName("Should revoke an opaque token for instances that have it cached")
+    void shouldRevokeOpaqueTokenOnLogout() {
+        TokenService tokenService = tokenService(TokenService.MODE_OPAQUE, 10);
+        AccessToken at = AccessToken.builder().token("opaque").user(user)
+            .expiresAt(LocalDateTime.now().plusDays(1)).build();
+        when(tokenRepo.findByToken("opaque")).thenReturn(Optional.of(at));
+        tokenCache.put("opaque", user, List.of(), Long.MAX_VALUE);
+
+        tokenService.invalidateToken("opaque");
+
+        verify(tokenRepo).delete(at);
+        assertTrue(revocationList.isRevoked("opaque", 7, System.currentTimeMillis()));
+        assertNull(tokenCache.get("opaque"));
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest live token when a new one goes over the cap")
+    void shouldDropOldestTokenOverCap() {
+        TokenService tokenService = tokenService(TokenService.MODE_OPAQUE, 2);
+        when(userRepo.findByUsername("ann")).thenReturn(Optional.of(user));
+        when(tokenRepo.findLiveTokens(eq(7), any(LocalDateTime.class)))
+            .thenReturn(List.of("newest", "second", "oldest"));
+        tokenCache.put("oldest", user, List.of(), Long.MAX_VALUE);
+        tokenCache.put("second", user, List.of(), Long.MAX_VALUE);
+
+        tokenService.generateToken("ann");
+
+        verify(tokenRepo).save(any(AccessToken.class));
+        verify(tokenRepo).deleteAllByIdInBatch(List.of("oldest"));
+        assertNull(tokenCache.get("oldest"));
+        assertNotNull(tokenCache.get("second"));
+        assertTrue(revocationList.isRevoked("oldest", 7, System.currentTimeMillis()));
+        assertFalse(revocationList.isRevoked("second", 7, System.currentTimeMillis()));
+    }
+
+    @Test
+    @DisplayName("Should keep every token while the user is within the cap")
+    void shouldKeepTokensWithinCap() {
+        TokenService tokenService = tokenService(TokenService.MODE_OPAQUE, 2);
+        when(userRepo.findByUsername("ann")).thenReturn(Optional.of(user));
+        when(tokenRepo.findLiveTokens(eq(7), any(LocalDateTime.class))).thenReturn(List.of("newest", "older"));
+
+        tokenService.generateToken("ann");
+
+        verify(tokenRepo, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    private TokenService tokenService(String mode, int maxTokensPerUser) {
+        return new TokenService(tokenRepo, userRepo, tokenCache, codec, revocationList, mode, maxTokensPerUser);
+    }
+}
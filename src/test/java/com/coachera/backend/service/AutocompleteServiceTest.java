@@ -0,0 +1,98 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.dto.AutocompleteSuggestionDTO;
+import com.coachera.backend.entity.Category;
+import com.coachera.backend.repository.CategoryRepository;
+import com.coachera.backend.repository.CourseRepository;
+import com.coachera.backend.repository.LearningPathRepository;
+import com.coachera.backend.repository.SkillRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AutocompleteService Tests")
+class AutocompleteServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private SkillRepository skillRepository;
+
+    @Mock
+    private LearningPathRepository learningPathRepository;
+
+    @Mock
+    private EnrollmentCounterService enrollmentCounterService;
+
+    private AutocompleteService autocompleteService;
+
+    @BeforeEach
+    void setUp() {
+        autocompleteService = new AutocompleteService(courseRepository, categoryRepository, skillRepository,
+            learningPathRepository, enrollmentCounterService);
+        when(skillRepository.findSuggestionRows()).thenReturn(List.of());
+        when(learningPathRepository.findSuggestionRows()).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should keep updates made while a rebuild is loading")
+    void shouldKeepUpdatesMadeDuringRebuild() {
+        Category created = Category.builder().id(2).name("Data Science").build();
+        // The category is committed after the rebuild has read the categories
+        when(courseRepository.findPublishedSuggestionRows()).thenReturn(List.of());
+        when(categoryRepository.findSuggestionRows()).thenAnswer(invocation -> {
+            List<Object[]> rows = List.<Object[]>of(new Object[] { 1, "Databases", 5L });
+            autocompleteService.upsertCategory(created);
+            return rows;
+        });
+
+        autocompleteService.rebuild();
+
+        assertEquals(List.of(1, 2), ids(autocompleteService.suggest("data", Set.of(AutocompleteService.CATEGORIES), 10)));
+    }
+
+    @Test
+    @DisplayName("Should keep removals made while a rebuild is loading")
+    void shouldKeepRemovalsMadeDuringRebuild() {
+        when(courseRepository.findPublishedSuggestionRows()).thenReturn(List.<Object[]>of(new Object[] { 1, "Intro to Java", 3L }));
+        when(categoryRepository.findSuggestionRows()).thenAnswer(invocation -> {
+            autocompleteService.removeCourse(1);
+            return List.of();
+        });
+
+        autocompleteService.rebuild();
+
+        assertTrue(autocompleteService.suggest("java", Set.of(AutocompleteService.COURSES), 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stop recording updates once the rebuild is swapped in")
+    void shouldApplyLaterUpdatesToRebuiltTries() {
+        when(courseRepository.findPublishedSuggestionRows()).thenReturn(List.of());
+        when(categoryRepository.findSuggestionRows()).thenReturn(List.of());
+        autocompleteService.rebuild();
+
+        autocompleteService.upsertCategory(Category.builder().id(3).name("Design").build());
+
+        assertEquals(List.of(3), ids(autocompleteService.suggest("des", Set.of(AutocompleteService.CATEGORIES), 10)));
+    }
+
+    private static List<Integer> ids(List<AutocompleteSuggestionDTO> suggestions) {
+        return suggestions.stream().map(AutocompleteSuggestionDTO::getId).toList();
+    }
+}
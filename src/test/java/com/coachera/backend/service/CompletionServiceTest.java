@@ -0,0 +1,269 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+
+import com.coachera.backend.dto.CompletionBatchResultDTO;
+import com.coachera.backend.dto.CompletionEventDTO;
+import com.coachera.backend.dto.CourseCompletionDTO;
+import com.coachera.backend.dto.MaterialCompletionDTO;
+import com.coachera.backend.entity.Course;
+import com.coachera.backend.entity.CourseCompletion;
+import com.coachera.backend.entity.Enrollment;
+import com.coachera.backend.entity.Material;
+import com.coachera.backend.entity.MaterialCompletion;
+import com.coachera.backend.entity.Student;
+import com.coachera.backend.entity.enums.CompletionState;
+import com.coachera.backend.entity.enums.CompletionTriggerType;
+import com.coachera.backend.exception.ResourceNotFoundException;
+import com.coachera.backend.repository.CourseCompletionRepository;
+import com.coachera.backend.repository.EnrollmentRepository;
+import com.coachera.backend.repository.MaterialCompletionRepository;
+import com.coachera.backend.repository.MaterialRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CompletionService Tests")
+class CompletionServiceTest {
+
+    @Mock
+    private MaterialCompletionRepository materialCompletionRepository;
+
+    @Mock
+    private CourseCompletionRepository courseCompletionRepository;
+
+    @Mock
+    private MaterialRepository materialRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private CompletionService completionService;
+    private Enrollment enrollment;
+    private CourseCompletion courseCompletion;
+
+    @BeforeEach
+    void setUp() {
+        completionService = new CompletionService(materialCompletionRepository, courseCompletionRepository,
+            materialRepository, enrollmentRepository, trendingService,
+            new CourseMaterialCountCache(materialRepository, 600), jdbcTemplate, entityManager);
+
+        Student student = new Student();
+        student.setId(7);
+        enrollment = Enrollment.builder().id(1).course(Course.builder().id(3).build()).student(student).build();
+        courseCompletion = new CourseCompletion();
+        courseCompletion.setEnrollment(enrollment);
+        courseCompletion.setCompletedMaterials(1);
+    }
+
+    @Test
+    @DisplayName("Should dedupe a sync batch and update progress once per enrollment")
+    @SuppressWarnings("unchecked")
+    void shouldIngestCompletionEventsInBulk() {
+        // Given: materials 10-13 belong to the course, 10 is already complete, 99 is another course's
+        LocalDateTime earlier = LocalDateTime.now().minusHours(2);
+        List<CompletionEventDTO> events = List.of(
+            event(10, CompletionState.COMPLETE, earlier),
+            event(11, CompletionState.COMPLETE, earlier),
+            event(11, CompletionState.COMPLETE, earlier.plusMinutes(5)),
+            event(12, CompletionState.COMPLETE_FAIL, earlier),
+            event(13, CompletionState.COMPLETE_PASS, earlier),
+            event(99, CompletionState.COMPLETE, earlier));
+        when(enrollmentRepository.findAllById(Set.of(1))).thenReturn(List.of(enrollment));
+        when(materialRepository.findCourseIdRowsByIds(anyCollection())).thenReturn(List.of(
+            new Object[] { 10, 3 }, new Object[] { 11, 3 }, new Object[] { 12, 3 }, new Object[] { 13, 3 },
+            new Object[] { 99, 4 }));
+        when(materialCompletionRepository.findStateRows(anyCollection(), anyCollection()))
+            .thenReturn(List.<Object[]>of(new Object[] { 100L, 1, 10, true }));
+        when(materialRepository.countByCourseId(3)).thenReturn(4L);
+        when(courseCompletionRepository.findByEnrollment(enrollment)).thenReturn(Optional.of(courseCompletion));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1, 1 });
+
+        // When
+        CompletionBatchResultDTO result = completionService.ingestCompletionEvents(events, 7);
+
+        // Then
+        assertEquals(6, result.getReceived());
+        assertEquals(2, result.getApplied());
+        assertEquals(3, result.getDuplicates());
+        assertEquals(1, result.getRejected());
+        assertEquals(1, result.getEnrollmentsUpdated());
+
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), inserts.capture());
+        assertEquals(2, inserts.getValue().size());
+        assertEquals(3, courseCompletion.getCompletedMaterials());
+        assertEquals(new BigDecimal("75.00"), courseCompletion.getProgress());
+        verify(materialCompletionRepository, never()).countByEnrollmentAndCompleted(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should count a passed quiz towards course progress")
+    void shouldCountPassedQuiz() {
+        when(materialCompletionRepository.upsertCompleted(eq(1), eq(10), eq(CompletionState.COMPLETE_PASS.ordinal()),
+            eq("GRADE"), any())).thenReturn(List.of(100L));
+        when(materialRepository.countByCourseId(3)).thenReturn(4L);
+        when(courseCompletionRepository.findByEnrollment(enrollment)).thenReturn(Optional.of(courseCompletion));
+
+        completionService.recordQuizResult(enrollment, 10, true);
+
+        verify(entityManager).refresh(courseCompletion, LockModeType.PESSIMISTIC_WRITE);
+        assertEquals(2, courseCompletion.getCompletedMaterials());
+        assertEquals(new BigDecimal("50.00"), courseCompletion.getProgress());
+        verify(courseCompletionRepository).save(courseCompletion);
+    }
+
+    @Test
+    @DisplayName("Should insert the missing course completion of a legacy enrollment before locking it")
+    void shouldCreateMissingCourseCompletion() {
+        CourseCompletion inserted = new CourseCompletion();
+        inserted.setEnrollment(enrollment);
+        when(materialCompletionRepository.upsertCompleted(eq(1), eq(10), eq(CompletionState.COMPLETE_PASS.ordinal()),
+            eq("GRADE"), any())).thenReturn(List.of(100L));
+        when(materialRepository.countByCourseId(3)).thenReturn(4L);
+        when(courseCompletionRepository.findByEnrollment(enrollment))
+            .thenReturn(Optional.empty(), Optional.of(inserted));
+        when(materialCompletionRepository.countByEnrollmentAndCompleted(enrollment, true)).thenReturn(1L);
+
+        completionService.recordQuizResult(enrollment, 10, true);
+
+        InOrder inOrder = inOrder(courseCompletionRepository, entityManager);
+        inOrder.verify(courseCompletionRepository).insertIfAbsent(eq(1), any(LocalDateTime.class));
+        inOrder.verify(entityManager).refresh(inserted, LockModeType.PESSIMISTIC_WRITE);
+        assertEquals(1, inserted.getCompletedMaterials());
+        assertEquals(new BigDecimal("25.00"), inserted.getProgress());
+        verify(courseCompletionRepository).save(inserted);
+    }
+
+    @Test
+    @DisplayName("Should record a failed attempt without touching course progress")
+    void shouldNotUndoCompletionOnFailedQuiz() {
+        completionService.recordQuizResult(enrollment, 10, false);
+
+        verify(materialCompletionRepository).upsertAttempt(eq(1), eq(10), eq(CompletionState.COMPLETE_FAIL.ordinal()),
+            eq("GRADE"), any());
+        verify(materialCompletionRepository, never()).upsertCompleted(any(), any(), anyInt(), any(), any());
+        verifyNoInteractions(courseCompletionRepository);
+        assertEquals(1, courseCompletion.getCompletedMaterials());
+    }
+
+    @Test
+    @DisplayName("Should not count a material that was already completed")
+    void shouldIgnoreRepeatedCompletion() {
+        when(enrollmentRepository.findById(1)).thenReturn(Optional.of(enrollment));
+        when(materialCompletionRepository.upsertCompleted(eq(1), eq(10), eq(CompletionState.COMPLETE.ordinal()),
+            eq("MANUAL"), any())).thenReturn(List.of());
+        MaterialCompletion existing = new MaterialCompletion();
+        existing.setEnrollment(enrollment);
+        Material material = new Material();
+        material.setId(10);
+        existing.setMaterial(material);
+        existing.setCompleted(true);
+        when(materialCompletionRepository.findByEnrollmentIdAndMaterialId(1, 10)).thenReturn(Optional.of(existing));
+
+        MaterialCompletionDTO result = completionService.markMaterialComplete(1, 10);
+
+        assertTrue(result.isCompleted());
+        verifyNoInteractions(courseCompletionRepository, trendingService);
+    }
+
+    @Test
+    @DisplayName("Should report a missing material only for its foreign key violation")
+    void shouldMapOnlyMaterialForeignKeyViolation() {
+        when(materialCompletionRepository.upsertCompleted(eq(1), eq(99), anyInt(), anyString(), any()))
+            .thenThrow(new DataIntegrityViolationException("fk", new SQLException(
+                "insert or update on table \"material_completion\" violates foreign key constraint; "
+                    + "Key (material_id)=(99) is not present in table \"materials\"", "23503")));
+        when(materialCompletionRepository.upsertCompleted(eq(1), eq(10), anyInt(), anyString(), any()))
+            .thenThrow(new DataIntegrityViolationException("unique", new SQLException(
+                "there is no unique or exclusion constraint matching the ON CONFLICT specification", "42P10")));
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> completionService.recordCompletion(enrollment, 99, CompletionState.COMPLETE, CompletionTriggerType.MANUAL));
+        assertThrows(DataIntegrityViolationException.class,
+            () -> completionService.recordCompletion(enrollment, 10, CompletionState.COMPLETE, CompletionTriggerType.MANUAL));
+    }
+
+    @Test
+    @DisplayName("Should reject events for another student's enrollment")
+    void shouldRejectOtherStudentsEnrollment() {
+        when(enrollmentRepository.findAllById(Set.of(1))).thenReturn(List.of(enrollment));
+        when(materialRepository.findCourseIdRowsByIds(anyCollection())).thenReturn(List.<Object[]>of(new Object[] { 10, 3 }));
+        when(materialCompletionRepository.findStateRows(anyCollection(), anyCollection())).thenReturn(List.of());
+
+        CompletionBatchResultDTO result = completionService.ingestCompletionEvents(
+            List.of(event(10, CompletionState.COMPLETE, null)), 8);
+
+        assertEquals(1, result.getRejected());
+        assertEquals(0, result.getApplied());
+        verifyNoInteractions(jdbcTemplate, courseCompletionRepository);
+    }
+
+    @Test
+    @DisplayName("Should page course completions from row queries")
+    void shouldPageCompletionsByCourse() {
+        LocalDateTime completedAt = LocalDateTime.of(2024, 5, 8, 14, 30);
+        when(courseCompletionRepository.findRowsByCourseId(eq(3), any(Pageable.class))).thenAnswer(invocation ->
+            new PageImpl<>(List.<Object[]>of(new Object[] { 5, 1, new BigDecimal("100.00"), true, completedAt,
+                completedAt.minusDays(2), completedAt }), invocation.getArgument(1), 21));
+
+        Page<CourseCompletionDTO> page = completionService.getCompletionsByCourse(3, 2, 10);
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(courseCompletionRepository).findRowsByCourseId(eq(3), pageable.capture());
+        assertEquals(2, pageable.getValue().getPageNumber());
+        assertEquals(10, pageable.getValue().getPageSize());
+        assertEquals(Sort.by("id"), pageable.getValue().getSort());
+
+        assertEquals(21, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+        CourseCompletionDTO dto = page.getContent().get(0);
+        assertEquals(5, dto.getId());
+        assertEquals(1, dto.getEnrollmentId());
+        assertEquals(new BigDecimal("100.00"), dto.getProgress());
+        assertTrue(dto.isCompleted());
+        assertEquals(completedAt, dto.getCompletionDate());
+        assertEquals(completedAt.minusDays(2), dto.getCreatedAt());
+        // Never falls back to a query per enrollment
+        verify(enrollmentRepository, never()).findByCourseId(any());
+        verify(courseCompletionRepository, never()).findByEnrollment(any());
+    }
+
+    private static CompletionEventDTO event(int materialId, CompletionState state, LocalDateTime timestamp) {
+        return CompletionEventDTO.builder().enrollmentId(1).materialId(materialId).state(state).timestamp(timestamp).build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.dto.CourseAnalyticsDTO;
+import com.coachera.backend.dto.CourseAnalyticsDTO.ModuleFunnel;
+import com.coachera.backend.dto.CourseAnalyticsDTO.SectionFunnel;
+import com.coachera.backend.exception.ResourceNotFoundException;
+import com.coachera.backend.repository.CourseCompletionRepository;
+import com.coachera.backend.repository.CourseRepository;
+import com.coachera.backend.repository.EnrollmentRepository;
+import com.coachera.backend.repository.MaterialCompletionRepository;
+import com.coachera.backend.repository.SectionRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CourseAnalyticsService Tests")
+class CourseAnalyticsServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private CourseCompletionRepository courseCompletionRepository;
+
+    @Mock
+    private MaterialCompletionRepository materialCompletionRepository;
+
+    @Mock
+    private SectionRepository sectionRepository;
+
+    private CourseAnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        analyticsService = new CourseAnalyticsService(courseRepository, enrollmentRepository,
+            courseCompletionRepository, materialCompletionRepository, sectionRepository, 60);
+    }
+
+    @Test
+    @DisplayName("Should build the histogram, funnel and median from grouped rows")
+    void shouldComputeAnalytics() {
+        stubCourse(3);
+
+        CourseAnalyticsDTO analytics = analyticsService.getCourseAnalytics(3);
+
+        assertEquals(3, analytics.getCourseId());
+        assertEquals(12, analytics.getEnrollments());
+        assertEquals(4, analytics.getCompletedEnrollments());
+        assertEquals(86400L, analytics.getMedianSecondsToComplete());
+        assertNotNull(analytics.getGeneratedAt());
+
+        // Buckets without rows are still listed, with no enrollments
+        assertEquals(10, analytics.getProgressHistogram().size());
+        assertEquals(0, analytics.getProgressHistogram().get(0).getFromPercent());
+        assertEquals(10, analytics.getProgressHistogram().get(0).getToPercent());
+        assertEquals(5, analytics.getProgressHistogram().get(0).getEnrollments());
+        assertEquals(0, analytics.getProgressHistogram().get(5).getEnrollments());
+        assertEquals(90, analytics.getProgressHistogram().get(9).getFromPercent());
+        assertEquals(100, analytics.getProgressHistogram().get(9).getToPercent());
+        assertEquals(4, analytics.getProgressHistogram().get(9).getEnrollments());
+
+        assertEquals(List.of(
+            new ModuleFunnel(1, "Basics", 0, 5, 8, 4, List.of(
+                new SectionFunnel(10, "Setup", 0, 2, 8, 6),
+                new SectionFunnel(11, "Syntax", 1, 3, 6, 4))),
+            new ModuleFunnel(2, "Advanced", 1, 0, 0, 0, List.of(
+                new SectionFunnel(20, "Streams", 0, 0, 0, 0)))),
+            analytics.getModules());
+    }
+
+    @Test
+    @DisplayName("Should report no median when nobody completed the course")
+    void shouldReportNoMedian() {
+        when(courseRepository.existsById(3)).thenReturn(true);
+        when(courseCompletionRepository.countProgressBucketRows(3)).thenReturn(List.of());
+        when(courseCompletionRepository.findMedianSecondsToComplete(3)).thenReturn(null);
+        when(materialCompletionRepository.findSectionFunnelRows(3)).thenReturn(List.of());
+        when(materialCompletionRepository.findModuleFunnelRows(3)).thenReturn(List.of());
+        when(sectionRepository.findOutlineRowsByCourseId(3)).thenReturn(List.of());
+
+        CourseAnalyticsDTO analytics = analyticsService.getCourseAnalytics(3);
+
+        assertNull(analytics.getMedianSecondsToComplete());
+        assertTrue(analytics.getProgressHistogram().stream().allMatch(bucket -> bucket.getEnrollments() == 0));
+        assertTrue(analytics.getModules().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated requests from the cache until it expires")
+    void shouldCacheAnalytics() {
+        stubCourse(3);
+
+        CourseAnalyticsDTO first = analyticsService.getCourseAnalytics(3);
+        assertSame(first, analyticsService.getCourseAnalytics(3));
+        verify(courseCompletionRepository, times(1)).countProgressBucketRows(3);
+
+        analyticsService = new CourseAnalyticsService(courseRepository, enrollmentRepository,
+            courseCompletionRepository, materialCompletionRepository, sectionRepository, 0);
+        analyticsService.getCourseAnalytics(3);
+        analyticsService.getCourseAnalytics(3);
+        verify(courseCompletionRepository, times(3)).countProgressBucketRows(3);
+    }
+
+    @Test
+    @DisplayName("Should throw when the course does not exist")
+    void shouldRejectUnknownCourse() {
+        when(courseRepository.existsById(99)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> analyticsService.getCourseAnalytics(99));
+        verifyNoInteractions(courseCompletionRepository, materialCompletionRepository, sectionRepository);
+    }
+
+    private void stubCourse(Integer courseId) {
+        when(courseRepository.existsById(courseId)).thenReturn(true);
+        when(enrollmentRepository.countByCourseId(courseId)).thenReturn(12L);
+        when(courseCompletionRepository.countCompletedByCourseId(courseId)).thenReturn(4L);
+        when(courseCompletionRepository.countProgressBucketRows(courseId)).thenReturn(List.<Object[]>of(
+            new Object[] { 0, 5L },
+            new Object[] { 3, 3L },
+            new Object[] { 9, 4L }));
+        when(courseCompletionRepository.findMedianSecondsToComplete(courseId)).thenReturn(86399.6);
+        when(materialCompletionRepository.findSectionFunnelRows(courseId)).thenReturn(List.<Object[]>of(
+            new Object[] { 10, 8L, 6L },
+            new Object[] { 11, 6L, 4L }));
+        when(materialCompletionRepository.findModuleFunnelRows(courseId)).thenReturn(List.<Object[]>of(
+            new Object[] { 1, 8L, 4L }));
+        // Nobody has started the second module yet, so it has no funnel rows
+        when(sectionRepository.findOutlineRowsByCourseId(courseId)).thenReturn(List.<Object[]>of(
+            new Object[] { 1, "Basics", 0, 10, "Setup", 0, 2L },
+            new Object[] { 1, "Basics", 0, 11, "Syntax", 1, 3L },
+            new Object[] { 2, "Advanced", 1, 20, "Streams", 0, 0L }));
+    }
+}
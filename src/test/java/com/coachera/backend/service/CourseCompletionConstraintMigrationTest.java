@@ -0,0 +1,88 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CourseCompletionConstraintMigration Tests")
+class CourseCompletionConstraintMigrationTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Query query;
+
+    private final List<String> statements = new ArrayList<>();
+    private CourseCompletionConstraintMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        migration = new CourseCompletionConstraintMigration(entityManager, transactionManager);
+        when(entityManager.createNativeQuery(anyString())).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            return query;
+        });
+        lenient().when(query.setParameter(anyString(), any())).thenReturn(query);
+    }
+
+    @Test
+    @DisplayName("Should remove orphans and duplicates, then make the enrollment required and unique")
+    void shouldAddConstraint() {
+        when(query.getSingleResult()).thenReturn(1, false, false);
+        when(query.executeUpdate()).thenReturn(2, 0, 3, 10, 0);
+
+        migration.migrate();
+
+        assertEquals(8, statements.size());
+        assertTrue(statements.get(0).contains("pg_advisory_xact_lock"));
+        assertTrue(statements.get(1).contains("conrelid = 'course_completion'::regclass"));
+        assertEquals("DELETE FROM course_completion WHERE enrollment_id IS NULL", statements.get(3));
+        assertTrue(statements.get(4).endsWith("SET NOT NULL"));
+        assertTrue(statements.get(5).startsWith("DELETE FROM course_completion a USING course_completion b"));
+        assertEquals("UPDATE course_completion SET completed_materials = NULL", statements.get(6));
+        assertTrue(statements.get(7).endsWith("ADD CONSTRAINT " + CourseCompletionConstraintMigration.CONSTRAINT_NAME
+            + " UNIQUE (enrollment_id)"));
+    }
+
+    @Test
+    @DisplayName("Should only make the enrollment required when schema update added the constraint")
+    void shouldOnlyRequireEnrollment() {
+        when(query.getSingleResult()).thenReturn(1, true, false);
+        when(query.executeUpdate()).thenReturn(0, 0);
+
+        migration.migrate();
+
+        assertEquals(5, statements.size());
+        assertTrue(statements.get(4).endsWith("SET NOT NULL"));
+    }
+
+    @Test
+    @DisplayName("Should do nothing once the constraint exists")
+    void shouldSkipWhenMigrated() {
+        when(query.getSingleResult()).thenReturn(1, true, true);
+
+        migration.migrate();
+
+        assertEquals(3, statements.size());
+        verify(query, never()).executeUpdate();
+    }
+}
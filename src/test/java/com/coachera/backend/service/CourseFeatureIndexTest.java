@@ -0,0 +1,88 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.repository.CourseCategoryRepository;
+import com.coachera.backend.repository.CourseRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CourseFeatureIndex Tests")
+class CourseFeatureIndexTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private CourseCategoryRepository courseCategoryRepository;
+
+    @Mock
+    private EnrollmentCounterService enrollmentCounterService;
+
+    @InjectMocks
+    private CourseFeatureIndex courseFeatureIndex;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> courses = new ArrayList<>();
+        courses.add(new Object[] { 1, BigDecimal.valueOf(4.0), BigDecimal.valueOf(10), 0L });
+        courses.add(new Object[] { 2, BigDecimal.valueOf(3.0), BigDecimal.valueOf(10), 0L });
+        courses.add(new Object[] { 3, BigDecimal.valueOf(3.0), BigDecimal.valueOf(10), 0L });
+        courses.add(new Object[] { 4, BigDecimal.valueOf(1.0), BigDecimal.valueOf(10), 40L });
+
+        List<Object[]> categories = new ArrayList<>();
+        categories.add(new Object[] { 1, 100 });
+        categories.add(new Object[] { 3, 100 });
+
+        when(courseRepository.findPublishedCourseFeatures()).thenReturn(courses);
+        when(courseCategoryRepository.findPublishedCourseCategoryPairs()).thenReturn(categories);
+        when(enrollmentCounterService.getPendingDelta(anyInt())).thenReturn(0L);
+        when(enrollmentCounterService.getPendingDelta(4)).thenReturn(5L);
+
+        courseFeatureIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should rank by preferred categories, rating and popularity")
+    void shouldRankCandidates() {
+        // Course 1 is enrolled; course 3 shares its category, course 4 is popular
+        CourseFeatureIndex.RankedCourses ranked = courseFeatureIndex.rankRecommendations(List.of(1), 10);
+
+        assertEquals(3, ranked.getTotal());
+        assertEquals(List.of(3, 4, 2), ranked.getCourseIds());
+    }
+
+    @Test
+    @DisplayName("Should keep only the top K courses")
+    void shouldKeepTopK() {
+        CourseFeatureIndex.RankedCourses ranked = courseFeatureIndex.rankRecommendations(List.of(1), 1);
+
+        assertEquals(3, ranked.getTotal());
+        assertEquals(List.of(3), ranked.getCourseIds());
+    }
+
+    @Test
+    @DisplayName("Should drop removed courses and track enrollment deltas")
+    void shouldApplyIncrementalUpdates() {
+        courseFeatureIndex.removeCourse(3);
+        courseFeatureIndex.onEnrollmentCreated(2);
+
+        assertEquals(3, courseFeatureIndex.size());
+        assertEquals(1L, courseFeatureIndex.getEnrollmentCount(2));
+        assertEquals(45L, courseFeatureIndex.getEnrollmentCount(4));
+        assertEquals(List.of(4, 2), courseFeatureIndex.rankRecommendations(List.of(1), 10).getCourseIds());
+    }
+}
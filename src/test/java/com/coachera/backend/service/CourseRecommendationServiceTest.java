@@ -0,0 +1,127 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.coachera.backend.dto.CourseDTO;
+import com.coachera.backend.entity.Student;
+import com.coachera.backend.entity.User;
+import com.coachera.backend.repository.CourseCategoryRepository;
+import com.coachera.backend.repository.CourseRepository;
+import com.coachera.backend.repository.EnrollmentRepository;
+import com.coachera.backend.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CourseRecommendationService Tests")
+class CourseRecommendationServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private CourseCategoryRepository courseCategoryRepository;
+
+    @Mock
+    private CourseFeatureIndex courseFeatureIndex;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @Mock
+    private CourseSummaryLoader courseSummaryLoader;
+
+    @Mock
+    private SimilarCourseIndex similarCourseIndex;
+
+    @InjectMocks
+    private CourseRecommendationService recommendationService;
+
+    @Test
+    @DisplayName("Should drop a course unpublished since the index was built before cutting the page")
+    void shouldDropUnpublishedBeforeSlicing() {
+        User user = User.builder().id(1).build();
+        when(studentRepository.findByUserId(1)).thenReturn(Student.builder().id(5).build());
+        when(enrollmentRepository.findCourseIdsByStudentId(5)).thenReturn(List.of(9));
+        when(courseFeatureIndex.rankRecommendations(List.of(9), 4))
+            .thenReturn(new CourseFeatureIndex.RankedCourses(List.of(1, 2, 3, 4), 6));
+        when(courseRepository.findUnpublishedIds(List.of(1, 2, 3, 4))).thenReturn(List.of(2));
+        when(courseSummaryLoader.load(List.of(4))).thenReturn(List.of(course(4)));
+
+        Page<CourseDTO> page = recommendationService.getRecommendedCourses(user, PageRequest.of(1, 2));
+
+        assertEquals(List.of(4), page.getContent().stream().map(CourseDTO::getId).toList());
+        assertEquals(5, page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should load only the page when every ranked course is published")
+    void shouldLoadPage() {
+        User user = User.builder().id(1).build();
+        when(studentRepository.findByUserId(1)).thenReturn(Student.builder().id(5).build());
+        when(enrollmentRepository.findCourseIdsByStudentId(5)).thenReturn(List.of(9));
+        when(courseFeatureIndex.rankRecommendations(List.of(9), 4))
+            .thenReturn(new CourseFeatureIndex.RankedCourses(List.of(3, 1, 7, 8), 10));
+        when(courseRepository.findUnpublishedIds(List.of(3, 1, 7, 8))).thenReturn(List.of());
+        when(courseSummaryLoader.load(List.of(7, 8))).thenReturn(List.of(course(7), course(8)));
+
+        Page<CourseDTO> page = recommendationService.getRecommendedCourses(user, PageRequest.of(1, 2));
+
+        assertEquals(List.of(7, 8), page.getContent().stream().map(CourseDTO::getId).toList());
+        assertEquals(10, page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should return an empty page past the ranked courses")
+    void shouldReturnEmptyPagePastRanking() {
+        User user = User.builder().id(1).build();
+        when(studentRepository.findByUserId(1)).thenReturn(Student.builder().id(5).build());
+        when(enrollmentRepository.findCourseIdsByStudentId(5)).thenReturn(List.of(9));
+        when(courseFeatureIndex.rankRecommendations(List.of(9), 8))
+            .thenReturn(new CourseFeatureIndex.RankedCourses(List.of(1, 2), 2));
+
+        Page<CourseDTO> page = recommendationService.getRecommendedCourses(user, PageRequest.of(3, 2));
+
+        assertTrue(page.getContent().isEmpty());
+        verifyNoInteractions(courseSummaryLoader);
+        verify(courseRepository, never()).findUnpublishedIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should fill a trending page from later courses when a ranked one was unpublished")
+    void shouldFillTrendingPage() {
+        when(trendingService.getRankedCourseIds()).thenReturn(List.of(1, 2, 3, 4, 5, 6, 7));
+        when(courseRepository.findUnpublishedIds(List.of(1, 2, 3, 4))).thenReturn(List.of(2));
+        when(courseRepository.findUnpublishedIds(List.of(5))).thenReturn(List.of());
+        when(courseSummaryLoader.load(List.of(4, 5))).thenReturn(List.of(course(4), course(5)));
+
+        Page<CourseDTO> page = recommendationService.getTrendingCourses(PageRequest.of(1, 2));
+
+        assertEquals(List.of(4, 5), page.getContent().stream().map(CourseDTO::getId).toList());
+        assertEquals(6, page.getTotalElements());
+    }
+
+    private static CourseDTO course(int id) {
+        CourseDTO dto = new CourseDTO();
+        dto.setId(id);
+        dto.setPublished(true);
+        return dto;
+    }
+}
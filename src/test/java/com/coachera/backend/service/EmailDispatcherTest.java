@@ -0,0 +1,108 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailDispatcher Tests")
+class EmailDispatcherTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private EmailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve the priority lane before queued bulk mail")
+    void shouldSendPriorityMailFirst() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        List<List<MimeMessage>> batches = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            batches.add(List.of((MimeMessage[]) invocation.getRawArguments()[0]));
+            if (batches.size() == 1) {
+                firstBatchStarted.countDown();
+                releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher = new EmailDispatcher(mailSender, 100, 2, 1, 1000);
+        // Keep the only sender busy while the backlog builds up
+        CompletableFuture<Void> first = dispatcher.send(message(), EmailDispatcher.Priority.BULK);
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<Void>> bulk = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bulk.add(dispatcher.send(message(), EmailDispatcher.Priority.BULK));
+        }
+        MimeMessage otp = message();
+        CompletableFuture<Void> priority = dispatcher.send(otp, EmailDispatcher.Priority.HIGH);
+        releaseFirstBatch.countDown();
+
+        priority.get(5, TimeUnit.SECONDS);
+        CompletableFuture.allOf(bulk.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        first.get(5, TimeUnit.SECONDS);
+
+        assertSame(otp, batches.get(1).get(0));
+        // Six messages after the first, two per connection
+        assertEquals(4, batches.size());
+        assertEquals(7, dispatcher.getStats().sent());
+        assertEquals(4, dispatcher.getStats().batches());
+    }
+
+    @Test
+    @DisplayName("Should fail only the messages the server rejected")
+    void shouldFailRejectedMessagesOnly() throws Exception {
+        MimeMessage accepted = message();
+        MimeMessage rejected = message();
+        CountDownLatch queued = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            queued.await(5, TimeUnit.SECONDS);
+            throw new MailSendException(Map.of(rejected, new IllegalStateException("Mailbox unavailable")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher = new EmailDispatcher(mailSender, 100, 10, 1, 1000);
+        // Whether or not they share a batch, only the rejected one fails
+        CompletableFuture<Void> first = dispatcher.send(accepted, EmailDispatcher.Priority.BULK);
+        CompletableFuture<Void> second = dispatcher.send(rejected, EmailDispatcher.Priority.BULK);
+        queued.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals(1, dispatcher.getStats().failed());
+    }
+
+    private static MimeMessage message() {
+        return new MimeMessage((Session) null);
+    }
+}
@@ -0,0 +1,145 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.dto.DashboardCourseDTO;
+import com.coachera.backend.entity.Student;
+import com.coachera.backend.entity.User;
+import com.coachera.backend.entity.enums.CompletionState;
+import com.coachera.backend.repository.CourseRepository;
+import com.coachera.backend.repository.EnrollmentRepository;
+import com.coachera.backend.repository.MaterialCompletionRepository;
+import com.coachera.backend.repository.MaterialRepository;
+import com.coachera.backend.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EnrollmentService Tests")
+class EnrollmentServiceTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private MaterialRepository materialRepository;
+
+    @Mock
+    private MaterialCompletionRepository materialCompletionRepository;
+
+    @Mock
+    private CourseFeatureIndex courseFeatureIndex;
+
+    @Mock
+    private EnrollmentCounterService enrollmentCounterService;
+
+    @Mock
+    private TrendingService trendingService;
+
+    private EnrollmentService enrollmentService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        enrollmentService = new EnrollmentService(enrollmentRepository, studentRepository, courseRepository,
+            materialRepository, materialCompletionRepository, courseFeatureIndex, enrollmentCounterService,
+            trendingService);
+
+        user = User.builder().id(1).build();
+        Student student = new Student();
+        student.setId(7);
+        when(studentRepository.findByUserId(1)).thenReturn(student);
+    }
+
+    @Test
+    @DisplayName("Should build the dashboard from one query per kind of row")
+    void shouldBuildDashboard() {
+        LocalDateTime enrolledAt = LocalDateTime.of(2024, 5, 8, 14, 30);
+        when(enrollmentRepository.findDashboardRowsByStudentId(7)).thenReturn(List.<Object[]>of(
+            new Object[] { 10, 3, "Intro to Java", null, enrolledAt },
+            new Object[] { 11, 4, "Python Basics", null, enrolledAt.minusDays(1) }));
+        when(materialRepository.countRowsByCourseIds(Set.of(3, 4))).thenReturn(List.<Object[]>of(
+            new Object[] { 3, 4L },
+            new Object[] { 4, 2L }));
+        when(materialCompletionRepository.findDashboardRowsByEnrollmentIds(Set.of(10, 11))).thenReturn(List.<Object[]>of(
+            new Object[] { 10, 100, CompletionState.COMPLETE, true },
+            new Object[] { 10, 101, CompletionState.INCOMPLETE, false },
+            new Object[] { 10, 102, CompletionState.COMPLETE_PASS, true },
+            new Object[] { 11, 200, CompletionState.COMPLETE, true },
+            new Object[] { 11, 201, CompletionState.COMPLETE_PASS, true }));
+
+        List<DashboardCourseDTO> dashboard = enrollmentService.getDashboard(user);
+
+        assertEquals(2, dashboard.size());
+        DashboardCourseDTO java = dashboard.get(0);
+        assertEquals(10, java.getEnrollmentId());
+        assertEquals(3, java.getCourseId());
+        assertEquals("Intro to Java", java.getTitle());
+        assertNull(java.getImage());
+        assertEquals(enrolledAt, java.getEnrolledAt());
+        assertEquals(4, java.getTotalMaterials());
+        assertEquals(2, java.getCompletedMaterials());
+        assertEquals(new BigDecimal("50.00"), java.getProgress());
+        assertFalse(java.isCompleted());
+        assertEquals(Map.of(100, CompletionState.COMPLETE, 101, CompletionState.INCOMPLETE,
+            102, CompletionState.COMPLETE_PASS), java.getMaterialStates());
+
+        DashboardCourseDTO python = dashboard.get(1);
+        assertEquals(new BigDecimal("100.00"), python.getProgress());
+        assertTrue(python.isCompleted());
+    }
+
+    @Test
+    @DisplayName("Should cap completions of removed materials and handle courses without materials")
+    void shouldHandleMissingMaterials() {
+        when(enrollmentRepository.findDashboardRowsByStudentId(7)).thenReturn(List.<Object[]>of(
+            new Object[] { 10, 3, "Intro to Java", null, LocalDateTime.now() },
+            new Object[] { 11, 4, "Empty Course", null, LocalDateTime.now() }));
+        // The empty course has no count row
+        when(materialRepository.countRowsByCourseIds(anyCollection())).thenReturn(List.<Object[]>of(
+            new Object[] { 3, 1L }));
+        when(materialCompletionRepository.findDashboardRowsByEnrollmentIds(anyCollection())).thenReturn(List.<Object[]>of(
+            new Object[] { 10, 100, CompletionState.COMPLETE, true },
+            new Object[] { 10, 99, CompletionState.COMPLETE, true }));
+
+        List<DashboardCourseDTO> dashboard = enrollmentService.getDashboard(user);
+
+        assertEquals(1, dashboard.get(0).getCompletedMaterials());
+        assertEquals(new BigDecimal("100.00"), dashboard.get(0).getProgress());
+        assertTrue(dashboard.get(0).isCompleted());
+
+        assertEquals(0, dashboard.get(1).getTotalMaterials());
+        assertEquals(BigDecimal.ZERO, dashboard.get(1).getProgress());
+        assertFalse(dashboard.get(1).isCompleted());
+        assertEquals(Map.of(), dashboard.get(1).getMaterialStates());
+    }
+
+    @Test
+    @DisplayName("Should not query materials for a student without enrollments")
+    void shouldReturnEmptyDashboard() {
+        when(enrollmentRepository.findDashboardRowsByStudentId(7)).thenReturn(List.of());
+
+        assertTrue(enrollmentService.getDashboard(user).isEmpty());
+
+        verifyNoInteractions(materialRepository, materialCompletionRepository);
+    }
+}
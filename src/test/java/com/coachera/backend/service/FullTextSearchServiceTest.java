@@ -0,0 +1,160 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import com.coachera.backend.dto.SearchRequest;
+import com.coachera.backend.entity.Course;
+import com.coachera.backend.entity.Enrollment;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FullTextSearchService Tests")
+class FullTextSearchServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SearchSqlSupport searchSqlSupport;
+
+    @Mock
+    private Query query;
+
+    private FullTextSearchService fullTextSearchService;
+
+    @BeforeEach
+    void setUp() {
+        fullTextSearchService = new FullTextSearchService(entityManager, searchSqlSupport);
+    }
+
+    @Test
+    @DisplayName("Should escape markup in the matched text and only tag the matches")
+    void shouldEscapeHighlights() {
+        when(searchSqlSupport.filters(eq(Course.class), any(), anyMap())).thenReturn("");
+        when(searchSqlSupport.exactCount(anyString(), anyMap())).thenReturn(1L);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.getResultList()).thenReturn(rows(
+            new Object[] { 1, 0.6f, "Java <script>alert('x')</script> & more" }));
+
+        Slice<Object[]> hits = fullTextSearchService.search(Course.class, "java", Map.of(),
+            PageRequest.of(0, 10), SearchRequest.COUNT_EXACT);
+
+        assertEquals("<mark>Java</mark> &lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; more",
+            hits.getContent().get(0)[2]);
+        // Markers in the stored text are stripped before ts_headline adds its own
+        verify(query).setParameter("markers", "");
+        verify(query).setParameter(eq("options"), argThat((String options) -> !options.contains("<")));
+    }
+
+    @Test
+    @DisplayName("Should rank and page the matches, with the exact total")
+    void shouldRankMatches() {
+        when(searchSqlSupport.filters(eq(Course.class), any(), anyMap())).thenReturn("");
+        when(searchSqlSupport.exactCount(anyString(), anyMap())).thenReturn(25L);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.getResultList()).thenReturn(rows(
+            new Object[] { 4, 0.9f, "Java streams" },
+            new Object[] { 2, 0.3f, "Intro to Java" }));
+
+        Slice<Object[]> hits = fullTextSearchService.search(Course.class, "java", Map.of(),
+            PageRequest.of(1, 10), SearchRequest.COUNT_EXACT);
+
+        Page<Object[]> page = assertInstanceOf(Page.class, hits);
+        assertEquals(25, page.getTotalElements());
+        assertEquals(List.of(4, 2), hits.getContent().stream().map(row -> row[0]).toList());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(entityManager).createNativeQuery(sql.capture());
+        assertTrue(sql.getValue().contains("t.search_vector @@ websearch_to_tsquery('simple'::regconfig, :term)"));
+        assertTrue(sql.getValue().contains("ts_rank(t.search_vector"));
+        assertTrue(sql.getValue().endsWith("ORDER BY r.rank DESC, r.id ASC"));
+        verify(query).setParameter("term", "java");
+        verify(query).setParameter("limit", 10);
+        verify(query).setParameter("offset", 10L);
+    }
+
+    @Test
+    @DisplayName("Should skip the query when the page is past the last match")
+    void shouldSkipQueryPastLastMatch() {
+        when(searchSqlSupport.filters(eq(Course.class), any(), anyMap())).thenReturn("");
+        when(searchSqlSupport.exactCount(anyString(), anyMap())).thenReturn(5L);
+
+        Slice<Object[]> hits = fullTextSearchService.search(Course.class, "java", Map.of(),
+            PageRequest.of(1, 10), SearchRequest.COUNT_EXACT);
+
+        assertTrue(hits.getContent().isEmpty());
+        verify(entityManager, never()).createNativeQuery(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra row instead of counting when the count is skipped")
+    void shouldSliceWithoutCount() {
+        when(searchSqlSupport.filters(eq(Course.class), any(), anyMap())).thenReturn("");
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.getResultList()).thenReturn(rows(
+            new Object[] { 1, 0.9f, "a" },
+            new Object[] { 2, 0.8f, "b" },
+            new Object[] { 3, 0.7f, "c" }));
+
+        Slice<Object[]> hits = fullTextSearchService.search(Course.class, "java", Map.of(),
+            PageRequest.of(0, 2), SearchRequest.COUNT_NONE);
+
+        assertFalse(hits instanceof Page);
+        assertTrue(hits.hasNext());
+        assertEquals(2, hits.getNumberOfElements());
+        verify(query).setParameter("limit", 3);
+        verify(searchSqlSupport, never()).exactCount(anyString(), anyMap());
+        verify(searchSqlSupport, never()).estimateCount(anyString(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should create the weighted search vector columns and GIN indexes at startup")
+    void shouldCreateSearchVectors() {
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+
+        fullTextSearchService.createSearchVectors();
+
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(entityManager, times(18)).createNativeQuery(ddl.capture());
+        verify(query, times(18)).executeUpdate();
+        assertTrue(ddl.getAllValues().contains("ALTER TABLE courses ADD COLUMN IF NOT EXISTS search_vector tsvector "
+            + "GENERATED ALWAYS AS (setweight(to_tsvector('simple'::regconfig, coalesce(title, '')), 'A') || "
+            + "setweight(to_tsvector('simple'::regconfig, coalesce(description, '')), 'B')) STORED"));
+        assertTrue(ddl.getAllValues().contains("ALTER TABLE skills ADD COLUMN IF NOT EXISTS search_vector tsvector "
+            + "GENERATED ALWAYS AS (setweight(to_tsvector('simple'::regconfig, coalesce(name, '')), 'A')) STORED"));
+        assertTrue(ddl.getAllValues().contains(
+            "CREATE INDEX IF NOT EXISTS idx_courses_search_vector ON courses USING GIN (search_vector)"));
+    }
+
+    @Test
+    @DisplayName("Should reject entities without a search vector")
+    void shouldRejectUnindexedEntity() {
+        assertFalse(fullTextSearchService.supports(Enrollment.class));
+        assertThrows(IllegalArgumentException.class, () -> fullTextSearchService.search(Enrollment.class, "java",
+            Map.of(), PageRequest.of(0, 10), SearchRequest.COUNT_EXACT));
+    }
+
+    // The service rewrites the highlight in place, like the rows a real query returns
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
@@ -0,0 +1,74 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MaterialCompletionConstraintMigration Tests")
+class MaterialCompletionConstraintMigrationTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Query query;
+
+    private final List<String> statements = new ArrayList<>();
+    private MaterialCompletionConstraintMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        migration = new MaterialCompletionConstraintMigration(entityManager, transactionManager);
+        when(entityManager.createNativeQuery(anyString())).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            return query;
+        });
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+    }
+
+    @Test
+    @DisplayName("Should lock, remove duplicates and add the constraint")
+    void shouldAddConstraint() {
+        when(query.getSingleResult()).thenReturn(1, false);
+        when(query.executeUpdate()).thenReturn(2, 5, 0);
+
+        migration.migrate();
+
+        assertEquals(5, statements.size());
+        assertTrue(statements.get(0).contains("pg_advisory_xact_lock"));
+        assertTrue(statements.get(1).contains("conrelid = 'material_completion'::regclass"));
+        assertTrue(statements.get(2).startsWith("DELETE FROM material_completion a USING material_completion b"));
+        assertEquals("UPDATE course_completion SET completed_materials = NULL", statements.get(3));
+        assertTrue(statements.get(4).endsWith("ADD CONSTRAINT " + MaterialCompletionConstraintMigration.CONSTRAINT_NAME
+            + " UNIQUE (enrollment_id, material_id)"));
+    }
+
+    @Test
+    @DisplayName("Should do nothing once the constraint exists")
+    void shouldSkipWhenMigrated() {
+        when(query.getSingleResult()).thenReturn(1, true);
+
+        migration.migrate();
+
+        assertEquals(2, statements.size());
+        verify(query, never()).executeUpdate();
+    }
+}
@@ -0,0 +1,62 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.repository.NotificationArchiveRepository;
+import com.coachera.backend.repository.NotificationDeliveryRepository;
+import com.coachera.backend.repository.NotificationRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationArchiver Tests")
+class NotificationArchiverTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationDeliveryRepository deliveryRepository;
+
+    @Mock
+    private NotificationArchiveRepository archiveRepository;
+
+    private UnreadCountCache unreadCountCache;
+    private NotificationArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        unreadCountCache = new UnreadCountCache(notificationRepository, 4, 100);
+        archiver = new NotificationArchiver(notificationRepository, deliveryRepository, archiveRepository,
+            unreadCountCache);
+    }
+
+    @Test
+    @DisplayName("Should take deleted unread notifications off their recipients' counts")
+    void shouldDecrementUnreadCountsOfDeletedNotifications() {
+        when(notificationRepository.countByRecipientIdAndReadFalse(anyInt())).thenReturn(5L);
+        unreadCountCache.get(1);
+        unreadCountCache.get(2);
+        List<Long> ids = List.of(10L, 11L, 12L);
+        when(notificationRepository.findIdsCreatedBefore(any(LocalDateTime.class), eq(3))).thenReturn(ids);
+        when(notificationRepository.countUnreadRowsByIds(ids)).thenReturn(List.<Object[]>of(new Object[] { 1, 2L }));
+        when(notificationRepository.deleteByIds(ids)).thenReturn(3);
+
+        assertEquals(3, archiver.archiveBatch(LocalDateTime.now(), 3, false));
+
+        assertEquals(3L, unreadCountCache.get(1));
+        assertEquals(5L, unreadCountCache.get(2));
+        verify(deliveryRepository).deleteByNotificationIds(ids);
+        verify(archiveRepository, never()).copyFromNotifications(anyCollection(), any());
+    }
+}
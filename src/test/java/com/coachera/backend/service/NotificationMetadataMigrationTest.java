@@ -0,0 +1,70 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationMetadataMigration Tests")
+class NotificationMetadataMigrationTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Query query;
+
+    private final List<String> statements = new ArrayList<>();
+    private NotificationMetadataMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        migration = new NotificationMetadataMigration(entityManager, transactionManager);
+        when(entityManager.createNativeQuery(anyString())).thenAnswer(invocation -> {
+            statements.add(invocation.getArgument(0));
+            return query;
+        });
+    }
+
+    @Test
+    @DisplayName("Should copy metadata, default the rest and drop the old table")
+    void shouldMigrateOldTable() {
+        when(query.getSingleResult()).thenReturn(true);
+        when(query.executeUpdate()).thenReturn(3, 5, 0);
+
+        migration.migrate();
+
+        assertEquals(4, statements.size());
+        assertTrue(statements.get(1).contains("jsonb_object_agg"));
+        assertTrue(statements.get(2).contains("'{}'::jsonb WHERE metadata IS NULL"));
+        assertEquals("DROP TABLE notification_metadata", statements.get(3));
+    }
+
+    @Test
+    @DisplayName("Should do nothing once the old table is gone")
+    void shouldSkipWhenMigrated() {
+        when(query.getSingleResult()).thenReturn(false);
+
+        migration.migrate();
+
+        assertEquals(1, statements.size());
+        verify(query, never()).executeUpdate();
+    }
+}
@@ -0,0 +1,167 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.entity.Notification;
+import com.coachera.backend.entity.NotificationDelivery;
+import com.coachera.backend.entity.User;
+import com.coachera.backend.entity.enums.NotificationStatus;
+import com.coachera.backend.repository.NotificationDeliveryRepository;
+import com.coachera.backend.repository.NotificationRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationOutbox Tests")
+class NotificationOutboxTest {
+
+    private static final long LEASE_MS = 60000;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationDeliveryRepository deliveryRepository;
+
+    private NotificationOutbox outbox;
+    private Notification notification;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new NotificationOutbox(notificationRepository, deliveryRepository, LEASE_MS, 1000, 8000, 3);
+        notification = Notification.builder().id(1L).recipient(User.builder().id(1).build()).build();
+    }
+
+    @Test
+    @DisplayName("Should reserve new deliveries until the lease ends")
+    void shouldReserveNewDeliveriesUntilLeaseEnds() {
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(deliveryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<NotificationDelivery> rows = invocation.getArgument(0);
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).setId(10L + i);
+            }
+            return rows;
+        });
+
+        LocalDateTime before = LocalDateTime.now();
+        NotificationOutbox.Entry entry = outbox.persist(List.of(new NotificationOutbox.Entry(notification, List.of(
+            new NotificationOutbox.Delivery(null, NotificationDeliveryService.CHANNEL_PUSH, 0),
+            new NotificationOutbox.Delivery(null, NotificationDeliveryService.CHANNEL_EMAIL, 0))))).get(0);
+
+        assertEquals(List.of(10L, 11L), entry.deliveries().stream().map(NotificationOutbox.Delivery::id).toList());
+        assertFalse(entry.reservedUntil().isBefore(before.plusNanos(LEASE_MS * 1_000_000)));
+        assertFalse(entry.reservedUntil().isAfter(LocalDateTime.now().plusNanos(LEASE_MS * 1_000_000)));
+
+        // Workers only see the rows once the reservation ends
+        ArgumentCaptor<List<NotificationDelivery>> rows = ArgumentCaptor.forClass(List.class);
+        verify(deliveryRepository).saveAll(rows.capture());
+        assertTrue(rows.getValue().stream().allMatch(row -> row.getStatus() == NotificationStatus.PENDING
+            && row.getNextAttemptAt().equals(entry.reservedUntil())));
+    }
+
+    @Test
+    @DisplayName("Should claim and lease only the deliveries still reserved")
+    void shouldClaimReservedDeliveries() {
+        LocalDateTime reservedUntil = LocalDateTime.now();
+        when(deliveryRepository.lockReservedIds(List.of(1L, 2L), reservedUntil)).thenReturn(List.of(2L));
+
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(Set.of(2L), outbox.claim(List.of(1L, 2L), reservedUntil));
+
+        verify(deliveryRepository).lease(eq(List.of(2L)),
+            argThat(leaseUntil -> !leaseUntil.isBefore(before.plusNanos(LEASE_MS * 1_000_000))));
+    }
+
+    @Test
+    @DisplayName("Should not lease anything when every delivery was taken over")
+    void shouldNotLeaseWhenNothingClaimed() {
+        when(deliveryRepository.lockReservedIds(anyCollection(), any(LocalDateTime.class))).thenReturn(List.of());
+
+        assertTrue(outbox.claim(List.of(1L), LocalDateTime.now()).isEmpty());
+
+        verify(deliveryRepository, never()).lease(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should lease due deliveries so other workers skip them")
+    void shouldLeaseDueDeliveries() {
+        NotificationDelivery row = NotificationDelivery.builder()
+            .id(3L).notification(notification).channel(NotificationDeliveryService.CHANNEL_PUSH)
+            .status(NotificationStatus.PENDING).attempts(2).build();
+        LocalDateTime before = LocalDateTime.now();
+        when(deliveryRepository.lockDueIds(any(LocalDateTime.class), eq(10))).thenReturn(List.of(3L));
+        when(deliveryRepository.findWithNotificationByIdIn(List.of(3L))).thenReturn(List.of(row));
+
+        List<NotificationOutbox.Entry> entries = outbox.claimDue(10);
+
+        assertEquals(1, entries.size());
+        assertSame(notification, entries.get(0).notification());
+        assertNull(entries.get(0).reservedUntil()); // Already claimed
+        assertEquals(List.of(new NotificationOutbox.Delivery(3L, NotificationDeliveryService.CHANNEL_PUSH, 2)),
+            entries.get(0).deliveries());
+        verify(deliveryRepository).lockDueIds(argThat(now -> !now.isBefore(before)), eq(10));
+        verify(deliveryRepository).lease(eq(List.of(3L)),
+            argThat(leaseUntil -> !leaseUntil.isBefore(before.plusNanos(LEASE_MS * 1_000_000))));
+    }
+
+    @Test
+    @DisplayName("Should double the backoff per attempt up to the cap, with jitter")
+    void shouldBackOffExponentially() {
+        for (int i = 0; i < 100; i++) {
+            assertBetween(500, 1000, outbox.backoffMs(1));
+            assertBetween(1000, 2000, outbox.backoffMs(2));
+            assertBetween(2000, 4000, outbox.backoffMs(3));
+            assertBetween(4000, 8000, outbox.backoffMs(5));
+            assertBetween(4000, 8000, outbox.backoffMs(64));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reschedule a failed delivery and give up after the last attempt")
+    void shouldRescheduleFailedDeliveries() {
+        NotificationDelivery retried = NotificationDelivery.builder()
+            .id(1L).notification(notification).channel(NotificationDeliveryService.CHANNEL_PUSH)
+            .status(NotificationStatus.PENDING).attempts(0).build();
+        NotificationDelivery exhausted = NotificationDelivery.builder()
+            .id(2L).notification(notification).channel(NotificationDeliveryService.CHANNEL_EMAIL)
+            .status(NotificationStatus.PENDING).attempts(2).build();
+        when(deliveryRepository.findAllById(anyIterable())).thenReturn(List.of(retried, exhausted));
+
+        LocalDateTime before = LocalDateTime.now();
+        outbox.recordOutcomes(List.of(
+            new NotificationOutbox.Outcome(new NotificationOutbox.Delivery(1L, "push", 0), 1L, false, "push down"),
+            new NotificationOutbox.Outcome(new NotificationOutbox.Delivery(2L, "email", 2), 1L, false, "smtp down")),
+            List.of(1L));
+        LocalDateTime after = LocalDateTime.now();
+
+        assertEquals(1, retried.getAttempts());
+        assertEquals("push down", retried.getLastError());
+        assertEquals(NotificationStatus.PENDING, retried.getStatus());
+        assertFalse(retried.getNextAttemptAt().isBefore(before.plusNanos(500 * 1_000_000L)));
+        assertFalse(retried.getNextAttemptAt().isAfter(after.plusNanos(1000 * 1_000_000L)));
+
+        assertEquals(3, exhausted.getAttempts());
+        assertEquals(NotificationStatus.FAILED, exhausted.getStatus());
+        assertNull(exhausted.getNextAttemptAt());
+
+        verify(deliveryRepository, never()).markSent(anyCollection(), any(LocalDateTime.class));
+        verify(notificationRepository).markFailedIfUndelivered(List.of(1L));
+    }
+
+    private static void assertBetween(long min, long max, long actual) {
+        assertTrue(actual >= min && actual <= max, actual + " not in [" + min + ", " + max + "]");
+    }
+}
@@ -7,13 +7,16 @@ import static org.mockito.Mockito.*;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -21,7 +24,10 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.coachera.backend.dto.BulkNotificationResultDTO;
 import com.coachera.backend.dto.NotificationDTO;
 import com.coachera.backend.dto.SendNotificationRequest;
 import com.coachera.backend.entity.DeviceToken;
@@ -34,7 +40,9 @@ import com.coachera.backend.repository.NotificationRepository;
 import com.coachera.backend.repository.UserRepository;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("NotificationService Tests")
@@ -55,8 +63,15 @@ class NotificationServiceTest {
     @Mock
     private EmailService emailService;
 
-    @InjectMocks
+    @Mock
+    private NotificationOutbox notificationOutbox;
+
+    private NotificationDispatcher notificationDispatcher;
+    private UnreadCountCache unreadCountCache;
+    private NotificationStreamHub streamHub;
     private NotificationService notificationService;
+    private long nextNotificationId;
+    private long nextDeliveryId;
 
     private User testUser;
     private SendNotificationRequest testRequest;
@@ -65,6 +80,21 @@ class NotificationServiceTest {
 
     @BeforeEach
     void setUp() {
+        NotificationDeliveryService deliveryService = new NotificationDeliveryService(deviceTokenRepository,
+            new PushNotificationSender(firebaseMessaging, deviceTokenRepository, 500), emailService);
+        unreadCountCache = new UnreadCountCache(notificationRepository, 4, 100);
+        streamHub = new NotificationStreamHub(60000);
+        notificationDispatcher = new NotificationDispatcher(notificationOutbox, deliveryService, unreadCountCache,
+            streamHub, 100, 10, 10, 2, 2, 1000);
+        notificationService = new NotificationService(deviceTokenRepository, notificationRepository, userRepository,
+            notificationDispatcher, new NotificationRetryWorker(notificationOutbox, notificationDispatcher, 10, 1),
+            unreadCountCache, streamHub);
+        nextNotificationId = 1;
+        nextDeliveryId = 1;
+        // Mail is accepted unless a test says otherwise
+        lenient().when(emailService.sendNotificationEmail(any(), any(), any(), any()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
         testUser = User.builder()
             .id(1)
             .email("test@example.com")
@@ -103,6 +133,39 @@ class NotificationServiceTest {
             .build();
     }
 
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        notificationDispatcher.shutdown();
+    }
+
+    private static BatchResponse successfulResponse() {
+        SendResponse sent = mock(SendResponse.class);
+        when(sent.isSuccessful()).thenReturn(true);
+        BatchResponse response = mock(BatchResponse.class);
+        when(response.getResponses()).thenReturn(List.of(sent));
+        return response;
+    }
+
+    private void stubPersist() {
+        LocalDateTime reservedUntil = LocalDateTime.now().plusMinutes(5);
+        when(notificationOutbox.persist(anyList())).thenAnswer(invocation -> {
+            List<NotificationOutbox.Entry> entries = invocation.getArgument(0);
+            return entries.stream().map(entry -> {
+                entry.notification().setId(nextNotificationId++);
+                return new NotificationOutbox.Entry(entry.notification(), entry.deliveries().stream()
+                    .map(delivery -> new NotificationOutbox.Delivery(nextDeliveryId++, delivery.channel(), 0))
+                    .toList(), reservedUntil);
+            }).toList();
+        });
+        // Every reserved delivery is still free to claim
+        when(notificationOutbox.claim(anyCollection(), eq(reservedUntil)))
+            .thenAnswer(invocation -> new HashSet<Long>(invocation.getArgument(0)));
+    }
+
+    private static List<NotificationOutbox.Outcome> allSent(int count) {
+        return argThat(outcomes -> outcomes.size() == count && outcomes.stream().allMatch(NotificationOutbox.Outcome::sent));
+    }
+
     @Nested
     @DisplayName("Send Single Notification Tests")
     class SendNotificationTests {
@@ -112,9 +175,10 @@ class NotificationServiceTest {
         void shouldSendNotificationSuccessfully() throws Exception {
             // Given
             when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-            when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+            stubPersist();
             when(deviceTokenRepository.findByUser(testUser)).thenReturn(List.of(testDeviceToken));
-            when(firebaseMessaging.send(any(Message.class))).thenReturn("message-id-123");
+            BatchResponse response = successfulResponse();
+            when(firebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(response);
 
             // When
             CompletableFuture<Notification> result = notificationService.sendNotification(testRequest);
@@ -124,8 +188,10 @@ class NotificationServiceTest {
             assertNotNull(notification);
             assertEquals(testNotification.getId(), notification.getId());
             verify(userRepository).findById(1);
-            verify(notificationRepository, times(2)).save(any(Notification.class)); // Once for creation, once for status update
-            verify(firebaseMessaging).send(any(Message.class));
+            assertEquals(NotificationStatus.SENT, notification.getStatus());
+            verify(notificationOutbox).persist(anyList()); // Created with its outbox rows
+            verify(notificationOutbox).recordOutcomes(allSent(2), eq(List.of(1L))); // Push and email
+            verify(firebaseMessaging).sendEachForMulticast(any(MulticastMessage.class));
             verify(emailService).sendNotificationEmail(
                 eq(testUser.getEmail()),
                 eq(testRequest.getTitle()),
@@ -134,6 +200,33 @@ class NotificationServiceTest {
             );
         }
 
+        @Test
+        @DisplayName("Should not send deliveries a worker took over")
+        void shouldNotSendDeliveriesClaimedElsewhere() {
+            // Given
+            when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+            when(notificationOutbox.persist(anyList())).thenAnswer(invocation -> {
+                NotificationOutbox.Entry entry = invocation.<List<NotificationOutbox.Entry>>getArgument(0).get(0);
+                entry.notification().setId(1L);
+                return List.of(new NotificationOutbox.Entry(entry.notification(), List.of(
+                    new NotificationOutbox.Delivery(1L, NotificationDeliveryService.CHANNEL_PUSH, 0),
+                    new NotificationOutbox.Delivery(2L, NotificationDeliveryService.CHANNEL_EMAIL, 0)),
+                    LocalDateTime.now()));
+            });
+            // The push delivery's reservation ended and a worker claimed it
+            when(notificationOutbox.claim(eq(List.of(1L, 2L)), any(LocalDateTime.class))).thenReturn(Set.of(2L));
+
+            // When
+            notificationService.sendNotification(testRequest).join();
+
+            // Then
+            verify(emailService).sendNotificationEmail(anyString(), anyString(), anyString(), anyString());
+            verify(deviceTokenRepository, never()).findByUser(any());
+            verify(notificationOutbox).recordOutcomes(
+                argThat(outcomes -> outcomes.size() == 1 && outcomes.get(0).delivery().id() == 2L),
+                eq(List.of(1L)));
+        }
+
         @Test
         @DisplayName("Should throw exception when user not found")
         void shouldThrowExceptionWhenUserNotFound() {
@@ -145,7 +238,7 @@ class NotificationServiceTest {
             
             assertThrows(RuntimeException.class, result::join);
             verify(userRepository).findById(1);
-            verify(notificationRepository, never()).save(any());
+            verify(notificationOutbox, never()).persist(anyList());
         }
 
         @Test
@@ -153,10 +246,10 @@ class NotificationServiceTest {
         void shouldHandleFirebaseMessagingException() throws FirebaseMessagingException {
             // Given
             when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-            when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+            stubPersist();
             when(deviceTokenRepository.findByUser(testUser)).thenReturn(List.of(testDeviceToken));
             FirebaseMessagingException messagingException = mock(FirebaseMessagingException.class);
-            when(firebaseMessaging.send(any(Message.class)))
+            when(firebaseMessaging.sendEachForMulticast(any(MulticastMessage.class)))
                 .thenThrow(messagingException);
 
             // When
@@ -165,8 +258,9 @@ class NotificationServiceTest {
 
             // Then
             assertNotNull(notification);
-            verify(firebaseMessaging).send(any(Message.class));
+            verify(firebaseMessaging).sendEachForMulticast(any(MulticastMessage.class));
             // Notification should still be created even if push fails
+            assertEquals(NotificationStatus.FAILED, notification.getStatus());
         }
 
         @Test
@@ -174,11 +268,12 @@ class NotificationServiceTest {
         void shouldHandleEmailServiceException() throws Exception {
             // Given
             when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-            when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+            stubPersist();
             when(deviceTokenRepository.findByUser(testUser)).thenReturn(List.of(testDeviceToken));
-            when(firebaseMessaging.send(any(Message.class))).thenReturn("message-id-123");
-            doThrow(new RuntimeException("Email service error"))
-                .when(emailService).sendNotificationEmail(anyString(), anyString(), anyString(), anyString());
+            BatchResponse response = successfulResponse();
+            when(firebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(response);
+            when(emailService.sendNotificationEmail(anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Email service error")));
 
             // When
             CompletableFuture<Notification> result = notificationService.sendNotification(testRequest);
@@ -186,6 +281,7 @@ class NotificationServiceTest {
 
             // Then
             assertNotNull(notification);
+            assertEquals(NotificationStatus.FAILED, notification.getStatus());
             verify(emailService).sendNotificationEmail(anyString(), anyString(), anyString(), anyString());
         }
 
@@ -201,7 +297,7 @@ class NotificationServiceTest {
                 .build();
 
             when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-            when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+            stubPersist();
             when(deviceTokenRepository.findByUser(testUser)).thenReturn(List.of(testDeviceToken));
 
             // When
@@ -225,37 +321,95 @@ class NotificationServiceTest {
             User user2 = User.builder().id(2).email("user2@example.com").build();
             User user3 = User.builder().id(3).email("user3@example.com").build();
 
-            when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-            when(userRepository.findById(2)).thenReturn(Optional.of(user2));
-            when(userRepository.findById(3)).thenReturn(Optional.of(user3));
-            when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+            when(userRepository.findEmailRowsByIds(userIds)).thenReturn(List.of(
+                new Object[] { 1, testUser.getEmail() },
+                new Object[] { 2, user2.getEmail() },
+                new Object[] { 3, user3.getEmail() }));
+            when(userRepository.getReferenceById(anyInt()))
+                .thenAnswer(invocation -> User.builder().id(invocation.getArgument(0)).build());
+            stubPersist();
             when(deviceTokenRepository.findByUser(any())).thenReturn(List.of());
 
             // When
-            CompletableFuture<List<Notification>> result = notificationService.sendBulkNotification(testRequest, userIds);
-            List<Notification> notifications = result.join();
+            BulkNotificationResultDTO result = notificationService.sendBulkNotification(testRequest, userIds).join();
 
             // Then
-            assertEquals(3, notifications.size());
-            verify(userRepository).findById(1);
-            verify(userRepository).findById(2);
-            verify(userRepository).findById(3);
+            assertEquals(3, result.getQueued());
+            assertEquals(0, result.getSkipped());
+            ArgumentCaptor<List<NotificationOutbox.Entry>> persisted = ArgumentCaptor.forClass(List.class);
+            verify(notificationOutbox).persist(persisted.capture());
+            List<Notification> notifications = persisted.getValue().stream().map(NotificationOutbox.Entry::notification).toList();
+            assertEquals(List.of(1, 2, 3), notifications.stream().map(n -> n.getRecipient().getId()).toList());
+            assertEquals(List.of("test@example.com", "user2@example.com", "user3@example.com"),
+                notifications.stream().map(Notification::getEmailAddress).toList());
+            verify(userRepository).findEmailRowsByIds(userIds);
+            verify(userRepository, never()).findById(anyInt());
         }
 
         @Test
-        @DisplayName("Should handle partial failures in bulk notification")
-        void shouldHandlePartialFailuresInBulkNotification() {
+        @DisplayName("Should skip unknown users in bulk notification")
+        void shouldSkipUnknownUsersInBulkNotification() {
             // Given
             List<Integer> userIds = List.of(1, 999); // 999 doesn't exist
-            when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-            when(userRepository.findById(999)).thenReturn(Optional.empty());
-            when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
-            when(deviceTokenRepository.findByUser(any())).thenReturn(List.of());
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[] { 1, testUser.getEmail() });
+            when(userRepository.findEmailRowsByIds(userIds)).thenReturn(rows);
+            when(userRepository.getReferenceById(1)).thenReturn(testUser);
+            stubPersist();
+            when(deviceTokenRepository.findByUser(testUser)).thenReturn(List.of());
 
-            // When & Then
-            CompletableFuture<List<Notification>> result = notificationService.sendBulkNotification(testRequest, userIds);
-            
-            assertThrows(RuntimeException.class, result::join);
+            // When
+            BulkNotificationResultDTO result = notificationService.sendBulkNotification(testRequest, userIds).join();
+
+            // Then
+            assertEquals(1, result.getQueued());
+            assertEquals(1, result.getSkipped());
+            assertEquals(List.of(999), result.getSkippedUserIds());
+            verify(userRepository, never()).getReferenceById(999);
+        }
+
+        @Test
+        @DisplayName("Should accept bulk notifications the full queue leaves to the outbox")
+        void shouldAcceptBulkNotificationsWhenQueueIsFull() throws Exception {
+            // Given: a single slot queue behind a dispatcher stuck claiming its first batch
+            NotificationDispatcher full = new NotificationDispatcher(notificationOutbox,
+                new NotificationDeliveryService(deviceTokenRepository,
+                    new PushNotificationSender(firebaseMessaging, deviceTokenRepository, 500), emailService),
+                unreadCountCache, streamHub, 1, 10, 10, 2, 2, 0);
+            NotificationService service = new NotificationService(deviceTokenRepository, notificationRepository,
+                userRepository, full, new NotificationRetryWorker(notificationOutbox, full, 10, 1),
+                unreadCountCache, streamHub);
+            List<Integer> userIds = List.of(1, 2, 3);
+            when(userRepository.findEmailRowsByIds(userIds)).thenReturn(List.of(
+                new Object[] { 1, "user1@example.com" },
+                new Object[] { 2, "user2@example.com" },
+                new Object[] { 3, "user3@example.com" }));
+            when(userRepository.getReferenceById(anyInt()))
+                .thenAnswer(invocation -> User.builder().id(invocation.getArgument(0)).build());
+            when(notificationOutbox.persist(anyList())).thenAnswer(invocation -> {
+                List<NotificationOutbox.Entry> entries = invocation.getArgument(0);
+                return entries.stream().map(entry -> new NotificationOutbox.Entry(entry.notification(),
+                    List.of(new NotificationOutbox.Delivery(nextDeliveryId++, NotificationDeliveryService.CHANNEL_EMAIL, 0)),
+                    LocalDateTime.now().plusMinutes(5))).toList();
+            });
+            CountDownLatch claiming = new CountDownLatch(1);
+            when(notificationOutbox.claim(anyCollection(), any(LocalDateTime.class))).thenAnswer(invocation -> {
+                claiming.await();
+                return new HashSet<Long>(invocation.getArgument(0));
+            });
+
+            try {
+                // When
+                BulkNotificationResultDTO result = service.sendBulkNotification(testRequest, userIds)
+                    .get(5, TimeUnit.SECONDS);
+
+                // Then
+                assertEquals(3, result.getQueued());
+                assertEquals(0, result.getSkipped());
+            } finally {
+                claiming.countDown();
+                full.shutdown();
+            }
         }
     }
 
@@ -318,6 +472,29 @@ class NotificationServiceTest {
             verify(notificationRepository).markAsRead(notificationIds, testUser);
         }
 
+        @Test
+        @DisplayName("Should decrement the unread count only once the transaction commits")
+        void shouldDecrementUnreadCountAfterCommit() {
+            // Given
+            when(notificationRepository.countByRecipientIdAndReadFalse(1)).thenReturn(5L);
+            when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+            when(notificationRepository.markAsRead(List.of(1L, 2L), testUser)).thenReturn(2);
+            notificationService.getUnreadCount(1);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // When
+                notificationService.markNotificationsAsRead(1, List.of(1L, 2L));
+
+                // Then
+                assertEquals(5L, notificationService.getUnreadCount(1));
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                assertEquals(3L, notificationService.getUnreadCount(1));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
         @Test
         @DisplayName("Should throw exception when user not found for marking as read")
         void shouldThrowExceptionWhenUserNotFoundForMarkingAsRead() {
@@ -336,29 +513,43 @@ class NotificationServiceTest {
     class UnreadCountTests {
 
         @Test
-        @DisplayName("Should get unread count successfully")
+        @DisplayName("Should count once, then answer from the cache")
         void shouldGetUnreadCountSuccessfully() {
             // Given
-            when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-            when(notificationRepository.countByRecipientAndReadFalse(testUser)).thenReturn(5L);
+            when(notificationRepository.countByRecipientIdAndReadFalse(1)).thenReturn(5L);
 
             // When
-            long result = notificationService.getUnreadCount(1);
+            long first = notificationService.getUnreadCount(1);
+            long second = notificationService.getUnreadCount(1);
 
             // Then
-            assertEquals(5L, result);
-            verify(notificationRepository).countByRecipientAndReadFalse(testUser);
+            assertEquals(5L, first);
+            assertEquals(5L, second);
+            verify(notificationRepository, times(1)).countByRecipientIdAndReadFalse(1);
+            verify(userRepository, never()).findById(anyInt());
         }
 
         @Test
-        @DisplayName("Should throw exception when user not found for unread count")
-        void shouldThrowExceptionWhenUserNotFoundForUnreadCount() {
+        @DisplayName("Should keep the cached count in step with reads and new notifications")
+        void shouldUpdateCachedUnreadCount() {
             // Given
-            when(userRepository.findById(999)).thenReturn(Optional.empty());
+            when(notificationRepository.countByRecipientIdAndReadFalse(1)).thenReturn(5L);
+            when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+            when(notificationRepository.markAsRead(List.of(1L, 2L), testUser)).thenReturn(2);
+            notificationService.getUnreadCount(1);
 
-            // When & Then
-            assertThrows(RuntimeException.class, 
-                () -> notificationService.getUnreadCount(999));
+            // When
+            notificationService.markNotificationsAsRead(1, List.of(1L, 2L));
+            unreadCountCache.increment(1, 1);
+
+            // Then
+            assertEquals(4L, notificationService.getUnreadCount(1));
+
+            // Reconciling replaces the count with the database's
+            when(notificationRepository.countUnreadRowsByRecipientIds(List.of(1)))
+                .thenReturn(List.<Object[]>of(new Object[] { 1, 7L }));
+            unreadCountCache.reconcile();
+            assertEquals(7L, notificationService.getUnreadCount(1));
         }
     }
 
@@ -422,20 +613,25 @@ class NotificationServiceTest {
     class RetryFailedNotificationsTests {
 
         @Test
-        @DisplayName("Should retry failed notifications successfully")
-        void shouldRetryFailedNotificationsSuccessfully() {
-            // Given
-            List<Notification> failedNotifications = List.of(testNotification);
-            when(notificationRepository.findFailedNotificationsForRetry(any(LocalDateTime.class)))
-                .thenReturn(failedNotifications);
+        @DisplayName("Should retry only the channels that are due")
+        void shouldRetryFailedNotificationsSuccessfully() throws FirebaseMessagingException {
+            // Given: email already succeeded, only push is claimed
+            NotificationOutbox.Entry due = new NotificationOutbox.Entry(testNotification,
+                List.of(new NotificationOutbox.Delivery(5L, NotificationDeliveryService.CHANNEL_PUSH, 8)));
+            when(notificationOutbox.rescheduleFailed(any(LocalDateTime.class))).thenReturn(1);
+            when(notificationOutbox.claimDue(10)).thenReturn(List.of(due));
             when(deviceTokenRepository.findByUser(testUser)).thenReturn(List.of(testDeviceToken));
+            BatchResponse response = successfulResponse();
+            when(firebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(response);
 
             // When
             assertDoesNotThrow(() -> notificationService.retryFailedNotifications());
 
             // Then
-            verify(notificationRepository).findFailedNotificationsForRetry(any(LocalDateTime.class));
-            verify(deviceTokenRepository).findByUser(testUser);
+            verify(notificationOutbox).rescheduleFailed(any(LocalDateTime.class));
+            verify(notificationOutbox, timeout(1000)).recordOutcomes(allSent(1), eq(List.of(1L)));
+            verify(emailService, never()).sendNotificationEmail(anyString(), anyString(), anyString(), anyString());
+            verify(notificationOutbox, never()).persist(anyList()); // Already persisted
         }
 
         @Test
@@ -452,16 +648,17 @@ class NotificationServiceTest {
                 .metadata(Map.of("channels", "mobile"))
                 .build();
 
-            List<Notification> failedNotifications = List.of(failedNotification);
-            when(notificationRepository.findFailedNotificationsForRetry(any(LocalDateTime.class)))
-                .thenReturn(failedNotifications);
+            when(notificationOutbox.claimDue(10)).thenReturn(List.of(new NotificationOutbox.Entry(failedNotification,
+                List.of(new NotificationOutbox.Delivery(7L, NotificationDeliveryService.CHANNEL_PUSH, 1)))));
             when(deviceTokenRepository.findByUser(testUser))
                 .thenThrow(new RuntimeException("Database error"));
 
             // When & Then
             assertDoesNotThrow(() -> notificationService.retryFailedNotifications());
             
-            verify(notificationRepository).findFailedNotificationsForRetry(any(LocalDateTime.class));
+            verify(notificationOutbox, timeout(1000)).recordOutcomes(
+                argThat(outcomes -> outcomes.size() == 1 && !outcomes.get(0).sent()), eq(List.of(2L)));
+            assertEquals(NotificationStatus.FAILED, failedNotification.getStatus());
         }
     }
 
@@ -497,17 +694,8 @@ class NotificationServiceTest {
                 .metadata(metadata)
                 .build();
 
-            Notification notification = Notification.builder()
-                .id(123L) 
-                .recipient(testUser)
-                .metadata(metadata)
-                .actionUrl("https://example.com")
-                .title("Test")      // <-- ADD THIS
-                .content("Content")
-                .build();
-
             when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-            when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+            stubPersist();
             
             if (expectPush) {
                 when(deviceTokenRepository.findByUser(testUser)).thenReturn(List.of(testDeviceToken));
@@ -526,6 +714,33 @@ class NotificationServiceTest {
 
             // Reset mocks for next test
             reset(deviceTokenRepository, emailService);
+            lenient().when(emailService.sendNotificationEmail(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        }
+
+        @Test
+        @DisplayName("Should hand off more emails than the email concurrency while earlier ones are queued")
+        void shouldNotHoldEmailPermitsUntilAccepted() {
+            // Given
+            testRequest.setMetadata(Map.of("channels", "email"));
+            when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+            stubPersist();
+            CompletableFuture<Void> accepted = new CompletableFuture<>();
+            when(emailService.sendNotificationEmail(anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(accepted);
+
+            // When: three emails with an email concurrency of two
+            List<CompletableFuture<Notification>> results = List.of(
+                notificationService.sendNotification(testRequest),
+                notificationService.sendNotification(testRequest),
+                notificationService.sendNotification(testRequest));
+
+            // Then
+            verify(emailService, timeout(1000).times(3))
+                .sendNotificationEmail(anyString(), anyString(), anyString(), anyString());
+            assertTrue(results.stream().noneMatch(CompletableFuture::isDone));
+            accepted.complete(null);
+            results.forEach(result -> assertEquals(NotificationStatus.SENT, result.join().getStatus()));
         }
 
         @Test
@@ -533,14 +748,14 @@ class NotificationServiceTest {
         void shouldHandleMissingDeviceTokensGracefully() throws FirebaseMessagingException {
             // Given
             when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-            when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+            stubPersist();
             when(deviceTokenRepository.findByUser(testUser)).thenReturn(List.of()); // No device tokens
 
             // When & Then
             assertDoesNotThrow(() -> notificationService.sendNotification(testRequest).join());
             
             verify(deviceTokenRepository).findByUser(testUser);
-            verify(firebaseMessaging, never()).send(any(Message.class));
+            verify(firebaseMessaging, never()).sendEachForMulticast(any(MulticastMessage.class));
         }
     }
 
@@ -561,11 +776,7 @@ class NotificationServiceTest {
                 .build();
 
             when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-            when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> {
-                Notification saved = invocation.getArgument(0);
-                saved.setId(1L);
-                return saved;
-            });
+            stubPersist();
             when(deviceTokenRepository.findByUser(testUser)).thenReturn(List.of());
 
             // When & Then
@@ -576,12 +787,10 @@ class NotificationServiceTest {
         @DisplayName("Should set email address when not provided")
         void shouldSetEmailAddressWhenNotProvided() {
             // Given
-            Map<String, String> emailMetadata = Map.of("channels", "email");
-            testNotification.setMetadata(emailMetadata);
-            testNotification.setEmailAddress(null); // Not set initially
+            testRequest.setMetadata(Map.of("channels", "email"));
 
             when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-            when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+            stubPersist();
 
             // When
             notificationService.sendNotification(testRequest).join();
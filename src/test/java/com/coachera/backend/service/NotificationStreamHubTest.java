@@ -0,0 +1,210 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.coachera.backend.entity.Notification;
+import com.coachera.backend.entity.User;
+import com.coachera.backend.entity.enums.NotificationType;
+
+@DisplayName("NotificationStreamHub Tests")
+class NotificationStreamHubTest {
+
+    private final List<TestEmitter> emitters = new ArrayList<>();
+    private NotificationStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new NotificationStreamHub(60000) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                TestEmitter emitter = new TestEmitter(timeoutMs);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should open a stream with the unread count")
+    void shouldSubscribeWithUnreadCount() throws Exception {
+        hub.subscribe(1, 5);
+
+        assertTrue(hub.isSubscribed(1));
+        assertFalse(hub.isSubscribed(2));
+        assertEquals(1, hub.getSubscriberCount());
+        assertEquals(60000L, emitters.get(0).getTimeout());
+        String event = emitters.get(0).nextEvent();
+        assertTrue(event.contains("event:" + NotificationStreamHub.EVENT_UNREAD_COUNT));
+        assertTrue(event.contains("data:5"));
+    }
+
+    @Test
+    @DisplayName("Should push a notification to every stream of the recipient only")
+    void shouldPublishToRecipient() throws Exception {
+        hub.subscribe(1, 0);
+        hub.subscribe(1, 0);
+        hub.subscribe(2, 0);
+        emitters.forEach(TestEmitter::nextEvent);
+
+        hub.publish(notification(42L, 1));
+
+        for (TestEmitter emitter : emitters.subList(0, 2)) {
+            String event = emitter.nextEvent();
+            assertTrue(event.contains("id:42"));
+            assertTrue(event.contains("event:" + NotificationStreamHub.EVENT_NOTIFICATION));
+            assertTrue(event.contains("\"title\":\"Hello\""));
+        }
+        assertNull(emitters.get(2).events.poll(100, TimeUnit.MILLISECONDS));
+
+        hub.publishUnreadCount(2, 3);
+        assertTrue(emitters.get(2).nextEvent().contains("data:3"));
+    }
+
+    @Test
+    @DisplayName("Should unsubscribe a stream when it completes, times out or fails")
+    void shouldUnsubscribeOnLifecycleEvents() {
+        hub.subscribe(1, 0);
+        hub.subscribe(1, 0);
+        hub.subscribe(1, 0);
+        assertEquals(3, hub.getSubscriberCount());
+
+        emitters.get(0).completion.run();
+        assertEquals(2, hub.getSubscriberCount());
+
+        // A timed out stream is completed, which unsubscribes it
+        emitters.get(1).timeout.run();
+        assertTrue(emitters.get(1).completed);
+        assertEquals(1, hub.getSubscriberCount());
+
+        emitters.get(2).error.accept(new IOException("Broken pipe"));
+        assertEquals(0, hub.getSubscriberCount());
+        assertFalse(hub.isSubscribed(1));
+    }
+
+    @Test
+    @DisplayName("Should drop streams the heartbeat cannot reach")
+    void shouldDropDeadStreamsOnHeartbeat() throws Exception {
+        hub.subscribe(1, 0);
+        hub.subscribe(2, 0);
+        emitters.forEach(TestEmitter::nextEvent);
+        emitters.get(0).dead = true;
+
+        hub.heartbeat();
+
+        assertTrue(emitters.get(1).nextEvent().contains(":keep-alive"));
+        awaitUntil(() -> !hub.isSubscribed(1));
+        assertTrue(hub.isSubscribed(2));
+        assertEquals(1, hub.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should skip publishing when the recipient has no stream")
+    void shouldIgnoreUnsubscribedRecipient() {
+        hub.publish(notification(1L, 9));
+        hub.publishUnreadCount(9, 1);
+
+        assertEquals(0, hub.getSubscriberCount());
+    }
+
+    private static Notification notification(Long id, int recipientId) {
+        return Notification.builder()
+            .id(id)
+            .recipient(User.builder().id(recipientId).build())
+            .type(NotificationType.SOCIAL)
+            .title("Hello")
+            .content("World")
+            .build();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Emitter that records the events it is sent instead of writing to a
+     * response, and exposes its lifecycle callbacks
+     */
+    static class TestEmitter extends SseEmitter {
+        private static final MappingJackson2HttpMessageConverter JSON = new MappingJackson2HttpMessageConverter();
+
+        final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        volatile boolean dead;
+        volatile boolean completed;
+        Runnable completion = () -> { };
+        Runnable timeout = () -> { };
+        Consumer<Throwable> error = e -> { };
+
+        TestEmitter(long timeoutMs) {
+            super(timeoutMs);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (dead) {
+                throw new IOException("Client went away");
+            }
+            StringBuilder event = new StringBuilder();
+            for (DataWithMediaType part : builder.build()) {
+                Object data = part.getData();
+                event.append(data instanceof String text ? text : JSON.getObjectMapper().writeValueAsString(data));
+            }
+            events.add(event.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            completion.run();
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completion = callback;
+        }
+
+        @Override
+        public void onTimeout(Runnable callback) {
+            timeout = callback;
+        }
+
+        @Override
+        public void onError(Consumer<Throwable> callback) {
+            error = callback;
+        }
+
+        String nextEvent() {
+            try {
+                String event = events.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "No event sent");
+                return event;
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PrefixTrie Tests")
+class PrefixTrieTest {
+
+    private PrefixTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new PrefixTrie();
+        trie.put(1, "Intro to Java", 10);
+        trie.put(2, "JavaScript Basics", 30);
+        trie.put(3, "Advanced Java Streams", 20);
+        trie.put(4, "Python for Data Science", 50);
+    }
+
+    @Test
+    @DisplayName("Should match word prefixes ordered by popularity")
+    void shouldCompleteByPopularity() {
+        assertEquals(List.of(2, 3, 1), ids(trie.complete("jav", 10)));
+        assertEquals(List.of(2, 3), ids(trie.complete("JAV", 2)));
+        assertEquals(List.of(3), ids(trie.complete("java str", 10)));
+        assertTrue(trie.complete("ruby", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should apply renames and removals incrementally")
+    void shouldUpdateIncrementally() {
+        trie.remove(2);
+        trie.put(3, "Kotlin Streams", trie.popularity(3));
+
+        assertEquals(List.of(1), ids(trie.complete("java", 10)));
+        assertEquals(List.of(3), ids(trie.complete("stream", 10)));
+        assertEquals(3, trie.size());
+    }
+
+    private static List<Integer> ids(List<PrefixTrie.Entry> entries) {
+        return entries.stream().map(PrefixTrie.Entry::id).toList();
+    }
+}
@@ -0,0 +1,200 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.apache.coyote.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.coachera.backend.entity.Course;
+import com.coachera.backend.entity.Organization;
+import com.coachera.backend.entity.User;
+import com.coachera.backend.repository.CourseRepository;
+import com.coachera.backend.repository.LearningPathRepository;
+import com.coachera.backend.service.ProgressExportService.Format;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProgressExportService Tests")
+class ProgressExportServiceTest {
+
+    private static final String HEADER = "enrollment_id,course_id,course_title,student_id,first_name,last_name,"
+        + "email,enrolled_at,progress,completed,completion_date,completed_materials\r\n";
+
+    private static final LocalDateTime ENROLLED_AT = LocalDateTime.of(2024, 5, 8, 14, 30);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private LearningPathRepository learningPathRepository;
+
+    private ProgressExportService exportService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ProgressExportService(jdbcTemplate, transactionManager, courseRepository,
+            learningPathRepository, 500);
+        user = User.builder().id(1).organization(Organization.builder().id(4).build()).build();
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote fields with separators, quotes or line breaks")
+    void shouldEscapeCsvFields() throws Exception {
+        stubRows(
+            row(1, "Java, the \"good\" parts", "Ann", "O'Neil\nJr", new BigDecimal("50.00"), false, null),
+            row(2, "Plain", "Bob", "Smith", new BigDecimal("100.00"), true, Timestamp.valueOf(ENROLLED_AT.plusDays(3))));
+
+        String csv = write(exportService.exportOrganization(user, Format.CSV));
+
+        assertEquals(HEADER
+            + "1,3,\"Java, the \"\"good\"\" parts\",7,Ann,\"O'Neil\nJr\",ann@example.com,2024-05-08T14:30,50.00,false,,\r\n"
+            + "2,3,Plain,7,Bob,Smith,ann@example.com,2024-05-08T14:30,100.00,true,2024-05-11T14:30,\r\n", csv);
+    }
+
+    @Test
+    @DisplayName("Should keep spreadsheets from evaluating text fields as formulas")
+    void shouldNeutralizeFormulas() throws Exception {
+        stubRows(
+            row(1, "+Java", "=HYPERLINK(\"http://evil\")", "-Lee", new BigDecimal("50.00"), false, null),
+            row(2, "@Plain", "\tBob", "\rSmith", new BigDecimal("100.00"), true, null));
+
+        String csv = write(exportService.exportOrganization(user, Format.CSV));
+
+        assertEquals(HEADER
+            + "1,3,'+Java,7,\"'=HYPERLINK(\"\"http://evil\"\")\",'-Lee,ann@example.com,2024-05-08T14:30,50.00,false,,\r\n"
+            + "2,3,'@Plain,7,'\tBob,\"'\rSmith\",ann@example.com,2024-05-08T14:30,100.00,true,,\r\n", csv);
+    }
+
+    @Test
+    @DisplayName("Should write only the header when there is nothing to export")
+    void shouldWriteHeaderForEmptyExport() throws Exception {
+        stubRows();
+
+        assertEquals(HEADER, write(exportService.exportOrganization(user, Format.CSV)));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line with typed values")
+    void shouldWriteNdjson() throws Exception {
+        stubRows(
+            row(1, "Java \"101\"", "Ann", "Lee", new BigDecimal("50.00"), false, null),
+            row(2, "Plain", "Bob", "Smith", new BigDecimal("100.00"), true, Timestamp.valueOf(ENROLLED_AT.plusDays(3))));
+
+        String ndjson = write(exportService.exportOrganization(user, Format.NDJSON));
+
+        assertEquals("{\"enrollment_id\":1,\"course_id\":3,\"course_title\":\"Java \\\"101\\\"\",\"student_id\":7,"
+            + "\"first_name\":\"Ann\",\"last_name\":\"Lee\",\"email\":\"ann@example.com\",\"enrolled_at\":\"2024-05-08T14:30\","
+            + "\"progress\":50.00,\"completed\":false,\"completion_date\":null,\"completed_materials\":null}\n"
+            + "{\"enrollment_id\":2,\"course_id\":3,\"course_title\":\"Plain\",\"student_id\":7,"
+            + "\"first_name\":\"Bob\",\"last_name\":\"Smith\",\"email\":\"ann@example.com\",\"enrolled_at\":\"2024-05-08T14:30\","
+            + "\"progress\":100.00,\"completed\":true,\"completion_date\":\"2024-05-11T14:30\",\"completed_materials\":null}\n",
+            ndjson);
+    }
+
+    @Test
+    @DisplayName("Should read the rows through a cursor in a read-only transaction")
+    void shouldStreamFromReadOnlyCursor() throws Exception {
+        Course course = Course.builder().id(3).org(Organization.builder().id(4).build()).build();
+        when(courseRepository.findById(3)).thenReturn(Optional.of(course));
+        stubRows();
+
+        write(exportService.exportCourse(user, 3, Format.CSV));
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(contains("WHERE e.course_id = ?"), eq(ResultSet.TYPE_FORWARD_ONLY),
+            eq(ResultSet.CONCUR_READ_ONLY))).thenReturn(statement);
+        creator.getValue().createPreparedStatement(connection);
+        verify(statement).setFetchSize(500);
+        verify(statement).setInt(1, 3);
+    }
+
+    @Test
+    @DisplayName("Should check access before the export starts")
+    void shouldRejectOtherOrganizationsCourse() {
+        Course course = Course.builder().id(3).org(Organization.builder().id(5).build()).build();
+        when(courseRepository.findById(3)).thenReturn(Optional.of(course));
+
+        assertThrows(AccessDeniedException.class, () -> exportService.exportCourse(user, 3, Format.CSV));
+        assertThrows(AccessDeniedException.class,
+            () -> exportService.exportOrganization(User.builder().id(2).build(), Format.CSV));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should parse formats by extension")
+    void shouldParseFormat() throws Exception {
+        assertEquals(Format.CSV, Format.from("CSV"));
+        assertEquals(Format.NDJSON, Format.from("ndjson"));
+        assertThrows(BadRequestException.class, () -> Format.from("xlsx"));
+    }
+
+    private void stubRows(Object[]... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static Object[] row(int enrollmentId, String title, String firstName, String lastName,
+            BigDecimal progress, boolean completed, Timestamp completionDate) {
+        return new Object[] { enrollmentId, 3, title, 7, firstName, lastName, "ann@example.com",
+            Timestamp.valueOf(ENROLLED_AT), progress, completed, completionDate, null };
+    }
+
+    private static ResultSet resultSet(Object[] row) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        lenient().when(rs.getObject(anyInt())).thenAnswer(invocation -> row[(int) invocation.getArgument(0) - 1]);
+        lenient().when(rs.getObject(anyInt(), eq(LocalDateTime.class))).thenAnswer(invocation ->
+            ((Timestamp) row[(int) invocation.getArgument(0) - 1]).toLocalDateTime());
+        return rs;
+    }
+
+    private static String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,124 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.entity.DeviceToken;
+import com.coachera.backend.entity.Notification;
+import com.coachera.backend.entity.User;
+import com.coachera.backend.repository.DeviceTokenRepository;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PushNotificationSender Tests")
+class PushNotificationSenderTest {
+
+    @Mock
+    private FirebaseMessaging firebaseMessaging;
+
+    @Mock
+    private DeviceTokenRepository deviceTokenRepository;
+
+    private Notification notification;
+
+    @BeforeEach
+    void setUp() {
+        notification = Notification.builder()
+            .id(7L)
+            .recipient(User.builder().id(1).build())
+            .title("Title")
+            .content("Content")
+            .metadata(new HashMap<>())
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should send one multicast request per batch of tokens")
+    void shouldBatchTokens() throws FirebaseMessagingException {
+        PushNotificationSender sender = new PushNotificationSender(firebaseMessaging, deviceTokenRepository, 2);
+        SendResponse sent = sendResponse(null);
+        BatchResponse twoSent = batchResponse(sent, sent);
+        BatchResponse oneSent = batchResponse(sent);
+        when(firebaseMessaging.sendEachForMulticast(any(MulticastMessage.class)))
+            .thenReturn(twoSent, twoSent, oneSent);
+
+        PushNotificationSender.Result result = sender.send(notification, tokens(5));
+
+        assertEquals(5, result.successCount());
+        assertTrue(result.isDelivered());
+        verify(firebaseMessaging, times(3)).sendEachForMulticast(any(MulticastMessage.class));
+        verify(deviceTokenRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should prune unregistered tokens and report other failures")
+    void shouldPruneUnregisteredTokens() throws FirebaseMessagingException {
+        PushNotificationSender sender = new PushNotificationSender(firebaseMessaging, deviceTokenRepository, 500);
+        BatchResponse response = batchResponse(
+            sendResponse(null),
+            sendResponse(MessagingErrorCode.UNREGISTERED),
+            sendResponse(MessagingErrorCode.UNAVAILABLE));
+        when(firebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(response);
+
+        PushNotificationSender.Result result = sender.send(notification, tokens(3));
+
+        assertEquals(new PushNotificationSender.Result(1, 1, 1), result);
+        assertFalse(result.isDelivered());
+        verify(deviceTokenRepository).deleteAllByIdInBatch(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("Should send a notification whose metadata is not backfilled yet")
+    void shouldSendWithoutMetadata() throws FirebaseMessagingException {
+        PushNotificationSender sender = new PushNotificationSender(firebaseMessaging, deviceTokenRepository, 500);
+        notification.setMetadata(null);
+        BatchResponse response = batchResponse(sendResponse(null));
+        when(firebaseMessaging.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(response);
+
+        assertEquals(1, sender.send(notification, tokens(1)).successCount());
+    }
+
+    private static List<DeviceToken> tokens(int count) {
+        List<DeviceToken> tokens = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            tokens.add(DeviceToken.builder().id(id).token("token-" + id).build());
+        }
+        return tokens;
+    }
+
+    // A successful response when errorCode is null
+    private static SendResponse sendResponse(MessagingErrorCode errorCode) {
+        SendResponse response = mock(SendResponse.class);
+        if (errorCode == null) {
+            when(response.isSuccessful()).thenReturn(true);
+        } else {
+            FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+            lenient().when(exception.getMessagingErrorCode()).thenReturn(errorCode);
+            when(response.getException()).thenReturn(exception);
+        }
+        return response;
+    }
+
+    private static BatchResponse batchResponse(SendResponse... responses) {
+        BatchResponse response = mock(BatchResponse.class);
+        when(response.getResponses()).thenReturn(List.of(responses));
+        return response;
+    }
+}
@@ -0,0 +1,85 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.repository.QuestionRepository;
+import com.coachera.backend.repository.QuizRepository;
+import com.coachera.backend.service.QuizAnswerKeyCache.AnswerKey;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QuizAnswerKeyCache Tests")
+class QuizAnswerKeyCacheTest {
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    private QuizAnswerKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new QuizAnswerKeyCache(quizRepository, questionRepository, 600);
+        when(quizRepository.findMaterialAndCourseRowById(5)).thenReturn(List.<Object[]>of(new Object[] { 20, 3 }));
+    }
+
+    @Test
+    @DisplayName("Should load a quiz once and answer lookups from the key")
+    void shouldServeAnswerKeyFromCache() {
+        when(questionRepository.findAnswerRowsByQuizId(5)).thenReturn(List.of(
+            new Object[] { 11, 2 }, new Object[] { 14, 1 }, new Object[] { 30, 4 }));
+
+        AnswerKey key = cache.get(5);
+        assertSame(key, cache.get(5));
+
+        assertEquals(20, key.materialId());
+        assertEquals(3, key.courseId());
+        assertEquals(3, key.questionCount());
+        assertEquals(1, key.correctIndexOf(14));
+        assertEquals(4, key.correctIndexOf(30));
+        assertEquals(-1, key.correctIndexOf(12));
+        assertEquals(-1, key.correctIndexOf(Long.MAX_VALUE));
+        verify(questionRepository, times(1)).findAnswerRowsByQuizId(5);
+    }
+
+    @Test
+    @DisplayName("Should reload the key after its questions changed")
+    void shouldReloadAfterInvalidate() {
+        when(questionRepository.findAnswerRowsByQuizId(5))
+            .thenReturn(List.<Object[]>of(new Object[] { 11, 2 }))
+            .thenReturn(List.<Object[]>of(new Object[] { 11, 3 }));
+
+        assertEquals(2, cache.get(5).correctIndexOf(11));
+        cache.invalidate(5);
+
+        assertEquals(3, cache.get(5).correctIndexOf(11));
+    }
+
+    @Test
+    @DisplayName("Should not cache a key that was loaded while its questions changed")
+    void shouldDropKeyLoadedDuringInvalidation() {
+        when(questionRepository.findAnswerRowsByQuizId(5))
+            .thenAnswer(invocation -> {
+                // Questions change and commit while this load is running
+                cache.invalidate(5);
+                return List.<Object[]>of(new Object[] { 11, 2 });
+            })
+            .thenReturn(List.<Object[]>of(new Object[] { 11, 3 }));
+
+        assertEquals(2, cache.get(5).correctIndexOf(11));
+
+        assertEquals(3, cache.get(5).correctIndexOf(11));
+        verify(questionRepository, times(2)).findAnswerRowsByQuizId(5);
+    }
+}
@@ -0,0 +1,136 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.coachera.backend.dto.CategoryDTO;
+import com.coachera.backend.dto.SearchRequest;
+import com.coachera.backend.entity.Category;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchService Tests")
+class SearchServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private FullTextSearchService fullTextSearchService;
+
+    @Mock
+    private SearchSqlSupport searchSqlSupport;
+
+    @Mock
+    private CriteriaBuilder cb;
+
+    @Mock
+    private CriteriaQuery<Category> cq;
+
+    @Mock
+    private Root<Category> root;
+
+    @Mock
+    private TypedQuery<Category> query;
+
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new SearchService(entityManager, fullTextSearchService, searchSqlSupport);
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(Category.class)).thenReturn(cq);
+        when(cq.from(Category.class)).thenReturn(root);
+        when(entityManager.createQuery(cq)).thenReturn(query);
+        when(query.setFirstResult(anyInt())).thenReturn(query);
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra row instead of counting when the count is skipped")
+    void shouldSkipCount() {
+        when(query.getResultList()).thenReturn(categories(3));
+
+        Slice<CategoryDTO> slice = searchService.search(Category.class, request(SearchRequest.COUNT_NONE, 2));
+
+        assertFalse(slice instanceof Page);
+        assertEquals(List.of(1, 2), slice.getContent().stream().map(CategoryDTO::getId).toList());
+        assertTrue(slice.hasNext());
+        verify(query).setMaxResults(3);
+        verify(cb, never()).createQuery(Long.class);
+        verifyNoInteractions(searchSqlSupport);
+    }
+
+    @Test
+    @DisplayName("Should report the last page when the extra row is missing")
+    void shouldDetectLastSlice() {
+        when(query.getResultList()).thenReturn(categories(2));
+
+        Slice<CategoryDTO> slice = searchService.search(Category.class, request(SearchRequest.COUNT_NONE, 2));
+
+        assertEquals(2, slice.getNumberOfElements());
+        assertFalse(slice.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should estimate the total with the same predicates in native SQL")
+    void shouldEstimateTotal() {
+        SearchRequest request = request(SearchRequest.COUNT_ESTIMATED, 2);
+        request.setSearchTerm("Java");
+        request.getFilters().put("icon", "code");
+        @SuppressWarnings("unchecked")
+        EntityType<Category> model = mock(EntityType.class);
+        when(root.getModel()).thenReturn(model);
+        when(model.getDeclaredSingularAttributes()).thenReturn(Set.of());
+        when(query.getResultList()).thenReturn(categories(2));
+        when(searchSqlSupport.table(Category.class)).thenReturn("categories");
+        when(searchSqlSupport.stringColumns(Category.class)).thenReturn(List.of("name", "icon"));
+        when(searchSqlSupport.filters(eq(Category.class), eq(request.getFilters()), anyMap()))
+            .thenReturn(" AND lower(t.icon) LIKE :filter0");
+        when(searchSqlSupport.estimateCount(anyString(), anyMap())).thenReturn(48210L);
+
+        Slice<CategoryDTO> slice = searchService.search(Category.class, request);
+
+        Page<CategoryDTO> page = assertInstanceOf(Page.class, slice);
+        assertEquals(48210, page.getTotalElements());
+        verify(query).setMaxResults(2);
+        verify(searchSqlSupport).estimateCount(
+            eq("SELECT 1 FROM categories t WHERE TRUE AND (lower(t.name) LIKE :term OR lower(t.icon) LIKE :term)"
+                + " AND lower(t.icon) LIKE :filter0"),
+            argThat(parameters -> "%java%".equals(parameters.get("term"))));
+        verify(cb, never()).createQuery(Long.class);
+    }
+
+    private static SearchRequest request(String countMode, int size) {
+        SearchRequest request = new SearchRequest();
+        request.setCountMode(countMode);
+        request.setSize(size);
+        return request;
+    }
+
+    private static List<Category> categories(int count) {
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(id -> Category.builder().id(id).name("Category " + id).build())
+            .toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchSqlSupport Tests")
+class SearchSqlSupportTest {
+
+    private static final String SQL = "SELECT 1 FROM courses t WHERE TRUE AND t.is_published = :filter0";
+    private static final Map<String, Object> PARAMETERS = Map.of("filter0", true);
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Query explain;
+
+    @Mock
+    private Query count;
+
+    private SearchSqlSupport searchSqlSupport;
+
+    @BeforeEach
+    void setUp() {
+        searchSqlSupport = new SearchSqlSupport(entityManager);
+        when(entityManager.createNativeQuery("EXPLAIN " + SQL)).thenReturn(explain);
+    }
+
+    @Test
+    @DisplayName("Should use the planner estimate for large results without counting")
+    void shouldUseEstimateForLargeResults() {
+        when(explain.getResultList()).thenReturn(List.of(
+            "Seq Scan on courses t  (cost=0.00..2041.00 rows=48210 width=4)",
+            "  Filter: is_published"));
+
+        assertEquals(48210, searchSqlSupport.estimateCount(SQL, PARAMETERS));
+        verify(explain).setParameter("filter0", true);
+        verify(entityManager, never()).createNativeQuery(startsWith("SELECT COUNT(*)"));
+    }
+
+    @Test
+    @DisplayName("Should count exactly when the estimate is small")
+    void shouldCountSmallResults() {
+        when(explain.getResultList()).thenReturn(List.of("Seq Scan on courses t  (cost=0.00..1.05 rows=5 width=4)"));
+        when(entityManager.createNativeQuery("SELECT COUNT(*) FROM (" + SQL + ") counted")).thenReturn(count);
+        when(count.getSingleResult()).thenReturn(7L);
+
+        assertEquals(7, searchSqlSupport.estimateCount(SQL, PARAMETERS));
+        verify(count).setParameter("filter0", true);
+    }
+
+    @Test
+    @DisplayName("Should count exactly right below the threshold and estimate from it on")
+    void shouldSwitchAtThreshold() {
+        when(explain.getResultList())
+            .thenReturn(List.of("Seq Scan  (cost=0.00..9.99 rows=" + (SearchSqlSupport.EXACT_COUNT_THRESHOLD - 1) + " width=4)"))
+            .thenReturn(List.of("Seq Scan  (cost=0.00..9.99 rows=" + SearchSqlSupport.EXACT_COUNT_THRESHOLD + " width=4)"));
+        when(entityManager.createNativeQuery(startsWith("SELECT COUNT(*)"))).thenReturn(count);
+        when(count.getSingleResult()).thenReturn(1002L);
+
+        assertEquals(1002, searchSqlSupport.estimateCount(SQL, PARAMETERS));
+        assertEquals(SearchSqlSupport.EXACT_COUNT_THRESHOLD, searchSqlSupport.estimateCount(SQL, PARAMETERS));
+        verify(count, times(1)).getSingleResult();
+    }
+
+    @Test
+    @DisplayName("Should fail on a plan without a row estimate")
+    void shouldRejectUnreadablePlan() {
+        when(explain.getResultList()).thenReturn(List.of("Result"));
+
+        assertThrows(IllegalStateException.class, () -> searchSqlSupport.estimateRows(SQL, PARAMETERS));
+    }
+}
@@ -0,0 +1,118 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.entity.Category;
+import com.coachera.backend.entity.Course;
+import com.coachera.backend.entity.CourseCategory;
+import com.coachera.backend.repository.CourseCategoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SimilarCourseIndex Tests")
+class SimilarCourseIndexTest {
+
+    @Mock
+    private CourseCategoryRepository courseCategoryRepository;
+
+    @InjectMocks
+    private SimilarCourseIndex similarCourseIndex;
+
+    @BeforeEach
+    void setUp() {
+        // Courses 1 and 2 share category 10; course 3 has category 20 only
+        List<Object[]> pairs = new ArrayList<>();
+        pairs.add(new Object[] { 1, 10 });
+        pairs.add(new Object[] { 2, 10 });
+        pairs.add(new Object[] { 2, 20 });
+        pairs.add(new Object[] { 3, 20 });
+        when(courseCategoryRepository.findPublishedCourseCategoryPairs()).thenReturn(pairs);
+
+        similarCourseIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should rank courses sharing a category by Jaccard similarity")
+    void shouldRankSimilarCourses() {
+        assertEquals(List.of(1, 3), similarCourseIndex.rankSimilar(2, 10).getCourseIds());
+        assertEquals(List.of(2), similarCourseIndex.rankSimilar(1, 10).getCourseIds());
+    }
+
+    @Test
+    @DisplayName("Should invalidate the neighbours of a course's old and new categories on upsert")
+    void shouldInvalidateOldAndNewNeighboursOnUpsert() {
+        assertEquals(List.of(2), similarCourseIndex.rankSimilar(1, 10).getCourseIds());
+        assertEquals(List.of(2), similarCourseIndex.rankSimilar(3, 10).getCourseIds());
+
+        // Course 2 moves from categories 10 and 20 to category 30
+        when(courseCategoryRepository.findByCourseId(2)).thenReturn(categoriesOf(2, 30));
+        similarCourseIndex.upsertCourse(publishedCourse(2));
+
+        assertEquals(List.of(), similarCourseIndex.rankSimilar(1, 10).getCourseIds());
+        assertEquals(List.of(), similarCourseIndex.rankSimilar(3, 10).getCourseIds());
+
+        // Course 1 joins category 20 and becomes similar to course 3
+        when(courseCategoryRepository.findByCourseId(1)).thenReturn(categoriesOf(1, 20));
+        similarCourseIndex.upsertCourse(publishedCourse(1));
+
+        assertEquals(List.of(1), similarCourseIndex.rankSimilar(3, 10).getCourseIds());
+    }
+
+    @Test
+    @DisplayName("Should invalidate the neighbours of a removed course")
+    void shouldInvalidateNeighboursOnRemove() {
+        assertEquals(List.of(2), similarCourseIndex.rankSimilar(1, 10).getCourseIds());
+
+        similarCourseIndex.removeCourse(2);
+
+        assertEquals(List.of(), similarCourseIndex.rankSimilar(1, 10).getCourseIds());
+        assertEquals(List.of(), similarCourseIndex.rankSimilar(3, 10).getCourseIds());
+    }
+
+    @Test
+    @DisplayName("Should drop a deleted category from cached rankings")
+    void shouldInvalidateOnCategoryDeleted() {
+        assertEquals(List.of(1, 3), similarCourseIndex.rankSimilar(2, 10).getCourseIds());
+
+        similarCourseIndex.onCategoryDeleted(10);
+
+        assertEquals(List.of(3), similarCourseIndex.rankSimilar(2, 10).getCourseIds());
+        assertEquals(List.of(), similarCourseIndex.rankSimilar(1, 10).getCourseIds());
+    }
+
+    @Test
+    @DisplayName("Should rank an unpublished course from its stored categories")
+    void shouldRankUnindexedCourse() {
+        when(courseCategoryRepository.findByCourseId(9)).thenReturn(categoriesOf(9, 20));
+
+        assertEquals(List.of(3, 2), similarCourseIndex.rankSimilar(9, 10).getCourseIds());
+    }
+
+    private static Course publishedCourse(int id) {
+        Course course = new Course();
+        course.setId(id);
+        course.setIsPublished(true);
+        return course;
+    }
+
+    private static List<CourseCategory> categoriesOf(int courseId, Integer... categoryIds) {
+        return Arrays.stream(categoryIds)
+            .map(categoryId -> CourseCategory.builder()
+                .course(publishedCourse(courseId))
+                .category(Category.builder().id(categoryId).build())
+                .build())
+            .toList();
+    }
+}
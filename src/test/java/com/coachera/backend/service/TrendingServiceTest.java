@@ -0,0 +1,206 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.repository.CourseCompletionRepository;
+import com.coachera.backend.repository.CourseRepository;
+import com.coachera.backend.repository.EnrollmentRepository;
+import com.coachera.backend.repository.ReviewRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrendingService Tests")
+class TrendingServiceTest {
+
+    // Half past the hour, so a few minutes either way stay inside it
+    private static final Instant START = Instant.parse("2026-03-02T10:30:00Z");
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private CourseCompletionRepository courseCompletionRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    private MutableClock clock;
+    private TrendingService trendingService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        trendingService = new TrendingService(courseRepository, enrollmentRepository, courseCompletionRepository,
+            reviewRepository, 24, clock);
+        // Rating order of the published catalog
+        lenient().when(courseRepository.findPublishedIdsOrderByRating()).thenReturn(List.of(1, 2, 3, 4));
+    }
+
+    @Test
+    @DisplayName("Should rank active courses by weighted activity, then the rest by rating")
+    void shouldRankByWeightedActivity() {
+        trendingService.recordEnrollment(4);
+        trendingService.recordEnrollment(4);
+        trendingService.recordCompletion(3);
+        trendingService.recordReview(3);
+
+        trendingService.refresh();
+
+        // Course 3 scores 2.0 + 1.5, course 4 scores 2 x 1.0
+        assertEquals(List.of(3, 4, 1, 2), trendingService.getRankedCourseIds());
+    }
+
+    @Test
+    @DisplayName("Should halve the weight of an event every half-life")
+    void shouldDecayWithHalfLife() {
+        // Course 2: 3 enrollments, course 4: 1 enrollment one day later
+        trendingService.recordEnrollment(2);
+        trendingService.recordEnrollment(2);
+        trendingService.recordEnrollment(2);
+        clock.advance(Duration.ofHours(24));
+        trendingService.recordEnrollment(4);
+
+        // 3 x 0.5 against 1 x 1.0
+        trendingService.refresh();
+        assertEquals(List.of(2, 4, 1, 3), trendingService.getRankedCourseIds());
+
+        // Both halve again a day later, the order stays: 3 x 0.25 against 1 x 0.5
+        clock.advance(Duration.ofHours(24));
+        trendingService.refresh();
+        assertEquals(List.of(2, 4, 1, 3), trendingService.getRankedCourseIds());
+
+        // Same scores, ties go to the lower id
+        TrendingService equal = new TrendingService(courseRepository, enrollmentRepository,
+            courseCompletionRepository, reviewRepository, 24, clock);
+        equal.recordEnrollment(4);
+        equal.recordEnrollment(4);
+        clock.advance(Duration.ofHours(24));
+        equal.recordEnrollment(3);
+        equal.refresh();
+        assertEquals(List.of(3, 4, 1, 2), equal.getRankedCourseIds());
+    }
+
+    @Test
+    @DisplayName("Should count events into the hour they happened in and drop them after a week")
+    void shouldRollOverHours() {
+        trendingService.recordEnrollment(4);
+        clock.advance(Duration.ofMinutes(20));
+        // Same hour bucket, so the rollover does not reset it
+        trendingService.recordEnrollment(4);
+        clock.advance(Duration.ofMinutes(20));
+        trendingService.recordEnrollment(3);
+
+        trendingService.refresh();
+        assertEquals(List.of(4, 3, 1, 2), trendingService.getRankedCourseIds());
+
+        // Course 4's hour leaves the window first
+        clock.advance(Duration.ofHours(TrendingService.WINDOW_HOURS).minusMinutes(30));
+        trendingService.refresh();
+        assertEquals(List.of(3, 1, 2, 4), trendingService.getRankedCourseIds());
+
+        clock.advance(Duration.ofHours(1));
+        trendingService.refresh();
+        assertEquals(List.of(1, 2, 3, 4), trendingService.getRankedCourseIds());
+    }
+
+    @Test
+    @DisplayName("Should reuse a ring buffer bucket for an hour a week later and ignore older events")
+    void shouldReuseBuckets() {
+        long hour = START.getEpochSecond() / 3600;
+        TrendingService.ActivityWindow window = new TrendingService.ActivityWindow();
+        double[] noDecay = new double[TrendingService.WINDOW_HOURS];
+        Arrays.fill(noDecay, 1.0);
+
+        window.record(TrendingService.ActivityType.ENROLLMENT, hour);
+        window.record(TrendingService.ActivityType.ENROLLMENT, hour);
+        window.record(TrendingService.ActivityType.REVIEW, hour + 1);
+        assertEquals(3.5, window.score(hour + 1, noDecay));
+
+        // Same bucket as the first hour, one week later
+        window.record(TrendingService.ActivityType.COMPLETION, hour + TrendingService.WINDOW_HOURS);
+        assertEquals(3.5, window.score(hour + TrendingService.WINDOW_HOURS, noDecay));
+
+        // The bucket now holds a newer hour
+        window.record(TrendingService.ActivityType.ENROLLMENT, hour);
+        assertEquals(3.5, window.score(hour + TrendingService.WINDOW_HOURS, noDecay));
+        assertFalse(window.isIdle(hour + TrendingService.WINDOW_HOURS));
+        assertTrue(window.isIdle(hour + 2 * TrendingService.WINDOW_HOURS));
+    }
+
+    @Test
+    @DisplayName("Should publish a new snapshot and leave the one readers hold untouched")
+    void shouldSwapSnapshot() {
+        trendingService.refresh();
+        List<Integer> before = trendingService.getRankedCourseIds();
+
+        trendingService.recordEnrollment(4);
+        trendingService.refresh();
+
+        assertEquals(List.of(1, 2, 3, 4), before);
+        assertEquals(List.of(4, 1, 2, 3), trendingService.getRankedCourseIds());
+        assertNotSame(before, trendingService.getRankedCourseIds());
+        assertThrows(UnsupportedOperationException.class, () -> trendingService.getRankedCourseIds().add(5));
+    }
+
+    @Test
+    @DisplayName("Should warm up from the last week of activity, leaving out unpublished courses")
+    void shouldWarmUp() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        when(enrollmentRepository.findCourseActivitySince(now.minusHours(TrendingService.WINDOW_HOURS)))
+            .thenReturn(List.<Object[]>of(new Object[] { 2, now.minusHours(1) }, new Object[] { 9, now }));
+        when(courseCompletionRepository.findCourseActivitySince(any())).thenReturn(List.<Object[]>of(
+            new Object[] { 3, now.minusHours(2) }, new Object[] { null, now }));
+        when(reviewRepository.findCourseActivitySince(any())).thenReturn(List.of());
+
+        trendingService.warmUp();
+
+        assertEquals(List.of(3, 2, 1, 4), trendingService.getRankedCourseIds());
+    }
+
+    static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.coachera.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.coachera.backend.repository.NotificationRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnreadCountCache Tests")
+class UnreadCountCacheTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private UnreadCountCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // A single stripe, so every user shares one lock
+        cache = new UnreadCountCache(notificationRepository, 1, 100);
+    }
+
+    @Test
+    @DisplayName("Should count once, then apply updates to the cached count")
+    void shouldApplyUpdatesToCachedCount() {
+        when(notificationRepository.countByRecipientIdAndReadFalse(1)).thenReturn(2L);
+
+        assertEquals(2L, cache.get(1));
+        cache.increment(1, 3);
+        cache.decrement(1, 1);
+        assertEquals(4L, cache.get(1));
+        cache.decrement(1, 10);
+        assertEquals(0L, cache.get(1));
+
+        verify(notificationRepository, times(1)).countByRecipientIdAndReadFalse(1);
+    }
+
+    @Test
+    @DisplayName("Should count without holding the lock and drop a count taken during an update")
+    void shouldNotCacheCountTakenDuringUpdate() {
+        when(notificationRepository.countByRecipientIdAndReadFalse(1))
+            .thenAnswer(invocation -> {
+                // Another thread gets through while the count runs
+                CompletableFuture.runAsync(() -> cache.increment(1, 1)).get(1, TimeUnit.SECONDS);
+                return 5L;
+            })
+            .thenReturn(6L);
+
+        assertEquals(5L, cache.get(1));
+        assertEquals(6L, cache.get(1)); // Counted again
+        assertEquals(6L, cache.get(1));
+
+        verify(notificationRepository, times(2)).countByRecipientIdAndReadFalse(1);
+    }
+
+    @Test
+    @DisplayName("Should reconcile only the counters not updated since the snapshot")
+    void shouldSkipCountersUpdatedDuringReconcile() {
+        when(notificationRepository.countByRecipientIdAndReadFalse(anyInt())).thenReturn(3L);
+        cache.get(1);
+        cache.get(2);
+        when(notificationRepository.countUnreadRowsByRecipientIds(anyList())).thenAnswer(invocation -> {
+            cache.increment(1, 1);
+            return List.of(new Object[] { 1, 10L }, new Object[] { 2, 10L });
+        });
+
+        cache.reconcile();
+
+        assertEquals(4L, cache.get(1)); // Kept the increment, corrected on the next run
+        assertEquals(10L, cache.get(2));
+    }
+
+    @Test
+    @DisplayName("Should not track users that were never read")
+    void shouldIgnoreUpdatesForUncachedUsers() {
+        cache.increment(1, 1);
+        cache.reconcile();
+
+        verifyNoInteractions(notificationRepository);
+    }
+}